@@ -0,0 +1,84 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.benchmarks;
+
+import org.ta4j.core.BaseTimeSeries;
+import org.ta4j.core.Decimal;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.TimeSeries;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Random;
+
+/**
+ * Generates the {@link TimeSeries time series} used by the benchmarks.
+ * <p></p>
+ * The bars follow a seeded random walk, so that every benchmark run works on the same data.
+ */
+public final class BenchmarkSeries {
+
+    /** Seed of the random walk */
+    private static final long SEED = 20180101L;
+
+    private BenchmarkSeries() {
+    }
+
+    /**
+     * @param barCount the number of bars of the series
+     * @param decimalMode the numeric representation of the decimals of the series
+     * @return a random walk series of one-minute bars
+     */
+    public static TimeSeries randomWalk(int barCount, Decimal.Mode decimalMode) {
+        Random random = new Random(SEED);
+        TimeSeries series = new BaseTimeSeries("random_walk_" + barCount, decimalMode);
+        ZonedDateTime endTime = ZonedDateTime.of(2010, 1, 1, 0, 0, 0, 0, ZoneId.of("UTC"));
+        Duration period = Duration.ofMinutes(1);
+        double close = 100;
+        for (int i = 0; i < barCount; i++) {
+            double open = close;
+            close = Math.max(1, open + random.nextGaussian());
+            double high = Math.max(open, close) + random.nextDouble();
+            double low = Math.max(0.5, Math.min(open, close) - random.nextDouble());
+            double volume = 1000 + random.nextInt(9000);
+            endTime = endTime.plus(period);
+            series.addBar(endTime, open, high, low, close, volume);
+        }
+        return series;
+    }
+
+    /**
+     * Reads all the values of an indicator (from the first index to the last one).
+     * @param indicator an indicator
+     * @param series the series of the indicator
+     * @return the sum of the indicator values over the whole series (to be consumed by the benchmark)
+     */
+    public static Decimal sumValues(Indicator<Decimal> indicator, TimeSeries series) {
+        Decimal sum = series.numOf(0);
+        for (int i = series.getBeginIndex(); i <= series.getEndIndex(); i++) {
+            sum = sum.plus(indicator.getValue(i));
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.ta4j.core.AnalysisCriterion;
+import org.ta4j.core.Decimal;
+import org.ta4j.core.TimeSeries;
+import org.ta4j.core.TimeSeriesManager;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.analysis.criteria.AverageProfitableTradesCriterion;
+import org.ta4j.core.analysis.criteria.LinearTransactionCostCriterion;
+import org.ta4j.core.analysis.criteria.MaximumDrawdownCriterion;
+import org.ta4j.core.analysis.criteria.RewardRiskRatioCriterion;
+import org.ta4j.core.analysis.criteria.TotalProfitCriterion;
+import org.ta4j.core.analysis.criteria.VersusBuyAndHoldCriterion;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the evaluation of {@link AnalysisCriterion analysis criteria}.
+ * <p></p>
+ * The trading record is computed once (during the setup) with the moving momentum example strategy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CriterionBenchmark {
+
+    @Param({"DOUBLE", "BIG_DECIMAL"})
+    private Decimal.Mode decimalMode;
+
+    @Param({"10000", "1000000"})
+    private int barCount;
+
+    private TimeSeries series;
+
+    private TradingRecord tradingRecord;
+
+    private final AnalysisCriterion totalProfit = new TotalProfitCriterion();
+
+    private final AnalysisCriterion maximumDrawdown = new MaximumDrawdownCriterion();
+
+    private final AnalysisCriterion rewardRiskRatio = new RewardRiskRatioCriterion();
+
+    private final AnalysisCriterion averageProfitableTrades = new AverageProfitableTradesCriterion();
+
+    private final AnalysisCriterion linearTransactionCost = new LinearTransactionCostCriterion(1000, 0.005);
+
+    private final AnalysisCriterion versusBuyAndHold = new VersusBuyAndHoldCriterion(new TotalProfitCriterion());
+
+    @Setup
+    public void setUp() {
+        series = BenchmarkSeries.randomWalk(barCount, decimalMode);
+        tradingRecord = new TimeSeriesManager(series)
+                .run(StrategyBenchmark.buildStrategy("MOVING_MOMENTUM", series));
+    }
+
+    @Benchmark
+    public double totalProfit() {
+        return totalProfit.calculate(series, tradingRecord);
+    }
+
+    @Benchmark
+    public double maximumDrawdown() {
+        return maximumDrawdown.calculate(series, tradingRecord);
+    }
+
+    @Benchmark
+    public double rewardRiskRatio() {
+        return rewardRiskRatio.calculate(series, tradingRecord);
+    }
+
+    @Benchmark
+    public double averageProfitableTrades() {
+        return averageProfitableTrades.calculate(series, tradingRecord);
+    }
+
+    @Benchmark
+    public double linearTransactionCost() {
+        return linearTransactionCost.calculate(series, tradingRecord);
+    }
+
+    @Benchmark
+    public double versusBuyAndHold() {
+        return versusBuyAndHold.calculate(series, tradingRecord);
+    }
+}
@@ -0,0 +1,154 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.ta4j.core.Decimal;
+import org.ta4j.core.TimeSeries;
+import org.ta4j.core.indicators.CCIIndicator;
+import org.ta4j.core.indicators.EMAIndicator;
+import org.ta4j.core.indicators.MACDIndicator;
+import org.ta4j.core.indicators.ParabolicSarIndicator;
+import org.ta4j.core.indicators.RSIIndicator;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.bollinger.BollingerBandWidthIndicator;
+import org.ta4j.core.indicators.bollinger.BollingerBandsLowerIndicator;
+import org.ta4j.core.indicators.bollinger.BollingerBandsMiddleIndicator;
+import org.ta4j.core.indicators.bollinger.BollingerBandsUpperIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.indicators.helpers.DifferenceIndicator;
+import org.ta4j.core.indicators.ichimoku.IchimokuKijunSenIndicator;
+import org.ta4j.core.indicators.ichimoku.IchimokuSenkouSpanAIndicator;
+import org.ta4j.core.indicators.ichimoku.IchimokuSenkouSpanBIndicator;
+import org.ta4j.core.indicators.ichimoku.IchimokuTenkanSenIndicator;
+import org.ta4j.core.indicators.statistics.StandardDeviationIndicator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the calculation of representative indicator chains over a whole series.
+ * <p></p>
+ * Each invocation builds fresh indicators, so that the whole series is computed (no warm cache).
+ * Larger series can be benchmarked with e.g. {@code -p barCount=10000000}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class IndicatorBenchmark {
+
+    @Param({"DOUBLE", "BIG_DECIMAL"})
+    private Decimal.Mode decimalMode;
+
+    @Param({"10000", "1000000"})
+    private int barCount;
+
+    private TimeSeries series;
+
+    @Setup
+    public void setUp() {
+        series = BenchmarkSeries.randomWalk(barCount, decimalMode);
+    }
+
+    @Benchmark
+    public Decimal sma() {
+        SMAIndicator sma = new SMAIndicator(new ClosePriceIndicator(series), 200);
+        return BenchmarkSeries.sumValues(sma, series);
+    }
+
+    @Benchmark
+    public Decimal smaBatch() {
+        SMAIndicator sma = new SMAIndicator(new ClosePriceIndicator(series), 200);
+        Decimal[] values = new Decimal[series.getBarCount()];
+        sma.getValues(series.getBeginIndex(), series.getEndIndex() + 1, values);
+        return values[values.length - 1];
+    }
+
+    @Benchmark
+    public Decimal ema() {
+        EMAIndicator ema = new EMAIndicator(new ClosePriceIndicator(series), 200);
+        return BenchmarkSeries.sumValues(ema, series);
+    }
+
+    @Benchmark
+    public Decimal rsi() {
+        RSIIndicator rsi = new RSIIndicator(new ClosePriceIndicator(series), 14);
+        return BenchmarkSeries.sumValues(rsi, series);
+    }
+
+    @Benchmark
+    public Decimal macd() {
+        MACDIndicator macd = new MACDIndicator(new ClosePriceIndicator(series), 12, 26);
+        EMAIndicator signal = new EMAIndicator(macd, 9);
+        return BenchmarkSeries.sumValues(new DifferenceIndicator(macd, signal), series);
+    }
+
+    @Benchmark
+    public Decimal bollingerBandWidth() {
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        BollingerBandsMiddleIndicator middle = new BollingerBandsMiddleIndicator(new SMAIndicator(closePrice, 20));
+        StandardDeviationIndicator deviation = new StandardDeviationIndicator(closePrice, 20);
+        BollingerBandWidthIndicator width = new BollingerBandWidthIndicator(
+                new BollingerBandsUpperIndicator(middle, deviation),
+                middle,
+                new BollingerBandsLowerIndicator(middle, deviation));
+        return BenchmarkSeries.sumValues(width, series);
+    }
+
+    @Benchmark
+    public Decimal ichimokuCloud() {
+        IchimokuTenkanSenIndicator conversionLine = new IchimokuTenkanSenIndicator(series);
+        IchimokuKijunSenIndicator baseLine = new IchimokuKijunSenIndicator(series);
+        IchimokuSenkouSpanAIndicator leadingSpanA = new IchimokuSenkouSpanAIndicator(series, conversionLine, baseLine);
+        IchimokuSenkouSpanBIndicator leadingSpanB = new IchimokuSenkouSpanBIndicator(series);
+        return BenchmarkSeries.sumValues(new DifferenceIndicator(leadingSpanA, leadingSpanB), series);
+    }
+
+    @Benchmark
+    public Decimal parabolicSar() {
+        ParabolicSarIndicator sar = new ParabolicSarIndicator(series);
+        return BenchmarkSeries.sumValues(sar, series);
+    }
+
+    @Benchmark
+    public Decimal cci20() {
+        return BenchmarkSeries.sumValues(new CCIIndicator(series, 20), series);
+    }
+
+    @Benchmark
+    public Decimal cci200() {
+        return BenchmarkSeries.sumValues(new CCIIndicator(series, 200), series);
+    }
+}
@@ -0,0 +1,128 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.ta4j.core.BaseStrategy;
+import org.ta4j.core.Decimal;
+import org.ta4j.core.Rule;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.TimeSeries;
+import org.ta4j.core.TimeSeriesManager;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.trading.rules.CompiledRule;
+import org.ta4j.core.trading.rules.CrossedDownIndicatorRule;
+import org.ta4j.core.trading.rules.CrossedUpIndicatorRule;
+import org.ta4j.core.trading.rules.IsFallingRule;
+import org.ta4j.core.trading.rules.IsHighestRule;
+import org.ta4j.core.trading.rules.IsLowestRule;
+import org.ta4j.core.trading.rules.IsRisingRule;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link TimeSeriesManager#run(Strategy)} with the source and the {@link CompiledRule compiled} rules
+ * of the example strategies.
+ * <p></p>
+ * The strategies are built and run once during the setup, so that their indicators are cached and the
+ * measured runs only evaluate the rules.
+ * <p></p>
+ * The {@code EXPENSIVE_LEAVES} strategy combines rules scanning their time frame at each evaluation (written
+ * first) with cheap and selective crosses: the compiled rules evaluate the crosses first.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RuleBenchmark {
+
+    @Param({"CCI_CORRECTION", "GLOBAL_EXTREMA", "MOVING_MOMENTUM", "RSI2", "EXPENSIVE_LEAVES"})
+    private String strategyName;
+
+    @Param({"10000", "1000000"})
+    private int barCount;
+
+    private TimeSeriesManager manager;
+
+    private Strategy sourceStrategy;
+
+    private Strategy compiledStrategy;
+
+    @Setup
+    public void setUp() {
+        TimeSeries series = BenchmarkSeries.randomWalk(barCount, Decimal.Mode.DOUBLE);
+        manager = new TimeSeriesManager(series);
+        sourceStrategy = buildStrategy(strategyName, series);
+        compiledStrategy = new BaseStrategy(sourceStrategy.getName(),
+                CompiledRule.compile(sourceStrategy.getEntryRule()),
+                CompiledRule.compile(sourceStrategy.getExitRule()),
+                sourceStrategy.getUnstablePeriod());
+        // Caching the values of the indicators
+        manager.run(sourceStrategy);
+    }
+
+    /**
+     * @param strategyName the name of the strategy
+     * @param series a time series
+     * @return the strategy
+     */
+    private static Strategy buildStrategy(String strategyName, TimeSeries series) {
+        if (!"EXPENSIVE_LEAVES".equals(strategyName)) {
+            return StrategyBenchmark.buildStrategy(strategyName, series);
+        }
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        SMAIndicator shortSma = new SMAIndicator(closePrice, 10);
+        SMAIndicator longSma = new SMAIndicator(closePrice, 50);
+        Rule entryRule = new IsRisingRule(closePrice, 50, 0.5)
+                .and(new IsHighestRule(closePrice, 100).or(new IsRisingRule(shortSma, 20)))
+                .and(new CrossedUpIndicatorRule(shortSma, longSma));
+        Rule exitRule = new IsFallingRule(closePrice, 50, 0.5)
+                .and(new IsLowestRule(closePrice, 100).or(new IsFallingRule(shortSma, 20)))
+                .and(new CrossedDownIndicatorRule(shortSma, longSma));
+        return new BaseStrategy("EXPENSIVE_LEAVES", entryRule, exitRule);
+    }
+
+    @Benchmark
+    public TradingRecord sourceRules() {
+        return manager.run(sourceStrategy);
+    }
+
+    @Benchmark
+    public TradingRecord compiledRules() {
+        return manager.run(compiledStrategy);
+    }
+}
@@ -0,0 +1,110 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.ta4j.core.Decimal;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.TimeSeries;
+import org.ta4j.core.TimeSeriesManager;
+import org.ta4j.core.TradingRecord;
+import ta4jexamples.strategies.CCICorrectionStrategy;
+import ta4jexamples.strategies.GlobalExtremaStrategy;
+import ta4jexamples.strategies.MovingMomentumStrategy;
+import ta4jexamples.strategies.RSI2Strategy;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link TimeSeriesManager#run(Strategy)} with the example strategies.
+ * <p></p>
+ * Each invocation builds a fresh strategy, so that the indicators of the strategy are computed during the run.
+ * Runs are measured with rules evaluated bar by bar and with precomputed signals
+ * (see {@link TimeSeriesManager#setPrecomputedSignals(boolean)}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StrategyBenchmark {
+
+    @Param({"CCI_CORRECTION", "GLOBAL_EXTREMA", "MOVING_MOMENTUM", "RSI2"})
+    private String strategyName;
+
+    @Param({"DOUBLE", "BIG_DECIMAL"})
+    private Decimal.Mode decimalMode;
+
+    @Param({"10000", "1000000"})
+    private int barCount;
+
+    @Param({"false", "true"})
+    private boolean precomputedSignals;
+
+    private TimeSeries series;
+
+    private TimeSeriesManager manager;
+
+    @Setup
+    public void setUp() {
+        series = BenchmarkSeries.randomWalk(barCount, decimalMode);
+        manager = new TimeSeriesManager(series);
+        manager.setPrecomputedSignals(precomputedSignals);
+    }
+
+    @Benchmark
+    public TradingRecord run() {
+        return manager.run(buildStrategy(strategyName, series));
+    }
+
+    /**
+     * @param strategyName the name of an example strategy
+     * @param series a time series
+     * @return the example strategy built on the series
+     */
+    static Strategy buildStrategy(String strategyName, TimeSeries series) {
+        switch (strategyName) {
+            case "CCI_CORRECTION":
+                return CCICorrectionStrategy.buildStrategy(series);
+            case "GLOBAL_EXTREMA":
+                return GlobalExtremaStrategy.buildStrategy(series);
+            case "MOVING_MOMENTUM":
+                return MovingMomentumStrategy.buildStrategy(series);
+            case "RSI2":
+                return RSI2Strategy.buildStrategy(series);
+            default:
+                throw new IllegalArgumentException("Unknown strategy: " + strategyName);
+        }
+    }
+}
@@ -85,6 +85,20 @@ public interface Bar extends Serializable {
      */
     ZonedDateTime getEndTime();
 
+    /**
+     * @return the begin time of the bar period (epoch milliseconds)
+     */
+    default long getBeginTimeEpochMilli() {
+        return getBeginTime().toInstant().toEpochMilli();
+    }
+
+    /**
+     * @return the end time of the bar period (epoch milliseconds)
+     */
+    default long getEndTimeEpochMilli() {
+        return getEndTime().toInstant().toEpochMilli();
+    }
+
     /**
      * @param timestamp a timestamp
      * @return true if the provided timestamp is between the begin time and the end time of the current period, false otherwise
@@ -95,6 +109,14 @@ public interface Bar extends Serializable {
                 && timestamp.isBefore(getEndTime());
     }
 
+    /**
+     * @param epochMilli a timestamp (epoch milliseconds)
+     * @return true if the provided timestamp is between the begin time and the end time of the current period, false otherwise
+     */
+    default boolean inPeriod(long epochMilli) {
+        return epochMilli >= getBeginTimeEpochMilli() && epochMilli < getEndTimeEpochMilli();
+    }
+
     /**
      * @return a human-friendly string of the end timestamp
      */
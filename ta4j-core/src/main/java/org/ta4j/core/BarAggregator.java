@@ -0,0 +1,250 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Streaming aggregator of trades into {@link Bar bars}.
+ * <p></p>
+ * Trades are consumed one by one (in chronological order) and each completed bar is passed to a bar consumer
+ * (e.g. {@code series::addBar}), so that the memory used does not depend on the number of trades.
+ * Trades are aggregated with the semantics of {@link Bar#addTrade(Decimal, Decimal)}, into:
+ * <ul>
+ *     <li>time bars: bars of a fixed time period, the first one beginning with the first trade
+ *     (periods without trades produce no bar)
+ *     <li>volume bars: bars completed as soon as their volume reaches a threshold
+ *     <li>tick bars: bars of a fixed number of trades
+ * </ul>
+ * Volume and tick bars begin with their first trade and end with their last one. Since series expect
+ * strictly increasing end times, a bar ending at the same millisecond as the previous one is shifted by a
+ * millisecond.
+ * <p>
+ * The last bar is only emitted on {@link #flush()}, or when a trade falls after its period (time bars).
+ */
+public class BarAggregator {
+
+    /**
+     * Type of bars.
+     */
+    private enum Type {
+        TIME, VOLUME, TICK
+    }
+
+    /** Type of bars */
+    private final Type type;
+    /** Time period of the bars (time bars) */
+    private final Duration timePeriod;
+    /** Volume threshold of the bars (volume bars) */
+    private final Decimal volumeThreshold;
+    /** Number of trades of the bars (tick bars) */
+    private final int tradeCount;
+    /** Consumer of the completed bars */
+    private final Consumer<Bar> barConsumer;
+    /** Zone of the bar timestamps */
+    private ZoneId zone = ZoneId.systemDefault();
+
+    /** Time of the last trade (epoch milliseconds) */
+    private long lastTradeTime = Long.MIN_VALUE;
+    /** End time of the last emitted bar (epoch milliseconds) */
+    private long lastBarEndTime = Long.MIN_VALUE;
+    /** Begin time of the first time bar (epoch milliseconds) */
+    private long firstBarBeginTime;
+    /** End time of the current time bar (epoch milliseconds) */
+    private long currentBarEndTime;
+    /** Number of emitted bars */
+    private int barCount = 0;
+
+    // Current bar
+    private long beginTime;
+    private Decimal openPrice;
+    private Decimal maxPrice;
+    private Decimal minPrice;
+    private Decimal closePrice;
+    private Decimal volume;
+    private Decimal amount;
+    private int trades = 0;
+
+    /**
+     * Constructor.
+     * @param type the type of bars
+     * @param timePeriod the time period of the bars (time bars)
+     * @param volumeThreshold the volume threshold of the bars (volume bars)
+     * @param tradeCount the number of trades of the bars (tick bars)
+     * @param barConsumer the consumer of the completed bars
+     */
+    private BarAggregator(Type type, Duration timePeriod, Decimal volumeThreshold, int tradeCount, Consumer<Bar> barConsumer) {
+        if (barConsumer == null) {
+            throw new IllegalArgumentException("Bar consumer cannot be null");
+        }
+        this.type = type;
+        this.timePeriod = timePeriod;
+        this.volumeThreshold = volumeThreshold;
+        this.tradeCount = tradeCount;
+        this.barConsumer = barConsumer;
+    }
+
+    /**
+     * @param timePeriod the time period of the bars
+     * @param barConsumer the consumer of the completed bars
+     * @return an aggregator of trades into time bars
+     */
+    public static BarAggregator timeBars(Duration timePeriod, Consumer<Bar> barConsumer) {
+        if (timePeriod == null || timePeriod.toMillis() <= 0) {
+            throw new IllegalArgumentException("Time period must be at least one millisecond");
+        }
+        return new BarAggregator(Type.TIME, timePeriod, null, 0, barConsumer);
+    }
+
+    /**
+     * @param volumeThreshold the volume above which a bar is completed
+     * @param barConsumer the consumer of the completed bars
+     * @return an aggregator of trades into volume bars
+     */
+    public static BarAggregator volumeBars(Decimal volumeThreshold, Consumer<Bar> barConsumer) {
+        if (volumeThreshold == null || !volumeThreshold.isPositive()) {
+            throw new IllegalArgumentException("Volume threshold must be strictly positive");
+        }
+        return new BarAggregator(Type.VOLUME, null, volumeThreshold, 0, barConsumer);
+    }
+
+    /**
+     * @param tradeCount the number of trades of the bars
+     * @param barConsumer the consumer of the completed bars
+     * @return an aggregator of trades into tick bars
+     */
+    public static BarAggregator tickBars(int tradeCount, Consumer<Bar> barConsumer) {
+        if (tradeCount <= 0) {
+            throw new IllegalArgumentException("Trade count must be strictly positive");
+        }
+        return new BarAggregator(Type.TICK, null, null, tradeCount, barConsumer);
+    }
+
+    /**
+     * @param zone the zone of the bar timestamps (system default zone by default)
+     * @return this aggregator
+     */
+    public BarAggregator withZone(ZoneId zone) {
+        this.zone = Objects.requireNonNull(zone);
+        return this;
+    }
+
+    /**
+     * @return the number of emitted bars
+     */
+    public int getBarCount() {
+        return barCount;
+    }
+
+    /**
+     * Adds a trade.
+     * @param time the time of the trade
+     * @param tradeVolume the traded volume
+     * @param tradePrice the price
+     * @throws IllegalArgumentException if the trade is prior to the previous one
+     */
+    public void addTrade(ZonedDateTime time, Decimal tradeVolume, Decimal tradePrice) {
+        addTrade(time.toInstant().toEpochMilli(), tradeVolume, tradePrice);
+    }
+
+    /**
+     * Adds a trade.
+     * @param time the time of the trade (epoch milliseconds)
+     * @param tradeVolume the traded volume
+     * @param tradePrice the price
+     * @throws IllegalArgumentException if the trade is prior to the previous one
+     */
+    public void addTrade(long time, Decimal tradeVolume, Decimal tradePrice) {
+        if (time < lastTradeTime) {
+            throw new IllegalArgumentException("Cannot add a trade prior to the previous one");
+        }
+        final boolean firstTrade = lastTradeTime == Long.MIN_VALUE;
+        lastTradeTime = time;
+        if (type == Type.TIME) {
+            final long period = timePeriod.toMillis();
+            if (firstTrade) {
+                firstBarBeginTime = time;
+                currentBarEndTime = time + period;
+            } else if (time >= currentBarEndTime) {
+                emitBar();
+                currentBarEndTime = firstBarBeginTime + ((time - firstBarBeginTime) / period + 1) * period;
+            }
+        }
+        if (trades == 0) {
+            beginTime = time;
+            openPrice = tradePrice;
+            maxPrice = tradePrice;
+            minPrice = tradePrice;
+            volume = tradeVolume;
+            amount = tradeVolume.multipliedBy(tradePrice);
+        } else {
+            maxPrice = maxPrice.isLessThan(tradePrice) ? tradePrice : maxPrice;
+            minPrice = minPrice.isGreaterThan(tradePrice) ? tradePrice : minPrice;
+            volume = volume.plus(tradeVolume);
+            amount = amount.plus(tradeVolume.multipliedBy(tradePrice));
+        }
+        closePrice = tradePrice;
+        trades++;
+        if ((type == Type.VOLUME && volume.isGreaterThanOrEqual(volumeThreshold))
+                || (type == Type.TICK && trades == tradeCount)) {
+            emitBar();
+        }
+    }
+
+    /**
+     * Emits the current (incomplete) bar, if any.
+     */
+    public void flush() {
+        emitBar();
+    }
+
+    /**
+     * Passes the current bar to the bar consumer and resets it.
+     */
+    private void emitBar() {
+        if (trades == 0) {
+            return;
+        }
+        final long endTime;
+        final Duration period;
+        if (type == Type.TIME) {
+            endTime = currentBarEndTime;
+            period = timePeriod;
+        } else {
+            endTime = Math.max(lastTradeTime, lastBarEndTime + 1);
+            period = Duration.ofMillis(endTime - beginTime);
+        }
+        final Bar bar = new BaseBar(period,
+                ZonedDateTime.ofInstant(Instant.ofEpochMilli(endTime), zone),
+                openPrice, maxPrice, minPrice, closePrice, volume, amount, trades);
+        lastBarEndTime = endTime;
+        trades = 0;
+        barCount++;
+        barConsumer.accept(bar);
+    }
+}
@@ -22,23 +22,30 @@
  */
 package org.ta4j.core;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.time.Duration;
+import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 
 /**
  * Base implementation of a {@link Bar}.
  * <p></p>
+ * The end time is stored as an epoch second and a nanosecond adjustment plus its zone, instead of
+ * {@link ZonedDateTime} objects: the begin and end timestamps are built on demand.
  */
 public class BaseBar implements Bar {
 
 	private static final long serialVersionUID = 8038383777467488147L;
 	/** Time period (e.g. 1 day, 15 min, etc.) of the bar */
     private Duration timePeriod;
-    /** End time of the bar */
-    private ZonedDateTime endTime;
-    /** Begin time of the bar */
-    private ZonedDateTime beginTime;
+    /** End time of the bar (epoch seconds) */
+    private long endEpochSecond;
+    /** Nanosecond adjustment of the end time of the bar */
+    private int endNano;
+    /** Zone of the bar timestamps */
+    private ZoneId zone;
     /** Open price of the period */
     private Decimal openPrice = null;
     /** Close price of the period */
@@ -62,8 +69,7 @@ public class BaseBar implements Bar {
     public BaseBar(Duration timePeriod, ZonedDateTime endTime) {
         checkTimeArguments(timePeriod, endTime);
         this.timePeriod = timePeriod;
-        this.endTime = endTime;
-        this.beginTime = endTime.minus(timePeriod);
+        setEndTime(endTime);
     }
 
     /**
@@ -139,16 +145,32 @@ public class BaseBar implements Bar {
      * @param amount the amount of the bar period
      */
     public BaseBar(Duration timePeriod, ZonedDateTime endTime, Decimal openPrice, Decimal highPrice, Decimal lowPrice, Decimal closePrice, Decimal volume, Decimal amount) {
+        this(timePeriod, endTime, openPrice, highPrice, lowPrice, closePrice, volume, amount, 0);
+    }
+
+    /**
+     * Constructor.
+     * @param timePeriod the time period
+     * @param endTime the end time of the bar period
+     * @param openPrice the open price of the bar period
+     * @param highPrice the highest price of the bar period
+     * @param lowPrice the lowest price of the bar period
+     * @param closePrice the close price of the bar period
+     * @param volume the volume of the bar period
+     * @param amount the amount of the bar period
+     * @param trades the number of trades of the bar period
+     */
+    public BaseBar(Duration timePeriod, ZonedDateTime endTime, Decimal openPrice, Decimal highPrice, Decimal lowPrice, Decimal closePrice, Decimal volume, Decimal amount, int trades) {
         checkTimeArguments(timePeriod, endTime);
         this.timePeriod = timePeriod;
-        this.endTime = endTime;
-        this.beginTime = endTime.minus(timePeriod);
+        setEndTime(endTime);
         this.openPrice = openPrice;
         this.maxPrice = highPrice;
         this.minPrice = lowPrice;
         this.closePrice = closePrice;
         this.volume = volume;
         this.amount = amount;
+        this.trades = trades;
     }
 
     /**
@@ -211,14 +233,51 @@ public class BaseBar implements Bar {
      * @return the begin timestamp of the bar period
      */
     public ZonedDateTime getBeginTime() {
-        return beginTime;
+        return ZonedDateTime.ofInstant(Instant.ofEpochSecond(endEpochSecond, endNano).minus(timePeriod), zone);
     }
 
     /**
      * @return the end timestamp of the bar period
      */
     public ZonedDateTime getEndTime() {
-        return endTime;
+        return ZonedDateTime.ofInstant(Instant.ofEpochSecond(endEpochSecond, endNano), zone);
+    }
+
+    @Override
+    public long getBeginTimeEpochMilli() {
+        long second = endEpochSecond - timePeriod.getSeconds();
+        int nano = endNano - timePeriod.getNano();
+        if (nano < 0) {
+            nano += 1000000000;
+            second--;
+        }
+        return toEpochMilli(second, nano);
+    }
+
+    @Override
+    public long getEndTimeEpochMilli() {
+        return toEpochMilli(endEpochSecond, endNano);
+    }
+
+    @Override
+    public boolean inPeriod(ZonedDateTime timestamp) {
+        if (timestamp == null) {
+            return false;
+        }
+        final long second = timestamp.toEpochSecond();
+        final int nano = timestamp.getNano();
+        // Before the end time
+        if (second > endEpochSecond || (second == endEpochSecond && nano >= endNano)) {
+            return false;
+        }
+        // Not before the begin time (i.e. timestamp + period >= end time)
+        long shiftedSecond = second + timePeriod.getSeconds();
+        int shiftedNano = nano + timePeriod.getNano();
+        if (shiftedNano >= 1000000000) {
+            shiftedNano -= 1000000000;
+            shiftedSecond++;
+        }
+        return shiftedSecond > endEpochSecond || (shiftedSecond == endEpochSecond && shiftedNano >= endNano);
     }
 
     /**
@@ -250,7 +309,52 @@ public class BaseBar implements Bar {
     @Override
     public String toString() {
         return String.format("{end time: %1s, close price: %2$f, open price: %3$f, min price: %4$f, max price: %5$f, volume: %6$f}",
-                endTime.withZoneSameInstant(ZoneId.systemDefault()), closePrice.doubleValue(), openPrice.doubleValue(), minPrice.doubleValue(), maxPrice.doubleValue(), volume.doubleValue());
+                getEndTime().withZoneSameInstant(ZoneId.systemDefault()), closePrice.doubleValue(), openPrice.doubleValue(), minPrice.doubleValue(), maxPrice.doubleValue(), volume.doubleValue());
+    }
+
+    /**
+     * Reads a serialized bar, including the bars serialized before the end time was stored as epoch values (i.e.
+     * with {@code beginTime} and {@code endTime} {@link ZonedDateTime} fields).
+     * @param in the object input stream
+     * @throws IOException if an I/O error occurs
+     * @throws ClassNotFoundException if the class of a serialized field cannot be found
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        timePeriod = (Duration) fields.get("timePeriod", null);
+        if (fields.getObjectStreamClass().getField("endTime") != null) {
+            // Legacy form: the begin time is derived from the end time and the time period
+            setEndTime((ZonedDateTime) fields.get("endTime", null));
+        } else {
+            endEpochSecond = fields.get("endEpochSecond", 0L);
+            endNano = fields.get("endNano", 0);
+            zone = (ZoneId) fields.get("zone", null);
+        }
+        openPrice = (Decimal) fields.get("openPrice", null);
+        closePrice = (Decimal) fields.get("closePrice", null);
+        maxPrice = (Decimal) fields.get("maxPrice", null);
+        minPrice = (Decimal) fields.get("minPrice", null);
+        amount = (Decimal) fields.get("amount", Decimal.ZERO);
+        volume = (Decimal) fields.get("volume", Decimal.ZERO);
+        trades = fields.get("trades", 0);
+    }
+
+    /**
+     * @param endTime the end time of the bar
+     */
+    private void setEndTime(ZonedDateTime endTime) {
+        this.endEpochSecond = endTime.toEpochSecond();
+        this.endNano = endTime.getNano();
+        this.zone = endTime.getZone();
+    }
+
+    /**
+     * @param epochSecond an epoch second
+     * @param nano a nanosecond adjustment (0 to 999,999,999)
+     * @return the corresponding epoch millisecond
+     */
+    private static long toEpochMilli(long epochSecond, int nano) {
+        return epochSecond * 1000 + nano / 1000000;
     }
 
     /**
@@ -29,6 +29,7 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Base implementation of a {@link TimeSeries}.
@@ -55,6 +56,12 @@ public class BaseTimeSeries implements TimeSeries {
     private int removedBarsCount = 0;
     /** True if the current series is constrained (i.e. its indexes cannot change), false otherwise */
     private boolean constrained = false;
+    /** Numeric representation of the decimals of the series */
+    private final Decimal.Mode decimalMode;
+    /** True if the cached indicators built on this series may be accessed concurrently, false otherwise */
+    private volatile boolean concurrentIndicatorCache = false;
+    /** Listeners of the added bars (not serialized) */
+    private transient volatile List<BarListener> barListeners;
 
     /**
      * Constructor of an unnamed series.
@@ -71,6 +78,15 @@ public class BaseTimeSeries implements TimeSeries {
         this(name, new ArrayList<Bar>());
     }
 
+    /**
+     * Constructor.
+     * @param name the name of the series
+     * @param decimalMode the numeric representation of the decimals of the series
+     */
+    public BaseTimeSeries(String name, Decimal.Mode decimalMode) {
+        this(name, new ArrayList<Bar>(), decimalMode);
+    }
+
     /**
      * Constructor of an unnamed series.
      * @param bars the list of bars of the series
@@ -85,7 +101,17 @@ public class BaseTimeSeries implements TimeSeries {
      * @param bars the list of bars of the series
      */
     public BaseTimeSeries(String name, List<Bar> bars) {
-        this(name, bars, 0, bars.size() - 1, false);
+        this(name, bars, Decimal.Mode.BIG_DECIMAL);
+    }
+
+    /**
+     * Constructor.
+     * @param name the name of the series
+     * @param bars the list of bars of the series
+     * @param decimalMode the numeric representation of the decimals of the series
+     */
+    public BaseTimeSeries(String name, List<Bar> bars, Decimal.Mode decimalMode) {
+        this(name, bars, 0, bars.size() - 1, false, decimalMode);
     }
 
     /**
@@ -101,7 +127,7 @@ public class BaseTimeSeries implements TimeSeries {
      */
     @Deprecated
     public BaseTimeSeries(TimeSeries defaultSeries, int seriesBeginIndex, int seriesEndIndex) {
-        this(defaultSeries.getName(), defaultSeries.getBarData(), seriesBeginIndex, seriesEndIndex, true);
+        this(defaultSeries.getName(), defaultSeries.getBarData(), seriesBeginIndex, seriesEndIndex, true, defaultSeries.getDecimalMode());
         if (defaultSeries.getBarData() == null || defaultSeries.getBarData().isEmpty()) {
             throw new IllegalArgumentException("Cannot create a constrained series from a time series with a null/empty list of bars");
         }
@@ -117,11 +143,13 @@ public class BaseTimeSeries implements TimeSeries {
      * @param seriesBeginIndex the begin index (inclusive) of the time series
      * @param seriesEndIndex the end index (inclusive) of the time series
      * @param constrained true to constrain the time series (i.e. indexes cannot change), false otherwise
+     * @param decimalMode the numeric representation of the decimals of the series
      */
-    private BaseTimeSeries(String name, List<Bar> bars, int seriesBeginIndex, int seriesEndIndex, boolean constrained) {
+    private BaseTimeSeries(String name, List<Bar> bars, int seriesBeginIndex, int seriesEndIndex, boolean constrained, Decimal.Mode decimalMode) {
         Objects.requireNonNull(bars);
         this.bars = bars;
         this.name = name;
+        this.decimalMode = Objects.requireNonNull(decimalMode);
         if (bars.isEmpty()) {
         	// Bar list empty
             this.seriesBeginIndex = -1;
@@ -142,31 +170,24 @@ public class BaseTimeSeries implements TimeSeries {
     }
 
     /**
-     * Returns a new BaseTimeSeries that is a subset of this BaseTimeSeries.
-     * The new series holds a copy of all {@link Bar bars} between <tt>startIndex</tt> (inclusive) and <tt>endIndex</tt> (exclusive)
-     * of this TimeSeries.
+     * Returns a {@link TimeSeriesView view} over a subset of this BaseTimeSeries.
+     * The view shares all {@link Bar bars} between <tt>startIndex</tt> (inclusive) and <tt>endIndex</tt> (exclusive)
+     * of this TimeSeries (they are not copied).
      * The indices of this TimeSeries and the new subset TimeSeries can be different. I. e. index 0 of the new TimeSeries will
      * be index <tt>startIndex</tt> of this TimeSeries.
      * If <tt>startIndex</tt> < this.seriesBeginIndex the new TimeSeries will start with the first available Bar of this TimeSeries.
      * If <tt>endIndex</tt> > this.seriesEndIndex+1 the new TimeSeries will end at the last available Bar of this TimeSeries
+     * <p>
+     * The view is read-only (bars cannot be added to it, and it has no maximum bar count nor bar listeners).
+     * A mutable copy can be built from its bars: {@code new BaseTimeSeries(view.getName(), new ArrayList<>(view.getBarData()))}.
      * @param startIndex the startIndex
      * @param endIndex the endIndex (exclusive)
-     * @return a new BaseTimeSeries with Bars from <tt>startIndex</tt> to <tt>endIndex</tt>-1
+     * @return a view with Bars from <tt>startIndex</tt> to <tt>endIndex</tt>-1
      * @throws IllegalArgumentException if <tt>endIndex</tt> < <tt>startIndex</tt>
      */
     @Override
     public TimeSeries getSubSeries(int startIndex, int endIndex){
-        if(startIndex > endIndex){
-            throw new IllegalArgumentException
-                    (String.format("the endIndex: %s must be bigger than startIndex: %s", endIndex, startIndex));
-        }
-        if(!bars.isEmpty()) {
-            int start = Math.max(startIndex, this.seriesBeginIndex);
-            int end = Math.min(endIndex, this.seriesEndIndex + 1);
-            return new BaseTimeSeries(getName(), cut(bars, start, end));
-        }
-        return new BaseTimeSeries(name);
-
+        return new TimeSeriesView(this, startIndex, endIndex);
     }
 
     @Override
@@ -194,6 +215,39 @@ public class BaseTimeSeries implements TimeSeries {
         return bars.get(innerIndex);
     }
 
+    @Override
+    public Decimal.Mode getDecimalMode() {
+        return decimalMode;
+    }
+
+    @Override
+    public boolean isConcurrentIndicatorCache() {
+        return concurrentIndicatorCache;
+    }
+
+    @Override
+    public void setConcurrentIndicatorCache(boolean concurrentIndicatorCache) {
+        this.concurrentIndicatorCache = concurrentIndicatorCache;
+    }
+
+    @Override
+    public synchronized void addBarListener(BarListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Cannot add null bar listener");
+        }
+        if (barListeners == null) {
+            barListeners = new CopyOnWriteArrayList<>();
+        }
+        barListeners.add(listener);
+    }
+
+    @Override
+    public synchronized void removeBarListener(BarListener listener) {
+        if (barListeners != null) {
+            barListeners.remove(listener);
+        }
+    }
+
     @Override
     public int getBarCount() {
         if (seriesEndIndex < 0) {
@@ -261,6 +315,19 @@ public class BaseTimeSeries implements TimeSeries {
         }
         seriesEndIndex++;
         removeExceedingBars();
+        notifyBarListeners();
+    }
+
+    /**
+     * Notifies the listeners of the last added bar.
+     */
+    private void notifyBarListeners() {
+        final List<BarListener> listeners = barListeners;
+        if (listeners != null) {
+            for (BarListener listener : listeners) {
+                listener.barAdded(this, seriesEndIndex);
+            }
+        }
     }
 
     /**
@@ -279,17 +346,6 @@ public class BaseTimeSeries implements TimeSeries {
         }
     }
 
-    /**
-     * Cuts a list of bars into a new list of bars that is a subset of it
-     * @param bars the list of {@link Bar bars}
-     * @param startIndex start index of the subset
-     * @param endIndex end index of the subset
-     * @return a new list of bars with tick from startIndex (inclusive) to endIndex (exclusive)
-     */
-    private static List<Bar> cut(List<Bar> bars, final int startIndex, final int endIndex){
-        return new ArrayList<>(bars.subList(startIndex, endIndex));
-    }
-
     /**
      * @param series a time series
      * @param index an out of bounds bar index
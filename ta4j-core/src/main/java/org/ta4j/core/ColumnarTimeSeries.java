@@ -0,0 +1,672 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Columnar implementation of a {@link TimeSeries}.
+ * <p></p>
+ * Bar data are stored in parallel primitive arrays (one per field) instead of a list of {@link Bar bar} objects:
+ * prices, volumes and amounts as {@code double}s, end times and time periods as epoch milliseconds.
+ * It costs about 70 bytes per bar, which is an order of magnitude less than a {@link BaseTimeSeries} holding
+ * {@link BaseBar base bars}.
+ * <p>
+ * The bars returned by {@link #getBar(int)} and {@link #getBarData()} are lightweight snapshots of the arrays
+ * (they copy the primitive values of their row), built on demand: they stay readable once evicted from the series
+ * (see {@link #setMaximumBarCount(int)}). Times are converted to {@link ZonedDateTime} in the zone of the series
+ * on demand.
+ * <p>
+ * Since values are stored as doubles, the series is double-backed by default (see {@link Decimal.Mode}).
+ * Time precision is limited to milliseconds.
+ */
+public class ColumnarTimeSeries implements TimeSeries {
+
+    private static final long serialVersionUID = -4427350283786522871L;
+    /** Name for unnamed series */
+    private static final String UNNAMED_SERIES_NAME = "unamed_series";
+    /** Initial capacity of the arrays */
+    private static final int INITIAL_CAPACITY = 16;
+    /** Default time period of the bars added from raw values */
+    private static final Duration DEFAULT_TIME_PERIOD = Duration.ofDays(1);
+    /** The logger */
+    private final Logger log = LoggerFactory.getLogger(getClass());
+    /** Name of the series */
+    private final String name;
+    /** Zone of the bar timestamps */
+    private final ZoneId zone;
+    /** Numeric representation of the decimals of the series */
+    private final Decimal.Mode decimalMode;
+    /** True if the cached indicators built on this series may be accessed concurrently, false otherwise */
+    private volatile boolean concurrentIndicatorCache = false;
+    /** Listeners of the added bars (not serialized) */
+    private transient volatile List<BarListener> barListeners;
+    /** End times of the bars (epoch milliseconds) */
+    private long[] endTimes = new long[INITIAL_CAPACITY];
+    /** Time periods of the bars (milliseconds) */
+    private long[] timePeriods = new long[INITIAL_CAPACITY];
+    /** Open prices of the bars (NaN if not set) */
+    private double[] openPrices = new double[INITIAL_CAPACITY];
+    /** Max prices of the bars (NaN if not set) */
+    private double[] maxPrices = new double[INITIAL_CAPACITY];
+    /** Min prices of the bars (NaN if not set) */
+    private double[] minPrices = new double[INITIAL_CAPACITY];
+    /** Close prices of the bars (NaN if not set) */
+    private double[] closePrices = new double[INITIAL_CAPACITY];
+    /** Volumes of the bars */
+    private double[] volumes = new double[INITIAL_CAPACITY];
+    /** Amounts of the bars */
+    private double[] amounts = new double[INITIAL_CAPACITY];
+    /** Trade counts of the bars */
+    private int[] trades = new int[INITIAL_CAPACITY];
+    /** Position of the first retained bar in the arrays */
+    private int offset = 0;
+    /** Number of retained bars */
+    private int size = 0;
+    /** Begin index of the time series */
+    private int seriesBeginIndex = -1;
+    /** End index of the time series */
+    private int seriesEndIndex = -1;
+    /** Maximum number of bars for the time series */
+    private int maximumBarCount = Integer.MAX_VALUE;
+    /** Number of removed bars */
+    private int removedBarsCount = 0;
+
+    /**
+     * Constructor of an unnamed series.
+     */
+    public ColumnarTimeSeries() {
+        this(UNNAMED_SERIES_NAME);
+    }
+
+    /**
+     * Constructor.
+     * @param name the name of the series
+     */
+    public ColumnarTimeSeries(String name) {
+        this(name, ZoneId.systemDefault(), Decimal.Mode.DOUBLE);
+    }
+
+    /**
+     * Constructor.
+     * @param name the name of the series
+     * @param bars the bars to be copied into the series
+     */
+    public ColumnarTimeSeries(String name, List<Bar> bars) {
+        this(name, bars.isEmpty() ? ZoneId.systemDefault() : bars.get(0).getEndTime().getZone(), Decimal.Mode.DOUBLE);
+        for (Bar bar : bars) {
+            addBar(bar);
+        }
+    }
+
+    /**
+     * Constructor.
+     * @param name the name of the series
+     * @param zone the zone of the bar timestamps
+     * @param decimalMode the numeric representation of the decimals of the series
+     */
+    public ColumnarTimeSeries(String name, ZoneId zone, Decimal.Mode decimalMode) {
+        this.name = name;
+        this.zone = Objects.requireNonNull(zone);
+        this.decimalMode = Objects.requireNonNull(decimalMode);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the zone of the bar timestamps
+     */
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    @Override
+    public Decimal.Mode getDecimalMode() {
+        return decimalMode;
+    }
+
+    @Override
+    public boolean isConcurrentIndicatorCache() {
+        return concurrentIndicatorCache;
+    }
+
+    @Override
+    public void setConcurrentIndicatorCache(boolean concurrentIndicatorCache) {
+        this.concurrentIndicatorCache = concurrentIndicatorCache;
+    }
+
+    @Override
+    public synchronized void addBarListener(BarListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Cannot add null bar listener");
+        }
+        if (barListeners == null) {
+            barListeners = new CopyOnWriteArrayList<>();
+        }
+        barListeners.add(listener);
+    }
+
+    @Override
+    public synchronized void removeBarListener(BarListener listener) {
+        if (barListeners != null) {
+            barListeners.remove(listener);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * The returned bar is a snapshot of the values of the bar: it stays readable once evicted from the series, but
+     * does not reflect the trades added to the series through other bars after its creation. The trades added to
+     * it are also added to the series while the bar is in it.
+     */
+    @Override
+    public Bar getBar(int i) {
+        int innerIndex = i - removedBarsCount;
+        if (innerIndex < 0) {
+            if (i < 0) {
+                // Cannot return the i-th bar if i < 0
+                throw new IndexOutOfBoundsException(buildOutOfBoundsMessage(i));
+            }
+            log.trace("Time series `{}` ({} bars): bar {} already removed, use {}-th instead", name, size, i, removedBarsCount);
+            if (size == 0) {
+                throw new IndexOutOfBoundsException(buildOutOfBoundsMessage(removedBarsCount));
+            }
+            innerIndex = 0;
+        } else if (innerIndex >= size) {
+            // Cannot return the n-th bar if n >= size
+            throw new IndexOutOfBoundsException(buildOutOfBoundsMessage(i));
+        }
+        return new ColumnarBar(this, removedBarsCount + innerIndex);
+    }
+
+    @Override
+    public int getBarCount() {
+        if (seriesEndIndex < 0) {
+            return 0;
+        }
+        final int startIndex = Math.max(removedBarsCount, seriesBeginIndex);
+        return seriesEndIndex - startIndex + 1;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The returned list is a read-only view of the retained bars.
+     */
+    @Override
+    public List<Bar> getBarData() {
+        return new AbstractList<Bar>() {
+            @Override
+            public Bar get(int index) {
+                if (index < 0 || index >= size) {
+                    throw new IndexOutOfBoundsException(buildOutOfBoundsMessage(removedBarsCount + index));
+                }
+                return new ColumnarBar(ColumnarTimeSeries.this, removedBarsCount + index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public int getBeginIndex() {
+        return seriesBeginIndex;
+    }
+
+    @Override
+    public int getEndIndex() {
+        return seriesEndIndex;
+    }
+
+    @Override
+    public void setMaximumBarCount(int maximumBarCount) {
+        if (maximumBarCount <= 0) {
+            throw new IllegalArgumentException("Maximum bar count must be strictly positive");
+        }
+        this.maximumBarCount = maximumBarCount;
+        removeExceedingBars();
+    }
+
+    @Override
+    public int getMaximumBarCount() {
+        return maximumBarCount;
+    }
+
+    @Override
+    public int getRemovedBarsCount() {
+        return removedBarsCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The search is performed directly over the end time array.
+     */
+    @Override
+    public int getFirstIndexEndingAtOrAfter(long endTimeEpochMilli) {
+        final int position = Arrays.binarySearch(endTimes, offset, offset + size, endTimeEpochMilli);
+        // End times are strictly increasing
+        final int firstPosition = position >= 0 ? position : -position - 1;
+        return removedBarsCount + firstPosition - offset;
+    }
+
+    @Override
+    public void addBar(Bar bar) {
+        if (bar == null) {
+            throw new IllegalArgumentException("Cannot add null bar");
+        }
+        addBar(bar.getTimePeriod(), bar.getEndTimeEpochMilli(),
+                toDouble(bar.getOpenPrice()), toDouble(bar.getMaxPrice()),
+                toDouble(bar.getMinPrice()), toDouble(bar.getClosePrice()),
+                toDouble(bar.getVolume()), toDouble(bar.getAmount()), bar.getTrades());
+    }
+
+    @Override
+    public void addBar(ZonedDateTime endTime, Number openPrice, Number highPrice, Number lowPrice, Number closePrice, Number volume) {
+        addBar(DEFAULT_TIME_PERIOD, endTime.toInstant().toEpochMilli(),
+                openPrice.doubleValue(), highPrice.doubleValue(), lowPrice.doubleValue(), closePrice.doubleValue(),
+                volume.doubleValue(), 0, 0);
+    }
+
+    /**
+     * Adds a bar at the end of the series, from raw values.
+     * @param timePeriod the time period of the bar
+     * @param endTime the end time of the bar period (epoch milliseconds)
+     * @param openPrice the open price of the bar period
+     * @param highPrice the highest price of the bar period
+     * @param lowPrice the lowest price of the bar period
+     * @param closePrice the close price of the bar period
+     * @param volume the volume of the bar period
+     * @param amount the amount of the bar period
+     * @param tradeCount the number of trades of the bar period
+     * @see TimeSeries#addBar(Bar)
+     */
+    public void addBar(Duration timePeriod, long endTime, double openPrice, double highPrice, double lowPrice,
+                       double closePrice, double volume, double amount, int tradeCount) {
+        if (timePeriod == null) {
+            throw new IllegalArgumentException("Time period cannot be null");
+        }
+        if (size > 0 && endTime <= endTimes[offset + size - 1]) {
+            throw new IllegalArgumentException("Cannot add a bar with end time <= to series end time");
+        }
+        ensureCapacity(offset + size + 1);
+        final int position = offset + size;
+        endTimes[position] = endTime;
+        timePeriods[position] = timePeriod.toMillis();
+        openPrices[position] = openPrice;
+        maxPrices[position] = highPrice;
+        minPrices[position] = lowPrice;
+        closePrices[position] = closePrice;
+        volumes[position] = volume;
+        amounts[position] = amount;
+        trades[position] = tradeCount;
+        size++;
+
+        if (seriesBeginIndex == -1) {
+            // Begin index set to 0 only if if wasn't initialized
+            seriesBeginIndex = 0;
+        }
+        seriesEndIndex++;
+        removeExceedingBars();
+        notifyBarListeners();
+    }
+
+    /**
+     * Notifies the listeners of the last added bar.
+     */
+    private void notifyBarListeners() {
+        final List<BarListener> listeners = barListeners;
+        if (listeners != null) {
+            for (BarListener listener : listeners) {
+                listener.barAdded(this, seriesEndIndex);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The sub-series is a {@link TimeSeriesView view} over the columns of this series.
+     * The view is read-only; a mutable copy can be built from its bars
+     * (e.g. {@code new ColumnarTimeSeries(view.getName(), view.getBarData())}).
+     */
+    @Override
+    public TimeSeries getSubSeries(int startIndex, int endIndex) {
+        return new TimeSeriesView(this, startIndex, endIndex);
+    }
+
+    /**
+     * Removes the N first bars which exceed the maximum bar count.
+     * <p>
+     * Bars are dropped by moving the offset of the series; the arrays are only compacted
+     * when the dropped part exceeds the retained one (amortized O(1)).
+     */
+    private void removeExceedingBars() {
+        if (size > maximumBarCount) {
+            // Removing old bars
+            int nbBarsToRemove = size - maximumBarCount;
+            offset += nbBarsToRemove;
+            size -= nbBarsToRemove;
+            // Updating removed bars count
+            removedBarsCount += nbBarsToRemove;
+            if (offset > size) {
+                compact(endTimes.length);
+            }
+        }
+    }
+
+    /**
+     * Ensures that the arrays can hold the provided number of elements.
+     * @param capacity the minimal capacity of the arrays
+     */
+    private void ensureCapacity(int capacity) {
+        if (capacity > endTimes.length) {
+            if (offset > 0) {
+                // Reclaiming the space of the removed bars first
+                compact(Math.max(endTimes.length, size + 1));
+            } else {
+                compact(Math.max(capacity, endTimes.length + (endTimes.length >> 1)));
+            }
+        }
+    }
+
+    /**
+     * Moves the retained bars at the beginning of (new) arrays.
+     * @param capacity the capacity of the arrays
+     */
+    private void compact(int capacity) {
+        endTimes = move(endTimes, capacity);
+        timePeriods = move(timePeriods, capacity);
+        openPrices = move(openPrices, capacity);
+        maxPrices = move(maxPrices, capacity);
+        minPrices = move(minPrices, capacity);
+        closePrices = move(closePrices, capacity);
+        volumes = move(volumes, capacity);
+        amounts = move(amounts, capacity);
+        trades = move(trades, capacity);
+        offset = 0;
+    }
+
+    private long[] move(long[] array, int capacity) {
+        long[] target = capacity == array.length ? array : new long[capacity];
+        System.arraycopy(array, offset, target, 0, size);
+        return target;
+    }
+
+    private double[] move(double[] array, int capacity) {
+        double[] target = capacity == array.length ? array : new double[capacity];
+        System.arraycopy(array, offset, target, 0, size);
+        return target;
+    }
+
+    private int[] move(int[] array, int capacity) {
+        int[] target = capacity == array.length ? array : new int[capacity];
+        System.arraycopy(array, offset, target, 0, size);
+        return target;
+    }
+
+    /**
+     * @param index a bar index
+     * @return the position of the bar in the arrays
+     */
+    private int positionOf(int index) {
+        int innerIndex = index - removedBarsCount;
+        if (innerIndex < 0 || innerIndex >= size) {
+            throw new IndexOutOfBoundsException(buildOutOfBoundsMessage(index));
+        }
+        return offset + innerIndex;
+    }
+
+    /**
+     * @param value a double value (NaN if not set)
+     * @param decimalMode the numeric representation of the decimals
+     * @return the decimal version of the value, null if NaN
+     */
+    private static Decimal toDecimal(double value, Decimal.Mode decimalMode) {
+        if (Double.isNaN(value)) {
+            return null;
+        }
+        return decimalMode == Decimal.Mode.DOUBLE ? Decimal.doubleValueOf(value) : Decimal.valueOf(value);
+    }
+
+    /**
+     * @param value a decimal value
+     * @return the double version of the value, NaN if null
+     */
+    private static double toDouble(Decimal value) {
+        return value == null ? Double.NaN : value.doubleValue();
+    }
+
+    /**
+     * @param index an out of bounds bar index
+     * @return a message for an OutOfBoundsException
+     */
+    private String buildOutOfBoundsMessage(int index) {
+        return "Size of series: " + size + " bars, "
+                + removedBarsCount + " bars removed, index = " + index;
+    }
+
+    /**
+     * Snapshot {@link Bar bar} of a row of the arrays of the series.
+     * <p>
+     * The values are copied when the bar is created, so that the bar stays readable once evicted from the series.
+     * Trades added to the bar are also added to its row while the bar is in the series.
+     */
+    private static final class ColumnarBar implements Bar {
+
+        private static final long serialVersionUID = 3398544702563374493L;
+
+        /** The series of the bar (not serialized with the bar) */
+        private final transient ColumnarTimeSeries series;
+
+        /** The index of the bar in the series */
+        private final int index;
+
+        private final ZoneId zone;
+
+        private final Decimal.Mode decimalMode;
+
+        private long endTime;
+
+        private long timePeriod;
+
+        private double openPrice;
+
+        private double maxPrice;
+
+        private double minPrice;
+
+        private double closePrice;
+
+        private double volume;
+
+        private double amount;
+
+        private int trades;
+
+        /**
+         * Constructor.
+         * @param series the series of the bar
+         * @param index the index of the bar in the series (retained)
+         */
+        ColumnarBar(ColumnarTimeSeries series, int index) {
+            this.series = series;
+            this.index = index;
+            this.zone = series.zone;
+            this.decimalMode = series.decimalMode;
+            read(series.positionOf(index));
+        }
+
+        /**
+         * Copies the values of a row of the series.
+         * @param position the position of the row in the arrays
+         */
+        private void read(int position) {
+            endTime = series.endTimes[position];
+            timePeriod = series.timePeriods[position];
+            openPrice = series.openPrices[position];
+            maxPrice = series.maxPrices[position];
+            minPrice = series.minPrices[position];
+            closePrice = series.closePrices[position];
+            volume = series.volumes[position];
+            amount = series.amounts[position];
+            trades = series.trades[position];
+        }
+
+        /**
+         * Copies the (trade) values of the bar to a row of the series.
+         * @param position the position of the row in the arrays
+         */
+        private void write(int position) {
+            series.openPrices[position] = openPrice;
+            series.maxPrices[position] = maxPrice;
+            series.minPrices[position] = minPrice;
+            series.closePrices[position] = closePrice;
+            series.volumes[position] = volume;
+            series.amounts[position] = amount;
+            series.trades[position] = trades;
+        }
+
+        /**
+         * @return true if the bar is still in its series, false otherwise
+         */
+        private boolean isRetained() {
+            if (series == null) {
+                return false;
+            }
+            final int innerIndex = index - series.removedBarsCount;
+            return innerIndex >= 0 && innerIndex < series.size;
+        }
+
+        @Override
+        public Decimal getOpenPrice() {
+            return toDecimal(openPrice, decimalMode);
+        }
+
+        @Override
+        public Decimal getMinPrice() {
+            return toDecimal(minPrice, decimalMode);
+        }
+
+        @Override
+        public Decimal getMaxPrice() {
+            return toDecimal(maxPrice, decimalMode);
+        }
+
+        @Override
+        public Decimal getClosePrice() {
+            return toDecimal(closePrice, decimalMode);
+        }
+
+        @Override
+        public Decimal getVolume() {
+            return toDecimal(volume, decimalMode);
+        }
+
+        @Override
+        public int getTrades() {
+            return trades;
+        }
+
+        @Override
+        public Decimal getAmount() {
+            return toDecimal(amount, decimalMode);
+        }
+
+        @Override
+        public Duration getTimePeriod() {
+            return Duration.ofMillis(timePeriod);
+        }
+
+        @Override
+        public ZonedDateTime getBeginTime() {
+            return ZonedDateTime.ofInstant(Instant.ofEpochMilli(endTime - timePeriod), zone);
+        }
+
+        @Override
+        public ZonedDateTime getEndTime() {
+            return ZonedDateTime.ofInstant(Instant.ofEpochMilli(endTime), zone);
+        }
+
+        @Override
+        public long getBeginTimeEpochMilli() {
+            return endTime - timePeriod;
+        }
+
+        @Override
+        public long getEndTimeEpochMilli() {
+            return endTime;
+        }
+
+        @Override
+        public void addTrade(double tradeVolume, double tradePrice) {
+            final boolean retained = isRetained();
+            if (retained) {
+                // The row may have been updated through another bar of the same index
+                read(series.positionOf(index));
+            }
+            if (Double.isNaN(openPrice)) {
+                openPrice = tradePrice;
+            }
+            closePrice = tradePrice;
+            if (Double.isNaN(maxPrice) || maxPrice < tradePrice) {
+                maxPrice = tradePrice;
+            }
+            if (Double.isNaN(minPrice) || minPrice > tradePrice) {
+                minPrice = tradePrice;
+            }
+            volume += tradeVolume;
+            amount += tradeVolume * tradePrice;
+            trades++;
+            if (retained) {
+                write(series.positionOf(index));
+            }
+        }
+
+        @Override
+        public void addTrade(Decimal tradeVolume, Decimal tradePrice) {
+            addTrade(tradeVolume.doubleValue(), tradePrice.doubleValue());
+        }
+
+        @Override
+        public String toString() {
+            return String.format("{end time: %1s, close price: %2$f, open price: %3$f, min price: %4$f, max price: %5$f, volume: %6$f}",
+                    getEndTime(), closePrice, openPrice, minPrice, maxPrice, volume);
+        }
+    }
+}
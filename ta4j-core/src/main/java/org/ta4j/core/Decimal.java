@@ -32,6 +32,11 @@ import java.util.Objects;
  * Immutable, arbitrary-precision signed decimal numbers designed for technical analysis.
  * <p>
  * A {@code Decimal} consists of a {@code BigDecimal} with arbitrary {@link MathContext} (precision and rounding mode).
+ * <p>
+ * A {@code Decimal} may also be double-backed (see {@link #doubleValueOf(double)}): it then holds a primitive
+ * {@code double} and its operations are computed with plain floating-point arithmetic. As soon as one of the
+ * operands of an operation is double-backed, the result is double-backed too. It allows to run a whole
+ * indicator/rule/criterion graph on doubles when exactness is not needed (see {@link Mode}).
  *
  * @see BigDecimal
  * @see MathContext
@@ -56,14 +61,46 @@ public final class Decimal
     public static final Decimal HUNDRED = valueOf(100);
     public static final Decimal THOUSAND = valueOf(1000);
 
+    /**
+     * Numeric representation of the {@link Decimal decimals} of a {@link TimeSeries time series}.
+     */
+    public enum Mode {
+
+        /** Arbitrary-precision decimals backed by a {@link BigDecimal} (default) */
+        BIG_DECIMAL {
+            @Override
+            public Decimal of(Number val) {
+                return Decimal.valueOf(val);
+            }
+        },
+
+        /** Double-backed decimals: faster and allocation-light, but subject to floating-point rounding */
+        DOUBLE {
+            @Override
+            public Decimal of(Number val) {
+                return Decimal.doubleValueOf(val);
+            }
+        };
+
+        /**
+         * @param val the number
+         * @return the {@code Decimal} version of the number in this mode
+         */
+        public abstract Decimal of(Number val);
+    }
+
+    /** The BigDecimal delegate (null for NaN and double-backed instances) */
     private final BigDecimal delegate;
 
+    /** The primitive value of a double-backed instance */
+    private final double primitive;
+
     /**
      * Constructor.
      * Only used for NaN instance.
      */
     private Decimal() {
-        delegate = null;
+        this(null, Double.NaN);
     }
 
     /**
@@ -71,41 +108,62 @@ public final class Decimal
      * @param val the string representation of the decimal value
      */
     private Decimal(String val) {
-        delegate = new BigDecimal(val, MATH_CONTEXT);
+        this(new BigDecimal(val, MATH_CONTEXT));
     }
 
     private Decimal(short val) {
-        delegate = new BigDecimal(val, MATH_CONTEXT);
+        this(new BigDecimal(val, MATH_CONTEXT));
     }
 
     private Decimal(int val) {
-        delegate = BigDecimal.valueOf(val);
+        this(BigDecimal.valueOf(val));
     }
 
     private Decimal(long val) {
-        delegate = BigDecimal.valueOf(val);
+        this(BigDecimal.valueOf(val));
     }
 
     private Decimal(float val) {
-        delegate = new BigDecimal(val, MATH_CONTEXT);
+        this(new BigDecimal(val, MATH_CONTEXT));
     }
 
     private Decimal(double val) {
-        delegate = BigDecimal.valueOf(val);
+        this(BigDecimal.valueOf(val));
     }
 
     private Decimal(BigDecimal val) {
-        delegate = Objects.requireNonNull(val);
+        this(Objects.requireNonNull(val), 0d);
+    }
+
+    /**
+     * Constructor.
+     * @param delegate the BigDecimal delegate (null for a double-backed instance)
+     * @param primitive the primitive value (only used for a double-backed instance)
+     */
+    private Decimal(BigDecimal delegate, double primitive) {
+        this.delegate = delegate;
+        this.primitive = primitive;
     }
 
     /**
      * Returns the underlying {@link BigDecimal} delegate
-     * @return BigDecimal delegate instance of this instance
+     * @return BigDecimal delegate instance of this instance (a new BigDecimal for a double-backed instance)
      */
     public BigDecimal getDelegate(){
+        if (isDoubleBacked()) {
+            return BigDecimal.valueOf(primitive);
+        }
         return delegate;
     }
 
+    /**
+     * Checks if the value is double-backed.
+     * @return true if the value is backed by a primitive double, false otherwise (BigDecimal-backed or NaN)
+     */
+    public boolean isDoubleBacked() {
+        return delegate == null && this != NaN;
+    }
+
     /**
      * Returns a {@code Decimal} whose value is {@code (this + augend)},
      * with rounding according to the context settings.
@@ -117,7 +175,11 @@ public final class Decimal
         if ((this == NaN) || (augend == NaN)) {
             return NaN;
         }
-        return new Decimal(delegate.add(Decimal.valueOf(augend).delegate, MATH_CONTEXT));
+        Decimal other = Decimal.valueOf(augend);
+        if (delegate == null || other.delegate == null) {
+            return doubleValueOf(doubleValue() + other.doubleValue());
+        }
+        return new Decimal(delegate.add(other.delegate, MATH_CONTEXT));
     }
 
     /**
@@ -131,7 +193,11 @@ public final class Decimal
         if ((this == NaN) || (subtrahend == NaN)) {
             return NaN;
         }
-        return new Decimal(delegate.subtract(Decimal.valueOf(subtrahend).delegate, MATH_CONTEXT));
+        Decimal other = Decimal.valueOf(subtrahend);
+        if (delegate == null || other.delegate == null) {
+            return doubleValueOf(doubleValue() - other.doubleValue());
+        }
+        return new Decimal(delegate.subtract(other.delegate, MATH_CONTEXT));
     }
 
     /**
@@ -145,7 +211,11 @@ public final class Decimal
         if ((this == NaN) || (multiplicand == NaN)) {
             return NaN;
         }
-        return new Decimal(delegate.multiply(Decimal.valueOf(multiplicand).delegate, MATH_CONTEXT));
+        Decimal other = Decimal.valueOf(multiplicand);
+        if (delegate == null || other.delegate == null) {
+            return doubleValueOf(doubleValue() * other.doubleValue());
+        }
+        return new Decimal(delegate.multiply(other.delegate, MATH_CONTEXT));
     }
 
     /**
@@ -159,7 +229,11 @@ public final class Decimal
         if ((this == NaN) || (divisor == NaN) || Decimal.valueOf(divisor).isZero()) {
             return NaN;
         }
-        return new Decimal(delegate.divide(Decimal.valueOf(divisor).delegate, MATH_CONTEXT));
+        Decimal other = Decimal.valueOf(divisor);
+        if (delegate == null || other.delegate == null) {
+            return doubleValueOf(doubleValue() / other.doubleValue());
+        }
+        return new Decimal(delegate.divide(other.delegate, MATH_CONTEXT));
     }
 
     /**
@@ -173,7 +247,11 @@ public final class Decimal
         if ((this == NaN) || (divisor == NaN) || Decimal.valueOf(divisor).isZero()) {
             return NaN;
         }
-        return new Decimal(delegate.remainder(Decimal.valueOf(divisor).delegate, MATH_CONTEXT));
+        Decimal other = Decimal.valueOf(divisor);
+        if (delegate == null || other.delegate == null) {
+            return doubleValueOf(doubleValue() % other.doubleValue());
+        }
+        return new Decimal(delegate.remainder(other.delegate, MATH_CONTEXT));
     }
 
     /**
@@ -184,6 +262,9 @@ public final class Decimal
         if (this == NaN) {
             return NaN;
         }
+        if (delegate == null) {
+            return doubleValueOf(Math.floor(primitive));
+        }
         return new Decimal(delegate.setScale(0, RoundingMode.FLOOR));
     }
 
@@ -195,6 +276,9 @@ public final class Decimal
         if (this == NaN) {
             return NaN;
         }
+        if (delegate == null) {
+            return doubleValueOf(Math.ceil(primitive));
+        }
         return new Decimal(delegate.setScale(0, RoundingMode.CEILING));
     }
 
@@ -208,6 +292,9 @@ public final class Decimal
         if (this == NaN) {
             return NaN;
         }
+        if (delegate == null) {
+            return doubleValueOf(Math.pow(primitive, n));
+        }
         return new Decimal(delegate.pow(n, MATH_CONTEXT));
     }
 
@@ -221,6 +308,9 @@ public final class Decimal
         if (this == NaN) {
             return NaN;
         }
+        if (delegate == null) {
+            return doubleValueOf(StrictMath.sqrt(primitive));
+        }
         return new Decimal(StrictMath.sqrt(delegate.doubleValue()));
     }
 
@@ -233,6 +323,9 @@ public final class Decimal
         if (this == NaN) {
             return NaN;
         }
+        if (delegate == null) {
+            return doubleValueOf(Math.abs(primitive));
+        }
         return new Decimal(delegate.abs());
     }
 
@@ -359,12 +452,23 @@ public final class Decimal
         return compareTo(Decimal.valueOf(other)) < 1;
     }
 
+    /**
+     * {@inheritDoc}
+     * If one of the values is double-backed, their {@code double} values are compared. This ordering is then not
+     * consistent with {@link #equals(Object)}, which compares exact values.
+     */
     @Override
     public int compareTo(Number other) {
         if ((this == NaN) || (other == NaN)) {
             return 0;
         }
-        return delegate.compareTo(Decimal.valueOf(other).delegate);
+        Decimal otherDecimal = Decimal.valueOf(other);
+        if (delegate == null || otherDecimal.delegate == null) {
+            double thisValue = doubleValue();
+            double otherValue = otherDecimal.doubleValue();
+            return thisValue < otherValue ? -1 : (thisValue > otherValue ? 1 : 0);
+        }
+        return delegate.compareTo(otherDecimal.delegate);
     }
 
     /**
@@ -406,6 +510,9 @@ public final class Decimal
         if (this == NaN) {
             return 0;
         }
+        if (delegate == null) {
+            return (short) primitive;
+        }
         return delegate.shortValue();
     }
 
@@ -418,6 +525,9 @@ public final class Decimal
         if (this == NaN) {
             return 0;
         }
+        if (delegate == null) {
+            return (int) primitive;
+        }
         return delegate.intValue();
     }
 
@@ -430,6 +540,9 @@ public final class Decimal
         if (this == NaN) {
             return 0;
         }
+        if (delegate == null) {
+            return (long) primitive;
+        }
         return delegate.longValue();
     }
 
@@ -442,6 +555,9 @@ public final class Decimal
         if (this == NaN) {
             return Float.NaN;
         }
+        if (delegate == null) {
+            return (float) primitive;
+        }
         return delegate.floatValue();
     }
 
@@ -454,6 +570,9 @@ public final class Decimal
         if (this == NaN) {
             return Double.NaN;
         }
+        if (delegate == null) {
+            return primitive;
+        }
         return delegate.doubleValue();
     }
 
@@ -470,16 +589,28 @@ public final class Decimal
         if (this == NaN) {
             return "NaN";
         }
+        if (delegate == null) {
+            return Double.toString(primitive);
+        }
         return delegate.toString();
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(delegate);
+        if (this == NaN) {
+            return 0;
+        }
+        // Consistent with equals: equal values have the same double value (the scale of the delegate is
+        // ignored) and adding 0.0 turns -0.0 into 0.0
+        return Double.hashCode(doubleValue() + 0.0);
     }
 
     /**
      * {@inheritDoc}
+     * Two {@code Decimal}s are equal if they have the same exact value, whatever their scale and whether they
+     * are double-backed or not (e.g. a double-backed {@code 0.1} is not equal to a BigDecimal-backed {@code 0.1},
+     * as the {@code double} closest to 0.1 is not exactly 0.1). Unlike {@link #compareTo(Number)}, which
+     * compares the {@code double} values of mixed operands, this relation is transitive.
      * Warning: This method returns true if `this` and `obj` are both NaN.
      */
     @Override
@@ -491,8 +622,27 @@ public final class Decimal
             return false;
         }
         final Decimal other = (Decimal) obj;
-        return this.delegate == other.delegate
-                || (this.delegate != null && (this.delegate.compareTo(other.delegate) == 0));
+        if (this == NaN || other == NaN) {
+            return this == other;
+        }
+        if (this.delegate == null && other.delegate == null) {
+            return this.primitive == other.primitive;
+        }
+        if (this.delegate == null || other.delegate == null) {
+            // Rounding to double is monotonic: different double values mean different exact values
+            if (this.doubleValue() != other.doubleValue()) {
+                return false;
+            }
+            return exactValue().compareTo(other.exactValue()) == 0;
+        }
+        return this.delegate.compareTo(other.delegate) == 0;
+    }
+
+    /**
+     * @return the exact value of this instance (for a double-backed instance, the exact binary value of its primitive)
+     */
+    private BigDecimal exactValue() {
+        return delegate == null ? new BigDecimal(primitive) : delegate;
     }
 
     /**
@@ -577,6 +727,33 @@ public final class Decimal
      * @return the {@code Decimal}
      */
     public static Decimal valueOf(Number val) {
+        if (val instanceof Decimal) {
+            return (Decimal) val;
+        }
         return new Decimal(val.toString());
     }
+
+    /**
+     * Returns a double-backed {@code Decimal} version of the given {@code double}.
+     * @param val the number
+     * @return the {@code Decimal} (NaN if the number is NaN or infinite)
+     */
+    public static Decimal doubleValueOf(double val) {
+        if (Double.isNaN(val) || Double.isInfinite(val)) {
+            return Decimal.NaN;
+        }
+        return new Decimal(null, val);
+    }
+
+    /**
+     * Returns a double-backed {@code Decimal} version of the given {@code Number}.
+     * @param val the number
+     * @return the {@code Decimal}
+     */
+    public static Decimal doubleValueOf(Number val) {
+        if (val == NaN) {
+            return Decimal.NaN;
+        }
+        return doubleValueOf(val.doubleValue());
+    }
 }
\ No newline at end of file
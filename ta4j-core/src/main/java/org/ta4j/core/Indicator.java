@@ -39,6 +39,22 @@ public interface Indicator<T> extends Serializable {
      */
     T getValue(int index);
 
+    /**
+     * Copies the values of the indicator between two indexes into an array.
+     * <p>
+     * Indicators may override it with a batch calculation (e.g. a loop over the values of their
+     * sub-indicators, see {@link org.ta4j.core.indicators.CachedIndicator#calculateValues(int, int, Object[])}).
+     * The default implementation calls {@link #getValue(int)} for each index.
+     * @param startIndex the first bar index (inclusive)
+     * @param endIndex the last bar index (exclusive)
+     * @param target the array receiving the values from position 0 (its length must be at least endIndex - startIndex)
+     */
+    default void getValues(int startIndex, int endIndex, T[] target) {
+        for (int i = startIndex; i < endIndex; i++) {
+            target[i - startIndex] = getValue(i);
+        }
+    }
+
 	/**
 	 * @return the related time series
 	 */
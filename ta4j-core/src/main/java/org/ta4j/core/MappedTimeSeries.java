@@ -0,0 +1,590 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Read-only {@link TimeSeries} backed by a memory-mapped binary bar file.
+ * <p></p>
+ * Bar files are written by {@link #write(TimeSeries, Path)}. They hold a 64-byte header (magic number, format
+ * version, bar count and zone of the bar timestamps) followed by fixed-size little-endian bar records:
+ * end time and time period (epoch milliseconds), open, max, min and close prices, volume, amount (doubles,
+ * NaN if not set) and trade count.
+ * <p>
+ * Opening a series only maps the file: the bars are paged in lazily by the operating system when they are read,
+ * so that huge histories open instantly, and the pages are shared by all the processes mapping the same file.
+ * Files are mapped by segments of {@value #BARS_PER_SEGMENT} bars, so their size is not limited to 2 GB.
+ * <p>
+ * Like the {@link ColumnarTimeSeries columnar series}, the series is double-backed by default
+ * (see {@link Decimal.Mode}), and the bars returned by {@link #getBar(int)} are lightweight views over the file.
+ * Bars cannot be added to the series; sub-series are views over the same mapping.
+ */
+public class MappedTimeSeries implements TimeSeries {
+
+    private static final long serialVersionUID = 2213846526385069213L;
+    /** Magic number of the bar files ("TA4J") */
+    private static final int MAGIC_NUMBER = 0x5441344A;
+    /** Version of the bar file format */
+    private static final int FORMAT_VERSION = 1;
+    /** Size of the file header (bytes) */
+    private static final int HEADER_SIZE = 64;
+    /** Position of the zone id in the header */
+    private static final int ZONE_ID_POSITION = 20;
+    /** Size of a bar record (bytes) */
+    private static final int RECORD_SIZE = 72;
+    /** Number of bars mapped per segment (power of 2) */
+    private static final int BARS_PER_SEGMENT = 1 << 24;
+    /** Number of records buffered per write */
+    private static final int WRITE_BUFFER_BARS = 4096;
+
+    // Positions of the fields in a bar record
+    private static final int END_TIME = 0;
+    private static final int TIME_PERIOD = 8;
+    private static final int OPEN_PRICE = 16;
+    private static final int MAX_PRICE = 24;
+    private static final int MIN_PRICE = 32;
+    private static final int CLOSE_PRICE = 40;
+    private static final int VOLUME = 48;
+    private static final int AMOUNT = 56;
+    private static final int TRADES = 64;
+
+    /** Name of the series */
+    private final String name;
+    /** Path of the bar file */
+    private final String path;
+    /** Zone of the bar timestamps */
+    private final ZoneId zone;
+    /** Numeric representation of the decimals of the series */
+    private final Decimal.Mode decimalMode;
+    /** Position of the first bar of the series in the file */
+    private final long firstBar;
+    /** Number of bars of the series */
+    private final int size;
+    /** True if the cached indicators built on this series may be accessed concurrently, false otherwise */
+    private volatile boolean concurrentIndicatorCache = false;
+    /** Mapped segments of the file (remapped after deserialization) */
+    private transient ByteBuffer[] segments;
+    /** Maximum number of bars for the time series */
+    private int maximumBarCount = Integer.MAX_VALUE;
+    /** Number of removed bars */
+    private int removedBarsCount = 0;
+
+    /**
+     * Constructor of a double-backed series.
+     * @param path the path of a bar file
+     * @throws UncheckedIOException if the file cannot be mapped
+     * @throws IllegalArgumentException if the file is not a bar file
+     */
+    public MappedTimeSeries(Path path) {
+        this(path, Decimal.Mode.DOUBLE);
+    }
+
+    /**
+     * Constructor.
+     * @param path the path of a bar file
+     * @param decimalMode the numeric representation of the decimals of the series
+     * @throws UncheckedIOException if the file cannot be mapped
+     * @throws IllegalArgumentException if the file is not a bar file
+     */
+    public MappedTimeSeries(Path path, Decimal.Mode decimalMode) {
+        this.name = String.valueOf(path.getFileName());
+        this.path = path.toAbsolutePath().toString();
+        this.decimalMode = Objects.requireNonNull(decimalMode);
+        this.firstBar = 0;
+        final ByteBuffer header = readHeader(path);
+        this.size = (int) header.getLong(8);
+        final byte[] zoneId = new byte[header.getInt(16)];
+        header.position(ZONE_ID_POSITION);
+        header.get(zoneId);
+        this.zone = ZoneId.of(new String(zoneId, StandardCharsets.US_ASCII));
+        this.segments = map(path, size);
+    }
+
+    /**
+     * Constructor of a sub-series view.
+     * @param parent the parent series
+     * @param firstBar the position of the first bar of the sub-series in the file
+     * @param size the number of bars of the sub-series
+     */
+    private MappedTimeSeries(MappedTimeSeries parent, long firstBar, int size) {
+        this.name = parent.name;
+        this.path = parent.path;
+        this.zone = parent.zone;
+        this.decimalMode = parent.decimalMode;
+        this.firstBar = firstBar;
+        this.size = size;
+        this.concurrentIndicatorCache = parent.concurrentIndicatorCache;
+        this.segments = parent.segments;
+    }
+
+    /**
+     * Writes the bars of a series to a bar file (replacing it if it exists).
+     * <p>
+     * Values are stored as doubles, times with a millisecond precision. The zone of the timestamps is the one
+     * of the first bar.
+     * <p>
+     * The bars are written to a temporary file of the same directory, which then atomically replaces the bar
+     * file: the series already mapping the replaced file (e.g. in other processes) keep reading its bars, and
+     * no series ever maps a partially written file.
+     * @param series the series to be written
+     * @param path the path of the bar file
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    public static void write(TimeSeries series, Path path) {
+        final int beginIndex = Math.max(series.getBeginIndex(), series.getRemovedBarsCount());
+        final int barCount = series.getEndIndex() < 0 ? 0 : series.getEndIndex() - beginIndex + 1;
+        final ZoneId zone = barCount == 0 ? ZoneId.systemDefault() : series.getBar(beginIndex).getEndTime().getZone();
+        final byte[] zoneId = zone.getId().getBytes(StandardCharsets.US_ASCII);
+        if (zoneId.length > HEADER_SIZE - ZONE_ID_POSITION) {
+            throw new IllegalArgumentException("Zone id too long: " + zone.getId());
+        }
+        final Path directory = path.toAbsolutePath().getParent();
+        Path temporaryFile = null;
+        try {
+            temporaryFile = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+            writeBars(series, beginIndex, barCount, zoneId, temporaryFile);
+            Files.move(temporaryFile, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException ioe) {
+            throw new UncheckedIOException("Unable to write bars to " + path, ioe);
+        } finally {
+            if (temporaryFile != null) {
+                try {
+                    Files.deleteIfExists(temporaryFile);
+                } catch (IOException ignored) {
+                    // The write failure (if any) is more relevant
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the bars of a series to a file and forces them to the storage device.
+     * @param series the series to be written
+     * @param beginIndex the index of the first bar to be written
+     * @param barCount the number of bars to be written
+     * @param zoneId the zone id of the timestamps (US-ASCII)
+     * @param file the file (truncated)
+     * @throws IOException if the file cannot be written
+     */
+    private static void writeBars(TimeSeries series, int beginIndex, int barCount, byte[] zoneId, Path file)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC_NUMBER).putInt(FORMAT_VERSION).putLong(barCount).putInt(zoneId.length).put(zoneId);
+            header.clear();
+            writeFully(channel, header);
+
+            final ByteBuffer records = ByteBuffer.allocate(WRITE_BUFFER_BARS * RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            for (int i = beginIndex; i < beginIndex + barCount; i++) {
+                final Bar bar = series.getBar(i);
+                records.putLong(bar.getEndTimeEpochMilli())
+                        .putLong(bar.getTimePeriod().toMillis())
+                        .putDouble(toDouble(bar.getOpenPrice()))
+                        .putDouble(toDouble(bar.getMaxPrice()))
+                        .putDouble(toDouble(bar.getMinPrice()))
+                        .putDouble(toDouble(bar.getClosePrice()))
+                        .putDouble(toDouble(bar.getVolume()))
+                        .putDouble(toDouble(bar.getAmount()))
+                        .putInt(bar.getTrades())
+                        .putInt(0);
+                if (!records.hasRemaining()) {
+                    records.flip();
+                    writeFully(channel, records);
+                    records.clear();
+                }
+            }
+            records.flip();
+            writeFully(channel, records);
+            channel.force(true);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the path of the bar file
+     */
+    public Path getPath() {
+        return Paths.get(path);
+    }
+
+    /**
+     * @return the zone of the bar timestamps
+     */
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    @Override
+    public Decimal.Mode getDecimalMode() {
+        return decimalMode;
+    }
+
+    @Override
+    public boolean isConcurrentIndicatorCache() {
+        return concurrentIndicatorCache;
+    }
+
+    @Override
+    public void setConcurrentIndicatorCache(boolean concurrentIndicatorCache) {
+        this.concurrentIndicatorCache = concurrentIndicatorCache;
+    }
+
+    @Override
+    public Bar getBar(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException(buildOutOfBoundsMessage(i));
+        }
+        return new MappedBar(Math.max(i, removedBarsCount));
+    }
+
+    @Override
+    public int getBarCount() {
+        return size - removedBarsCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The returned list is a read-only view of the retained bars.
+     */
+    @Override
+    public List<Bar> getBarData() {
+        return new AbstractList<Bar>() {
+            @Override
+            public Bar get(int index) {
+                if (index < 0 || index >= getBarCount()) {
+                    throw new IndexOutOfBoundsException(buildOutOfBoundsMessage(removedBarsCount + index));
+                }
+                return new MappedBar(removedBarsCount + index);
+            }
+
+            @Override
+            public int size() {
+                return getBarCount();
+            }
+        };
+    }
+
+    @Override
+    public int getBeginIndex() {
+        return size == 0 ? -1 : 0;
+    }
+
+    @Override
+    public int getEndIndex() {
+        return size - 1;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The first bars which exceed the maximum bar count are removed from the series (not from the file).
+     */
+    @Override
+    public void setMaximumBarCount(int maximumBarCount) {
+        if (maximumBarCount <= 0) {
+            throw new IllegalArgumentException("Maximum bar count must be strictly positive");
+        }
+        this.maximumBarCount = maximumBarCount;
+        removedBarsCount = Math.max(removedBarsCount, size - maximumBarCount);
+    }
+
+    @Override
+    public int getMaximumBarCount() {
+        return maximumBarCount;
+    }
+
+    @Override
+    public int getRemovedBarsCount() {
+        return removedBarsCount;
+    }
+
+    /**
+     * Unsupported: mapped series are read-only.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void addBar(Bar bar) {
+        throw new UnsupportedOperationException("Cannot add bars to a mapped time series");
+    }
+
+    /**
+     * Unsupported: mapped series are read-only.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void addBar(ZonedDateTime endTime, Number openPrice, Number highPrice, Number lowPrice, Number closePrice, Number volume) {
+        throw new UnsupportedOperationException("Cannot add bars to a mapped time series");
+    }
+
+    /**
+     * {@inheritDoc}
+     * The sub-series is a view over the same mapping (no bar is copied).
+     */
+    @Override
+    public TimeSeries getSubSeries(int startIndex, int endIndex) {
+        if (startIndex > endIndex) {
+            throw new IllegalArgumentException
+                    (String.format("the endIndex: %s must be bigger than startIndex: %s", endIndex, startIndex));
+        }
+        final int start = Math.max(startIndex, removedBarsCount);
+        final int end = Math.min(endIndex, size);
+        return new MappedTimeSeries(this, firstBar + start, Math.max(0, end - start));
+    }
+
+    /**
+     * @param position the position of a bar in the file
+     * @param field the position of a field in a bar record
+     * @return the position of the field of the bar in its segment
+     */
+    private int positionOf(long position, int field) {
+        return (int) (position & (BARS_PER_SEGMENT - 1)) * RECORD_SIZE + field;
+    }
+
+    /**
+     * @param position the position of a bar in the file
+     * @return the mapped segment holding the bar
+     */
+    private ByteBuffer segmentOf(long position) {
+        return segments[(int) (position >>> Integer.numberOfTrailingZeros(BARS_PER_SEGMENT))];
+    }
+
+    private double getDouble(int index, int field) {
+        final long position = firstBar + index;
+        return segmentOf(position).getDouble(positionOf(position, field));
+    }
+
+    private long getLong(int index, int field) {
+        final long position = firstBar + index;
+        return segmentOf(position).getLong(positionOf(position, field));
+    }
+
+    private int getInt(int index, int field) {
+        final long position = firstBar + index;
+        return segmentOf(position).getInt(positionOf(position, field));
+    }
+
+    /**
+     * @param value a double value (NaN if not set)
+     * @return the decimal version of the value, null if NaN
+     */
+    private Decimal toDecimal(double value) {
+        if (Double.isNaN(value)) {
+            return null;
+        }
+        return decimalMode == Decimal.Mode.DOUBLE ? Decimal.doubleValueOf(value) : Decimal.valueOf(value);
+    }
+
+    /**
+     * @param value a decimal value
+     * @return the double version of the value, NaN if null
+     */
+    private static double toDouble(Decimal value) {
+        return value == null ? Double.NaN : value.doubleValue();
+    }
+
+    /**
+     * @param index an out of bounds bar index
+     * @return a message for an OutOfBoundsException
+     */
+    private String buildOutOfBoundsMessage(int index) {
+        return "Size of series: " + size + " bars, "
+                + removedBarsCount + " bars removed, index = " + index;
+    }
+
+    /**
+     * Reads and checks the header of a bar file.
+     * @param path the path of the bar file
+     * @return the header
+     */
+    private static ByteBuffer readHeader(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // Reading the whole header
+            }
+            if (header.hasRemaining() || header.getInt(0) != MAGIC_NUMBER) {
+                throw new IllegalArgumentException(path + " is not a bar file");
+            }
+            if (header.getInt(4) != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unsupported bar file version: " + header.getInt(4));
+            }
+            final long barCount = header.getLong(8);
+            if (barCount < 0 || barCount > Integer.MAX_VALUE
+                    || channel.size() < HEADER_SIZE + barCount * RECORD_SIZE) {
+                throw new IllegalArgumentException("Truncated bar file: " + path);
+            }
+            return header;
+        } catch (IOException ioe) {
+            throw new UncheckedIOException("Unable to read bars from " + path, ioe);
+        }
+    }
+
+    /**
+     * Maps the bar records of a file.
+     * @param path the path of the bar file
+     * @param barCount the number of bars of the file
+     * @return the mapped segments of the file
+     */
+    private static ByteBuffer[] map(Path path, int barCount) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final ByteBuffer[] mappedSegments = new ByteBuffer[(int) (((long) barCount + BARS_PER_SEGMENT - 1) / BARS_PER_SEGMENT)];
+            for (int i = 0; i < mappedSegments.length; i++) {
+                final long segmentBars = Math.min(BARS_PER_SEGMENT, barCount - (long) i * BARS_PER_SEGMENT);
+                final MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY,
+                        HEADER_SIZE + (long) i * BARS_PER_SEGMENT * RECORD_SIZE, segmentBars * RECORD_SIZE);
+                mappedSegments[i] = segment.order(ByteOrder.LITTLE_ENDIAN);
+            }
+            // The mapping remains valid after the channel is closed
+            return mappedSegments;
+        } catch (IOException ioe) {
+            throw new UncheckedIOException("Unable to map bars from " + path, ioe);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        final Path file = Paths.get(path);
+        segments = map(file, (int) readHeader(file).getLong(8));
+    }
+
+    /**
+     * Flyweight {@link Bar bar} view over the mapped file.
+     */
+    private class MappedBar implements Bar {
+
+        private static final long serialVersionUID = -1805617339634520712L;
+
+        /** The index of the bar in the series */
+        private final int index;
+
+        MappedBar(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public Decimal getOpenPrice() {
+            return toDecimal(getDouble(index, OPEN_PRICE));
+        }
+
+        @Override
+        public Decimal getMinPrice() {
+            return toDecimal(getDouble(index, MIN_PRICE));
+        }
+
+        @Override
+        public Decimal getMaxPrice() {
+            return toDecimal(getDouble(index, MAX_PRICE));
+        }
+
+        @Override
+        public Decimal getClosePrice() {
+            return toDecimal(getDouble(index, CLOSE_PRICE));
+        }
+
+        @Override
+        public Decimal getVolume() {
+            return toDecimal(getDouble(index, VOLUME));
+        }
+
+        @Override
+        public int getTrades() {
+            return getInt(index, TRADES);
+        }
+
+        @Override
+        public Decimal getAmount() {
+            return toDecimal(getDouble(index, AMOUNT));
+        }
+
+        @Override
+        public Duration getTimePeriod() {
+            return Duration.ofMillis(getLong(index, TIME_PERIOD));
+        }
+
+        @Override
+        public ZonedDateTime getBeginTime() {
+            return ZonedDateTime.ofInstant(Instant.ofEpochMilli(getLong(index, END_TIME) - getLong(index, TIME_PERIOD)), zone);
+        }
+
+        @Override
+        public ZonedDateTime getEndTime() {
+            return ZonedDateTime.ofInstant(Instant.ofEpochMilli(getLong(index, END_TIME)), zone);
+        }
+
+        @Override
+        public long getBeginTimeEpochMilli() {
+            return getLong(index, END_TIME) - getLong(index, TIME_PERIOD);
+        }
+
+        @Override
+        public long getEndTimeEpochMilli() {
+            return getLong(index, END_TIME);
+        }
+
+        /**
+         * Unsupported: mapped bars are read-only.
+         * @throws UnsupportedOperationException always
+         */
+        @Override
+        public void addTrade(Decimal tradeVolume, Decimal tradePrice) {
+            throw new UnsupportedOperationException("Cannot add trades to a mapped bar");
+        }
+
+        @Override
+        public String toString() {
+            return String.format("{end time: %1s, close price: %2$f, open price: %3$f, min price: %4$f, max price: %5$f, volume: %6$f}",
+                    getEndTime(), getDouble(index, CLOSE_PRICE), getDouble(index, OPEN_PRICE),
+                    getDouble(index, MIN_PRICE), getDouble(index, MAX_PRICE), getDouble(index, VOLUME));
+        }
+    }
+}
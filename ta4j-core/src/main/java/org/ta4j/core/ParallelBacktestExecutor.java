@@ -0,0 +1,232 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.ta4j.core.Order.OrderType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+
+/**
+ * A parallel executor of backtests.
+ * <p></p>
+ * Runs several {@link Strategy trading strategies} concurrently (on a {@link ForkJoinPool}) over a
+ * {@link TimeSeries time series}. The results are returned in the order of the provided strategies,
+ * so that they do not depend on the scheduling of the runs.
+ * <p>
+ * Thread confinement: by default the results of the indicators are cached by non thread-safe caches. Strategies
+ * run concurrently must not share indicators (neither directly nor through their sub-indicators). The simplest
+ * way to ensure it is to provide strategy factories (see {@link #runFactories(List, AnalysisCriterion)}):
+ * each strategy (and its indicators) is then built by the task which runs it. Strategies may share indicators
+ * if the concurrent indicator cache of the series is enabled (see {@link TimeSeries#setConcurrentIndicatorCache(boolean)}).<br>
+ * The time series must not be modified during a run.
+ */
+public class ParallelBacktestExecutor {
+
+    /**
+     * The result of the backtest of a strategy.
+     */
+    public static final class Result {
+
+        private final Strategy strategy;
+
+        private final TradingRecord tradingRecord;
+
+        private final double criterionValue;
+
+        private Result(Strategy strategy, TradingRecord tradingRecord, double criterionValue) {
+            this.strategy = strategy;
+            this.tradingRecord = tradingRecord;
+            this.criterionValue = criterionValue;
+        }
+
+        /**
+         * @return the backtested strategy
+         */
+        public Strategy getStrategy() {
+            return strategy;
+        }
+
+        /**
+         * @return the trading record coming from the run
+         */
+        public TradingRecord getTradingRecord() {
+            return tradingRecord;
+        }
+
+        /**
+         * @return the value of the analysis criterion for the trading record (NaN if no criterion was provided)
+         */
+        public double getCriterionValue() {
+            return criterionValue;
+        }
+    }
+
+    /** The logger */
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    /** The time series */
+    private final TimeSeries timeSeries;
+
+    /** The pool running the backtests */
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructor.
+     * (using the common pool)
+     * @param timeSeries the time series
+     */
+    public ParallelBacktestExecutor(TimeSeries timeSeries) {
+        this(timeSeries, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor.
+     * @param timeSeries the time series
+     * @param pool the pool running the backtests
+     */
+    public ParallelBacktestExecutor(TimeSeries timeSeries, ForkJoinPool pool) {
+        this.timeSeries = timeSeries;
+        this.pool = pool;
+    }
+
+    /**
+     * @return the time series
+     */
+    public TimeSeries getTimeSeries() {
+        return timeSeries;
+    }
+
+    /**
+     * Runs the provided strategies over the series.
+     * <p>
+     * Opens the trades with {@link OrderType} BUY orders.
+     * @param strategies the trading strategies (which must not share indicators)
+     * @return the trading records coming from the runs (in the order of the strategies)
+     */
+    public List<TradingRecord> run(List<Strategy> strategies) {
+        List<Result> results = run(strategies, OrderType.BUY, null);
+        List<TradingRecord> tradingRecords = new ArrayList<>(results.size());
+        for (Result result : results) {
+            tradingRecords.add(result.getTradingRecord());
+        }
+        return tradingRecords;
+    }
+
+    /**
+     * Runs the provided strategies over the series.
+     * <p>
+     * Opens the trades with {@link OrderType} BUY orders.
+     * @param strategies the trading strategies (which must not share indicators)
+     * @param criterion the analysis criterion to be calculated for each run (may be null)
+     * @return the results of the runs (in the order of the strategies)
+     */
+    public List<Result> run(List<Strategy> strategies, AnalysisCriterion criterion) {
+        return run(strategies, OrderType.BUY, criterion);
+    }
+
+    /**
+     * Runs the provided strategies over the series.
+     * @param strategies the trading strategies (which must not share indicators)
+     * @param orderType the {@link OrderType} used to open the trades
+     * @param criterion the analysis criterion to be calculated for each run (may be null)
+     * @return the results of the runs (in the order of the strategies)
+     */
+    public List<Result> run(List<Strategy> strategies, OrderType orderType, AnalysisCriterion criterion) {
+        List<Function<TimeSeries, Strategy>> strategyFactories = new ArrayList<>(strategies.size());
+        for (Strategy strategy : strategies) {
+            strategyFactories.add(series -> strategy);
+        }
+        return runFactories(strategyFactories, orderType, criterion);
+    }
+
+    /**
+     * Builds and runs strategies over the series.
+     * <p>
+     * Opens the trades with {@link OrderType} BUY orders.
+     * @param strategyFactories the factories of the trading strategies (called by the task running the strategy)
+     * @param criterion the analysis criterion to be calculated for each run (may be null)
+     * @return the results of the runs (in the order of the factories)
+     */
+    public List<Result> runFactories(List<Function<TimeSeries, Strategy>> strategyFactories, AnalysisCriterion criterion) {
+        return runFactories(strategyFactories, OrderType.BUY, criterion);
+    }
+
+    /**
+     * Builds and runs strategies over the series.
+     * @param strategyFactories the factories of the trading strategies (called by the task running the strategy)
+     * @param orderType the {@link OrderType} used to open the trades
+     * @param criterion the analysis criterion to be calculated for each run (may be null)
+     * @return the results of the runs (in the order of the factories)
+     */
+    public List<Result> runFactories(List<Function<TimeSeries, Strategy>> strategyFactories, OrderType orderType,
+            AnalysisCriterion criterion) {
+        log.trace("Running {} strategies (starting with {})", strategyFactories.size(), orderType);
+        List<ForkJoinTask<Result>> tasks = new ArrayList<>(strategyFactories.size());
+        for (Function<TimeSeries, Strategy> strategyFactory : strategyFactories) {
+            tasks.add(pool.submit(() -> {
+                Strategy strategy = strategyFactory.apply(timeSeries);
+                TradingRecord tradingRecord = new TimeSeriesManager(timeSeries).run(strategy, orderType);
+                double criterionValue = criterion == null ? Double.NaN : criterion.calculate(timeSeries, tradingRecord);
+                return new Result(strategy, tradingRecord, criterionValue);
+            }));
+        }
+        List<Result> results = new ArrayList<>(tasks.size());
+        for (ForkJoinTask<Result> task : tasks) {
+            results.add(task.join());
+        }
+        return results;
+    }
+
+    /**
+     * Runs the provided strategies concurrently and chooses the best one.
+     * @param strategies the trading strategies (which must not share indicators)
+     * @param criterion the analysis criterion
+     * @return the best strategy (among the provided ones) according to the criterion
+     * @see AnalysisCriterion#chooseBest(TimeSeriesManager, List)
+     */
+    public Strategy chooseBest(List<Strategy> strategies, AnalysisCriterion criterion) {
+        return bestResult(run(strategies, criterion), criterion).getStrategy();
+    }
+
+    /**
+     * @param results the results of runs
+     * @param criterion the analysis criterion of the results
+     * @return the best result according to the criterion (the first one in case of equality)
+     */
+    public static Result bestResult(List<Result> results, AnalysisCriterion criterion) {
+        Result bestResult = results.get(0);
+        for (int i = 1; i < results.size(); i++) {
+            Result currentResult = results.get(i);
+            if (criterion.betterThan(currentResult.getCriterionValue(), bestResult.getCriterionValue())) {
+                bestResult = currentResult;
+            }
+        }
+        return bestResult;
+    }
+}
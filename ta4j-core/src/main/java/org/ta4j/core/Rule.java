@@ -27,6 +27,8 @@ import org.ta4j.core.trading.rules.NotRule;
 import org.ta4j.core.trading.rules.OrRule;
 import org.ta4j.core.trading.rules.XorRule;
 
+import java.util.BitSet;
+
 /**
  * A rule for strategy building.
  * <p></p>
@@ -81,4 +83,35 @@ public interface Rule {
      * @return true if this rule is satisfied for the provided index, false otherwise
      */
     boolean isSatisfied(int index, TradingRecord tradingRecord);
+
+    /**
+     * Tells whether the rule only depends on the bar index, i.e. whether it is satisfied independently of the
+     * trading record and of its previous evaluations (e.g. rules over indicators, unlike a {@link
+     * org.ta4j.core.trading.rules.StopLossRule stop loss} or a {@link org.ta4j.core.trading.rules.JustOnceRule
+     * just-once rule}).
+     * <p>
+     * Stateless rules may be evaluated in advance for a whole range of bars (see
+     * {@link #getSatisfied(int, int, BitSet)}).
+     * @return true if the rule is stateless, false otherwise (default)
+     */
+    default boolean isStateless() {
+        return false;
+    }
+
+    /**
+     * Evaluates the rule, without trading record, for a range of bars (batch version of {@link #isSatisfied(int)}).
+     * <p>
+     * Only relevant for {@link #isStateless() stateless} rules. Rules may override it with a batch evaluation
+     * (e.g. based on {@link Indicator#getValues(int, int, Object[])}).
+     * The default implementation calls {@link #isSatisfied(int)} for each index.
+     * @param startIndex the first bar index (inclusive)
+     * @param endIndex the last bar index (exclusive)
+     * @param satisfied the bit set receiving the results (bit i set if the rule is satisfied for index i,
+     *                  cleared otherwise); the bits out of the range are left unchanged
+     */
+    default void getSatisfied(int startIndex, int endIndex, BitSet satisfied) {
+        for (int i = startIndex; i < endIndex; i++) {
+            satisfied.set(i, isSatisfied(i));
+        }
+    }
 }
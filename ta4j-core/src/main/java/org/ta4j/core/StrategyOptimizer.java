@@ -0,0 +1,423 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.ta4j.core.Order.OrderType;
+import org.ta4j.core.indicators.IndicatorRegistry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.BiFunction;
+
+/**
+ * A parallel optimizer of strategy parameters.
+ * <p></p>
+ * Evaluates (on a {@link ForkJoinPool}) a parameterized strategy for each combination of a
+ * {@link ParameterSpace parameter space} over a {@link TimeSeries time series}, and reports the best
+ * combinations according to an {@link AnalysisCriterion analysis criterion}.
+ * <p>
+ * Strategies are built from an {@link IndicatorRegistry indicator registry}: if the concurrent indicator cache
+ * of the series is enabled (see {@link TimeSeries#setConcurrentIndicatorCache(boolean)}), the registry is shared
+ * by all the combinations, so that indicators with the same parameters (e.g. the close price, or a moving average
+ * used by several combinations) are built and calculated only once. Otherwise each combination gets its own
+ * registry (see the thread confinement rules of {@link ParallelBacktestExecutor}).<br>
+ * The time series must not be modified during an optimization.
+ */
+public class StrategyOptimizer {
+
+    /**
+     * A grid of parameter values.
+     * <p></p>
+     * The combinations are enumerated in the order of the parameters, the last one varying the fastest.
+     */
+    public static final class ParameterSpace {
+
+        private final Map<String, List<Object>> values = new LinkedHashMap<>();
+
+        /**
+         * Adds a parameter.
+         * @param name the name of the parameter
+         * @param parameterValues the values of the parameter
+         * @return this parameter space
+         */
+        public ParameterSpace add(String name, Object... parameterValues) {
+            if (parameterValues.length == 0) {
+                throw new IllegalArgumentException("Parameter " + name + " must have at least one value");
+            }
+            if (values.containsKey(name)) {
+                throw new IllegalArgumentException("Duplicate parameter: " + name);
+            }
+            List<Object> list = new ArrayList<>(parameterValues.length);
+            Collections.addAll(list, parameterValues);
+            values.put(name, list);
+            return this;
+        }
+
+        /**
+         * Adds an integer parameter.
+         * @param name the name of the parameter
+         * @param from the first value of the parameter
+         * @param to the last value of the parameter (inclusive)
+         * @param step the step between two values
+         * @return this parameter space
+         */
+        public ParameterSpace addRange(String name, int from, int to, int step) {
+            if (step <= 0 || to < from) {
+                throw new IllegalArgumentException("Invalid range for parameter " + name);
+            }
+            List<Object> range = new ArrayList<>();
+            for (int value = from; value <= to; value += step) {
+                range.add(value);
+            }
+            return add(name, range.toArray());
+        }
+
+        /**
+         * @return the number of combinations
+         */
+        public int size() {
+            long size = 1;
+            for (List<Object> parameterValues : values.values()) {
+                size *= parameterValues.size();
+                if (size > Integer.MAX_VALUE) {
+                    throw new IllegalStateException("Too many combinations");
+                }
+            }
+            return (int) size;
+        }
+
+        /**
+         * @return all the combinations of the parameter values
+         */
+        public List<Parameters> combinations() {
+            final int size = size();
+            final List<String> names = new ArrayList<>(values.keySet());
+            final int[] valueIndexes = new int[names.size()];
+            List<Parameters> combinations = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                Map<String, Object> combination = new LinkedHashMap<>();
+                for (int p = 0; p < names.size(); p++) {
+                    combination.put(names.get(p), values.get(names.get(p)).get(valueIndexes[p]));
+                }
+                combinations.add(new Parameters(combination));
+                // Next combination (the last parameter varying the fastest)
+                for (int p = names.size() - 1; p >= 0; p--) {
+                    if (++valueIndexes[p] < values.get(names.get(p)).size()) {
+                        break;
+                    }
+                    valueIndexes[p] = 0;
+                }
+            }
+            return combinations;
+        }
+    }
+
+    /**
+     * A combination of parameter values.
+     */
+    public static final class Parameters {
+
+        private final Map<String, Object> values;
+
+        private Parameters(Map<String, Object> values) {
+            this.values = Collections.unmodifiableMap(values);
+        }
+
+        /**
+         * @param name the name of a parameter
+         * @return the value of the parameter
+         */
+        public Object get(String name) {
+            if (!values.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown parameter: " + name);
+            }
+            return values.get(name);
+        }
+
+        /**
+         * @param name the name of a numeric parameter
+         * @return the value of the parameter as an int
+         */
+        public int getInt(String name) {
+            return ((Number) get(name)).intValue();
+        }
+
+        /**
+         * @param name the name of a numeric parameter
+         * @return the value of the parameter as a decimal
+         */
+        public Decimal getDecimal(String name) {
+            Object value = get(name);
+            return value instanceof Decimal ? (Decimal) value : Decimal.valueOf((Number) value);
+        }
+
+        /**
+         * @return the values of the parameters (by name)
+         */
+        public Map<String, Object> getValues() {
+            return values;
+        }
+
+        @Override
+        public String toString() {
+            return values.toString();
+        }
+    }
+
+    /**
+     * The result of the evaluation of a combination of parameters.
+     */
+    public static final class Result {
+
+        private final Parameters parameters;
+
+        private final Strategy strategy;
+
+        private final TradingRecord tradingRecord;
+
+        private final double criterionValue;
+
+        private final long runTimeNanos;
+
+        private Result(Parameters parameters, Strategy strategy, TradingRecord tradingRecord, double criterionValue,
+                long runTimeNanos) {
+            this.parameters = parameters;
+            this.strategy = strategy;
+            this.tradingRecord = tradingRecord;
+            this.criterionValue = criterionValue;
+            this.runTimeNanos = runTimeNanos;
+        }
+
+        /**
+         * @return the combination of parameters
+         */
+        public Parameters getParameters() {
+            return parameters;
+        }
+
+        /**
+         * @return the strategy built for the parameters
+         */
+        public Strategy getStrategy() {
+            return strategy;
+        }
+
+        /**
+         * @return the trading record coming from the run
+         */
+        public TradingRecord getTradingRecord() {
+            return tradingRecord;
+        }
+
+        /**
+         * @return the value of the analysis criterion for the trading record
+         */
+        public double getCriterionValue() {
+            return criterionValue;
+        }
+
+        /**
+         * @return the time spent building, running and analyzing the strategy (in nanoseconds)
+         */
+        public long getRunTimeNanos() {
+            return runTimeNanos;
+        }
+    }
+
+    /**
+     * The report of an optimization.
+     */
+    public static final class Report {
+
+        private final List<Result> bestResults;
+
+        private final int combinationCount;
+
+        private final long elapsedNanos;
+
+        private final long totalRunTimeNanos;
+
+        private final IndicatorRegistry sharedRegistry;
+
+        private Report(List<Result> bestResults, int combinationCount, long elapsedNanos, long totalRunTimeNanos,
+                IndicatorRegistry sharedRegistry) {
+            this.bestResults = Collections.unmodifiableList(bestResults);
+            this.combinationCount = combinationCount;
+            this.elapsedNanos = elapsedNanos;
+            this.totalRunTimeNanos = totalRunTimeNanos;
+            this.sharedRegistry = sharedRegistry;
+        }
+
+        /**
+         * @return the best results (best first, in the enumeration order of the combinations in case of equality)
+         */
+        public List<Result> getBestResults() {
+            return bestResults;
+        }
+
+        /**
+         * @return the best result
+         */
+        public Result getBestResult() {
+            return bestResults.get(0);
+        }
+
+        /**
+         * @return the number of evaluated combinations
+         */
+        public int getCombinationCount() {
+            return combinationCount;
+        }
+
+        /**
+         * @return the wall-clock time of the optimization (in nanoseconds)
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * @return the sum of the run times of the combinations (in nanoseconds)
+         */
+        public long getTotalRunTimeNanos() {
+            return totalRunTimeNanos;
+        }
+
+        /**
+         * @return the indicator registry shared by the combinations (null if the registry was not shared)
+         */
+        public IndicatorRegistry getSharedRegistry() {
+            return sharedRegistry;
+        }
+    }
+
+    /** The logger */
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    /** The time series */
+    private final TimeSeries timeSeries;
+
+    /** The pool running the evaluations */
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructor.
+     * (using the common pool)
+     * @param timeSeries the time series
+     */
+    public StrategyOptimizer(TimeSeries timeSeries) {
+        this(timeSeries, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor.
+     * @param timeSeries the time series
+     * @param pool the pool running the evaluations
+     */
+    public StrategyOptimizer(TimeSeries timeSeries, ForkJoinPool pool) {
+        this.timeSeries = timeSeries;
+        this.pool = pool;
+    }
+
+    /**
+     * @return the time series
+     */
+    public TimeSeries getTimeSeries() {
+        return timeSeries;
+    }
+
+    /**
+     * Evaluates all the combinations of a parameter space.
+     * <p>
+     * Opens the trades with {@link OrderType} BUY orders.
+     * @param strategyFactory the factory of the strategy (called with an indicator registry and a combination of parameters)
+     * @param parameterSpace the parameter space
+     * @param criterion the analysis criterion
+     * @param bestCount the number of best results to be reported
+     * @return the report of the optimization
+     */
+    public Report optimize(BiFunction<IndicatorRegistry, Parameters, Strategy> strategyFactory,
+            ParameterSpace parameterSpace, AnalysisCriterion criterion, int bestCount) {
+        return optimize(strategyFactory, parameterSpace, OrderType.BUY, criterion, bestCount);
+    }
+
+    /**
+     * Evaluates all the combinations of a parameter space.
+     * @param strategyFactory the factory of the strategy (called with an indicator registry and a combination of parameters)
+     * @param parameterSpace the parameter space
+     * @param orderType the {@link OrderType} used to open the trades
+     * @param criterion the analysis criterion
+     * @param bestCount the number of best results to be reported
+     * @return the report of the optimization
+     */
+    public Report optimize(BiFunction<IndicatorRegistry, Parameters, Strategy> strategyFactory,
+            ParameterSpace parameterSpace, OrderType orderType, AnalysisCriterion criterion, int bestCount) {
+        if (bestCount <= 0) {
+            throw new IllegalArgumentException("Best count must be strictly positive");
+        }
+        final long start = System.nanoTime();
+        final List<Parameters> combinations = parameterSpace.combinations();
+        final IndicatorRegistry sharedRegistry = timeSeries.isConcurrentIndicatorCache()
+                ? new IndicatorRegistry(timeSeries) : null;
+        log.trace("Optimizing {} combinations (shared indicators: {})", combinations.size(), sharedRegistry != null);
+
+        List<ForkJoinTask<Result>> tasks = new ArrayList<>(combinations.size());
+        for (Parameters parameters : combinations) {
+            tasks.add(pool.submit(() -> {
+                final long runStart = System.nanoTime();
+                IndicatorRegistry registry = sharedRegistry != null ? sharedRegistry : new IndicatorRegistry(timeSeries);
+                Strategy strategy = strategyFactory.apply(registry, parameters);
+                TradingRecord tradingRecord = new TimeSeriesManager(timeSeries).run(strategy, orderType);
+                double criterionValue = criterion.calculate(timeSeries, tradingRecord);
+                return new Result(parameters, strategy, tradingRecord, criterionValue, System.nanoTime() - runStart);
+            }));
+        }
+
+        // Keeping the best results only
+        List<Result> bestResults = new ArrayList<>(bestCount + 1);
+        long totalRunTimeNanos = 0;
+        for (int i = 0; i < tasks.size(); i++) {
+            Result result = tasks.get(i).join();
+            tasks.set(i, null);
+            totalRunTimeNanos += result.getRunTimeNanos();
+            int position = bestResults.size();
+            while (position > 0 && criterion.betterThan(result.getCriterionValue(), bestResults.get(position - 1).getCriterionValue())) {
+                position--;
+            }
+            if (position < bestCount) {
+                bestResults.add(position, result);
+                if (bestResults.size() > bestCount) {
+                    bestResults.remove(bestCount);
+                }
+            }
+        }
+        return new Report(bestResults, combinations.size(), System.nanoTime() - start, totalRunTimeNanos, sharedRegistry);
+    }
+}
@@ -0,0 +1,226 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.ta4j.core.Order.OrderType;
+import org.ta4j.core.indicators.CachedIndicator;
+import org.ta4j.core.indicators.IndicatorRegistry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A push-based streaming engine.
+ * <p></p>
+ * Listens to the bars added to a {@link TimeSeries time series} (see {@link TimeSeries#addBarListener(BarListener)})
+ * and, for each new bar:
+ * <ul>
+ *     <li>calculates the value of the new index for each registered indicator, in registration order, so that
+ *     each {@link CachedIndicator cached indicator} calculates the new index exactly once and without recursion
+ *     if its sub-indicators are registered before it;
+ *     <li>runs the registered strategies on the new index (as {@link TimeSeriesManager#run(Strategy)} would do).
+ * </ul>
+ * The indicators are declared explicitly: one by one (see {@link #addIndicators(Indicator[])}), sub-indicators
+ * first, or all at once from the {@link IndicatorRegistry registry} they have been built with (see
+ * {@link #addIndicators(IndicatorRegistry)}). Sub-indicators which are not registered are still calculated on demand.
+ * <p>
+ * The processing time of each bar is measured (see {@link #getLastLatencyNanos()}).
+ * The engine is not thread-safe: bars must be added by a single thread.
+ */
+public class StreamingEngine implements BarListener {
+
+    /**
+     * A strategy run by the engine.
+     */
+    private static final class StrategyRun {
+
+        private final Strategy strategy;
+
+        private final TradingRecord tradingRecord;
+
+        private final Decimal amount;
+
+        private StrategyRun(Strategy strategy, TradingRecord tradingRecord, Decimal amount) {
+            this.strategy = strategy;
+            this.tradingRecord = tradingRecord;
+            this.amount = amount;
+        }
+    }
+
+    /** The logger */
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    /** The time series */
+    private final TimeSeries timeSeries;
+
+    /** The cached indicators of the series, in registration order */
+    private final List<CachedIndicator<?>> indicators = new ArrayList<>();
+
+    /** The registered indicators */
+    private final Set<Indicator<?>> registered = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /** The strategies run on each new bar */
+    private final List<StrategyRun> strategyRuns = new ArrayList<>();
+
+    private long lastLatencyNanos;
+
+    private long maxLatencyNanos;
+
+    private long totalLatencyNanos;
+
+    private int processedBarCount;
+
+    /**
+     * Constructor.
+     * (listens to the bars added to the series until {@link #close()} is called)
+     * @param timeSeries the time series
+     */
+    public StreamingEngine(TimeSeries timeSeries) {
+        this.timeSeries = timeSeries;
+        timeSeries.addBarListener(this);
+    }
+
+    /**
+     * Registers indicators, calculated on each new bar in registration order.
+     * <p>
+     * The sub-indicators of an indicator should be registered before it. Indicators already registered
+     * and indicators which are not cached (i.e. calculated on demand) are ignored.
+     * @param indicators the indicators
+     * @throws IllegalArgumentException if an indicator is not built on the series of the engine
+     */
+    public void addIndicators(Indicator<?>... indicators) {
+        for (Indicator<?> indicator : indicators) {
+            if (indicator.getTimeSeries() != timeSeries) {
+                throw new IllegalArgumentException("Indicator " + indicator + " is not built on the series of the engine");
+            }
+            if (indicator instanceof CachedIndicator && registered.add(indicator)) {
+                this.indicators.add((CachedIndicator<?>) indicator);
+            }
+        }
+    }
+
+    /**
+     * Registers the indicators of a registry (i.e. the indicators it has built so far), in creation order
+     * (the sub-indicators built by the registry being created before the indicators using them).
+     * @param registry the registry of the indicators of the series
+     * @throws IllegalArgumentException if the registry is not bound to the series of the engine
+     */
+    public void addIndicators(IndicatorRegistry registry) {
+        if (registry.getTimeSeries() != timeSeries) {
+            throw new IllegalArgumentException("Registry not bound to the series of the engine");
+        }
+        addIndicators(registry.getIndicators().toArray(new Indicator<?>[0]));
+    }
+
+    /**
+     * Registers a strategy, run on each new bar with buy orders and no amount.
+     * <p>
+     * The indicators of the strategy should be registered too (see {@link #addIndicators(IndicatorRegistry)}).
+     * @param strategy the strategy
+     * @return the trading record of the strategy
+     */
+    public TradingRecord addStrategy(Strategy strategy) {
+        return addStrategy(strategy, OrderType.BUY, Decimal.NaN);
+    }
+
+    /**
+     * Registers a strategy, run on each new bar.
+     * <p>
+     * The indicators of the strategy should be registered too (see {@link #addIndicators(IndicatorRegistry)}).
+     * @param strategy the strategy
+     * @param orderType the {@link OrderType} used to open the trades
+     * @param amount the amount used to open/close the trades
+     * @return the trading record of the strategy
+     */
+    public TradingRecord addStrategy(Strategy strategy, OrderType orderType, Decimal amount) {
+        TradingRecord tradingRecord = new BaseTradingRecord(orderType);
+        strategyRuns.add(new StrategyRun(strategy, tradingRecord, amount));
+        return tradingRecord;
+    }
+
+    @Override
+    public void barAdded(TimeSeries series, int index) {
+        final long start = System.nanoTime();
+        for (CachedIndicator<?> indicator : indicators) {
+            indicator.getValue(index);
+        }
+        for (StrategyRun run : strategyRuns) {
+            if (run.strategy.shouldOperate(index, run.tradingRecord)) {
+                run.tradingRecord.operate(index, series.getBar(index).getClosePrice(), run.amount);
+            }
+        }
+        final long latency = System.nanoTime() - start;
+        lastLatencyNanos = latency;
+        maxLatencyNanos = Math.max(maxLatencyNanos, latency);
+        totalLatencyNanos += latency;
+        processedBarCount++;
+        log.trace("Bar {} processed in {} ns", index, latency);
+    }
+
+    /**
+     * Stops listening to the bars added to the series.
+     */
+    public void close() {
+        timeSeries.removeBarListener(this);
+    }
+
+    /**
+     * @return the cached indicators calculated on each new bar, in calculation order
+     */
+    public List<CachedIndicator<?>> getIndicators() {
+        return Collections.unmodifiableList(indicators);
+    }
+
+    /**
+     * @return the number of bars processed by the engine
+     */
+    public int getProcessedBarCount() {
+        return processedBarCount;
+    }
+
+    /**
+     * @return the processing time of the last bar (in nanoseconds)
+     */
+    public long getLastLatencyNanos() {
+        return lastLatencyNanos;
+    }
+
+    /**
+     * @return the maximum processing time of a bar (in nanoseconds)
+     */
+    public long getMaxLatencyNanos() {
+        return maxLatencyNanos;
+    }
+
+    /**
+     * @return the average processing time of a bar (in nanoseconds), 0 if no bar has been processed
+     */
+    public double getAverageLatencyNanos() {
+        return processedBarCount == 0 ? 0 : (double) totalLatencyNanos / processedBarCount;
+    }
+}
@@ -23,6 +23,7 @@
 package org.ta4j.core;
 
 import java.io.Serializable;
+import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 
@@ -131,6 +132,26 @@ public interface TimeSeries extends Serializable {
      */
     int getRemovedBarsCount();
 
+    /**
+     * Searches (by binary search over the bar end times) the first bar ending at or after a timestamp.
+     * @param endTimeEpochMilli a timestamp (epoch milliseconds)
+     * @return the index of the first retained bar with an end time at or after the timestamp,
+     * or getEndIndex() + 1 if there is no such bar
+     */
+    default int getFirstIndexEndingAtOrAfter(long endTimeEpochMilli) {
+        int low = Math.max(getBeginIndex(), getRemovedBarsCount());
+        int high = getEndIndex() + 1;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (getBar(middle).getEndTimeEpochMilli() < endTimeEpochMilli) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return high;
+    }
+
     /**
      * Adds a bar at the end of the series.
      * <p>
@@ -142,17 +163,85 @@ public interface TimeSeries extends Serializable {
      */
     void addBar(Bar bar);
 
+    /**
+     * Adds a bar at the end of the series.
+     * <p>
+     * The prices and volume are converted to decimals according to the numeric representation of the series.
+     * @param endTime the end time of the bar period
+     * @param openPrice the open price of the bar period
+     * @param highPrice the highest price of the bar period
+     * @param lowPrice the lowest price of the bar period
+     * @param closePrice the close price of the bar period
+     * @param volume the volume of the bar period
+     * @see TimeSeries#numOf(Number)
+     */
+    default void addBar(ZonedDateTime endTime, Number openPrice, Number highPrice, Number lowPrice, Number closePrice, Number volume) {
+        addBar(new BaseBar(endTime, numOf(openPrice), numOf(highPrice), numOf(lowPrice), numOf(closePrice), numOf(volume)));
+    }
+
+    /**
+     * @return the numeric representation of the decimals of the series
+     */
+    default Decimal.Mode getDecimalMode() {
+        return Decimal.Mode.BIG_DECIMAL;
+    }
+
+    /**
+     * @param number a number
+     * @return the {@link Decimal} version of the number, according to the numeric representation of the series
+     * @see TimeSeries#getDecimalMode()
+     */
+    default Decimal numOf(Number number) {
+        return getDecimalMode().of(number);
+    }
+
+    /**
+     * @return true if the cached indicators built on this series may be accessed concurrently, false otherwise
+     * @see TimeSeries#setConcurrentIndicatorCache(boolean)
+     */
+    default boolean isConcurrentIndicatorCache() {
+        return false;
+    }
+
+    /**
+     * Enables/disables the concurrent cache mode of the {@link org.ta4j.core.indicators.CachedIndicator
+     * cached indicators} built on this series.
+     * <p>
+     * In concurrent mode an indicator graph can be read by several threads without external locking,
+     * each result being calculated only once. It should be enabled before any indicator value is read.
+     * @param concurrentIndicatorCache true to enable the concurrent mode, false otherwise
+     */
+    default void setConcurrentIndicatorCache(boolean concurrentIndicatorCache) {
+        throw new UnsupportedOperationException("Concurrent indicator cache not supported by " + getClass().getSimpleName());
+    }
+
+    /**
+     * Adds a listener notified of each bar added to this series.
+     * @param listener the listener
+     */
+    default void addBarListener(BarListener listener) {
+        throw new UnsupportedOperationException("Bar listeners not supported by " + getClass().getSimpleName());
+    }
+
+    /**
+     * Removes a listener added by {@link #addBarListener(BarListener)}.
+     * @param listener the listener
+     */
+    default void removeBarListener(BarListener listener) {
+        throw new UnsupportedOperationException("Bar listeners not supported by " + getClass().getSimpleName());
+    }
+
     /**
      * Returns a new TimeSeries implementation that is a subset of this TimeSeries implementation.
-     * It holds a copy of all {@link Bar bars} between <tt>startIndex</tt> (inclusive) and <tt>endIndex</tt> (exclusive)
-     * of this TimeSeries.
+     * It holds all {@link Bar bars} between <tt>startIndex</tt> (inclusive) and <tt>endIndex</tt> (exclusive)
+     * of this TimeSeries, usually as a {@link TimeSeriesView view} sharing the bars of this TimeSeries.
      * The indices of this TimeSeries and the new subset TimeSeries can be different. I. e. index 0 of the new TimeSeries will
      * be index <tt>startIndex</tt> of this TimeSeries.
      * If <tt>startIndex</tt> < this.seriesBeginIndex the new TimeSeries will start with the first available Bar of this TimeSeries.
      * If <tt>endIndex</tt> > this.seriesEndIndex the new TimeSeries will end at the last available Bar of this TimeSeries
      * @param startIndex the startIndex
      * @param endIndex the endIndex
-     * @return a new BaseTimeSeries with Bars from startIndex to endIndex-1
+     * @return a new TimeSeries with Bars from startIndex to endIndex-1
      * @throws IllegalArgumentException e.g. if endIndex < startIndex
      */
     TimeSeries getSubSeries(int startIndex, int endIndex);
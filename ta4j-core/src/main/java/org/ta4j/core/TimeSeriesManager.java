@@ -26,11 +26,19 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.ta4j.core.Order.OrderType;
 
+import java.util.BitSet;
+
 /**
  * A manager for {@link TimeSeries} objects.
  * <p></p>
  * Used for backtesting.
  * Allows to run a {@link Strategy trading strategy} over the managed time series.
+ * <p>
+ * In precomputed signals mode (see {@link #setPrecomputedSignals(boolean)}), the entry and exit signals of the
+ * {@link Rule#isStateless() stateless} rules are evaluated in advance for the whole run (see
+ * {@link Rule#getSatisfied(int, int, BitSet)}), and the run jumps from one signal to the next one instead of
+ * evaluating the rules bar by bar. The other rules (e.g. stop loss/gain rules, which depend on the trading record)
+ * are still evaluated bar by bar.
  */
 public class TimeSeriesManager {
 
@@ -40,6 +48,9 @@ public class TimeSeriesManager {
     /** The managed time series */
     private TimeSeries timeSeries;
 
+    /** True if the signals of the stateless rules are precomputed, false otherwise */
+    private boolean precomputedSignals = false;
+
     /**
      * Constructor.
      */
@@ -68,6 +79,24 @@ public class TimeSeriesManager {
 		return timeSeries;
 	}
 
+    /**
+     * Enables/disables the precomputed signals mode.
+     * <p>
+     * Precomputed signals assume that the strategy operates as defined by
+     * {@link Strategy#shouldOperate(int, TradingRecord)}, i.e. according to its rules and its unstable period.
+     * @param precomputedSignals true to precompute the signals of the stateless rules, false to evaluate the rules bar by bar
+     */
+    public void setPrecomputedSignals(boolean precomputedSignals) {
+        this.precomputedSignals = precomputedSignals;
+    }
+
+    /**
+     * @return true if the signals of the stateless rules are precomputed, false otherwise
+     */
+    public boolean isPrecomputedSignals() {
+        return precomputedSignals;
+    }
+
     /**
      * Runs the provided strategy over the managed series.
      * <p>
@@ -145,10 +174,14 @@ public class TimeSeriesManager {
 
         log.trace("Running strategy (indexes: {} -> {}): {} (starting with {})", runBeginIndex, runEndIndex, strategy, orderType);
         TradingRecord tradingRecord = new BaseTradingRecord(orderType);
-        for (int i = runBeginIndex; i <= runEndIndex; i++) {
-            // For each bar between both indexes...
-            if (strategy.shouldOperate(i, tradingRecord)) {
-                tradingRecord.operate(i, timeSeries.getBar(i).getClosePrice(), amount);
+        if (precomputedSignals) {
+            runWithSignals(strategy, tradingRecord, amount, runBeginIndex, runEndIndex);
+        } else {
+            for (int i = runBeginIndex; i <= runEndIndex; i++) {
+                // For each bar between both indexes...
+                if (strategy.shouldOperate(i, tradingRecord)) {
+                    tradingRecord.operate(i, timeSeries.getBar(i).getClosePrice(), amount);
+                }
             }
         }
 
@@ -168,4 +201,53 @@ public class TimeSeriesManager {
         return tradingRecord;
     }
 
+    /**
+     * Runs the provided strategy between two indexes with precomputed signals.
+     * @param strategy the trading strategy
+     * @param tradingRecord the trading record
+     * @param amount the amount used to open/close the trades
+     * @param runBeginIndex the begin index of the run (included)
+     * @param runEndIndex the end index of the run (included)
+     */
+    private void runWithSignals(Strategy strategy, TradingRecord tradingRecord, Decimal amount, int runBeginIndex, int runEndIndex) {
+        final BitSet entrySignals = precomputeSignals(strategy, strategy.getEntryRule(), runBeginIndex, runEndIndex);
+        final BitSet exitSignals = precomputeSignals(strategy, strategy.getExitRule(), runBeginIndex, runEndIndex);
+        int i = runBeginIndex;
+        while (i <= runEndIndex) {
+            final Trade trade = tradingRecord.getCurrentTrade();
+            final BitSet signals = trade.isNew() ? entrySignals : (trade.isOpened() ? exitSignals : null);
+            if (signals != null) {
+                // Jumping to the next signal
+                i = signals.nextSetBit(i);
+                if (i < 0 || i > runEndIndex) {
+                    break;
+                }
+                tradingRecord.operate(i, timeSeries.getBar(i).getClosePrice(), amount);
+            } else if (strategy.shouldOperate(i, tradingRecord)) {
+                tradingRecord.operate(i, timeSeries.getBar(i).getClosePrice(), amount);
+            }
+            i++;
+        }
+    }
+
+    /**
+     * Precomputes the signals of a rule of a strategy.
+     * @param strategy the trading strategy
+     * @param rule the entry or exit rule of the strategy
+     * @param runBeginIndex the begin index of the run (included)
+     * @param runEndIndex the end index of the run (included)
+     * @return the signals (bit i set if the strategy operates at index i), null if the rule is not stateless
+     */
+    private static BitSet precomputeSignals(Strategy strategy, Rule rule, int runBeginIndex, int runEndIndex) {
+        if (!rule.isStateless()) {
+            return null;
+        }
+        final BitSet signals = new BitSet(runEndIndex + 1);
+        rule.getSatisfied(runBeginIndex, runEndIndex + 1, signals);
+        // Clearing the signals of the unstable period (a prefix of the series)
+        for (int i = signals.nextSetBit(runBeginIndex); i >= 0 && strategy.isUnstableAt(i); i = signals.nextSetBit(i + 1)) {
+            signals.clear(i);
+        }
+        return signals;
+    }
 }
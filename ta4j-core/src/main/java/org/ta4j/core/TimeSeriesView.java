@@ -0,0 +1,220 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * Read-only view over a range of bars of another {@link TimeSeries} (the parent series).
+ * <p></p>
+ * Sub-series (see {@link TimeSeries#getSubSeries(int, int)}) are views: they do not copy the bars of their parent,
+ * bar i of the view being bar {@code offset + i} of the parent. Views are cheap to build, so that walk-forward and
+ * rolling-window analyses can slice a series repeatedly without duplicating it.
+ * <p>
+ * Indicators built on a view calculate their values over the bars of the view only. An
+ * {@link org.ta4j.core.indicators.IndicatorRegistry indicator registry} built on a view with the registry of its
+ * parent series makes its indicators read through to the (cached) values of their equivalents on the parent series.
+ * <p>
+ * Bars cannot be added to a view. Once bars of the view have been removed from the parent series
+ * (e.g. by a maximum bar count), getting its bars throws an {@link IllegalStateException}.
+ */
+public class TimeSeriesView implements TimeSeries {
+
+    private static final long serialVersionUID = 6188450394702873712L;
+
+    /** The parent series */
+    private final TimeSeries parent;
+
+    /** The index in the parent series of the first bar of the view */
+    private final int offset;
+
+    /** The number of bars of the view */
+    private final int size;
+
+    /** True if the cached indicators built on this view may be accessed concurrently, false otherwise */
+    private volatile boolean concurrentIndicatorCache;
+
+    /**
+     * Constructor.
+     * <p>
+     * The range is restricted to the bars available in the parent series.
+     * @param parent the parent series
+     * @param startIndex the index of the first bar of the view in the parent series (inclusive)
+     * @param endIndex the index of the last bar of the view in the parent series (exclusive)
+     * @throws IllegalArgumentException if <tt>endIndex</tt> < <tt>startIndex</tt>
+     */
+    public TimeSeriesView(TimeSeries parent, int startIndex, int endIndex) {
+        if (parent == null) {
+            throw new IllegalArgumentException("Parent series cannot be null");
+        }
+        if (startIndex > endIndex) {
+            throw new IllegalArgumentException
+                    (String.format("the endIndex: %s must be bigger than startIndex: %s", endIndex, startIndex));
+        }
+        final int start = Math.max(startIndex, Math.max(parent.getBeginIndex(), parent.getRemovedBarsCount()));
+        final int end = Math.min(endIndex, parent.getEndIndex() + 1);
+        this.parent = parent;
+        this.offset = Math.max(start, 0);
+        this.size = Math.max(0, end - start);
+        this.concurrentIndicatorCache = parent.isConcurrentIndicatorCache();
+    }
+
+    /**
+     * @return the parent series
+     */
+    public TimeSeries getParent() {
+        return parent;
+    }
+
+    /**
+     * @return the index in the parent series of the first bar of the view
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    @Override
+    public String getName() {
+        return parent.getName();
+    }
+
+    /**
+     * {@inheritDoc}
+     * @throws IllegalStateException if bars of the view have been removed from the parent series
+     */
+    @Override
+    public Bar getBar(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("Size of view: " + size + " bars, index = " + i);
+        }
+        checkBarsRetained();
+        return parent.getBar(offset + i);
+    }
+
+    @Override
+    public int getBarCount() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @throws IllegalStateException if bars of the view have been removed from the parent series
+     */
+    @Override
+    public List<Bar> getBarData() {
+        checkBarsRetained();
+        return new AbstractList<Bar>() {
+            @Override
+            public Bar get(int index) {
+                return getBar(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public int getBeginIndex() {
+        return size > 0 ? 0 : -1;
+    }
+
+    @Override
+    public int getEndIndex() {
+        return size - 1;
+    }
+
+    @Override
+    public void setMaximumBarCount(int maximumBarCount) {
+        throw new UnsupportedOperationException("Cannot set a maximum bar count on a time series view");
+    }
+
+    @Override
+    public int getMaximumBarCount() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public int getRemovedBarsCount() {
+        return 0;
+    }
+
+    @Override
+    public int getFirstIndexEndingAtOrAfter(long endTimeEpochMilli) {
+        if (size == 0) {
+            return 0;
+        }
+        final int parentIndex = parent.getFirstIndexEndingAtOrAfter(endTimeEpochMilli);
+        return Math.min(Math.max(parentIndex - offset, 0), size);
+    }
+
+    @Override
+    public void addBar(Bar bar) {
+        throw new UnsupportedOperationException("Cannot add a bar to a time series view");
+    }
+
+    @Override
+    public Decimal.Mode getDecimalMode() {
+        return parent.getDecimalMode();
+    }
+
+    @Override
+    public boolean isConcurrentIndicatorCache() {
+        return concurrentIndicatorCache;
+    }
+
+    @Override
+    public void setConcurrentIndicatorCache(boolean concurrentIndicatorCache) {
+        this.concurrentIndicatorCache = concurrentIndicatorCache;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The sub-series is a view over the parent series of this view.
+     */
+    @Override
+    public TimeSeries getSubSeries(int startIndex, int endIndex) {
+        if (startIndex > endIndex) {
+            throw new IllegalArgumentException
+                    (String.format("the endIndex: %s must be bigger than startIndex: %s", endIndex, startIndex));
+        }
+        final int start = Math.max(startIndex, 0);
+        final int end = Math.max(Math.min(endIndex, size), start);
+        return new TimeSeriesView(parent, offset + start, offset + end);
+    }
+
+    /**
+     * Checks that the bars of the view are still held by the parent series.
+     * @throws IllegalStateException if bars of the view have been removed from the parent series
+     */
+    private void checkBarsRetained() {
+        if (size > 0 && offset < parent.getRemovedBarsCount()) {
+            throw new IllegalStateException("Bars of the view removed from the parent series: view starting at bar "
+                    + offset + ", " + parent.getRemovedBarsCount() + " bars removed");
+        }
+    }
+}
@@ -0,0 +1,373 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.ta4j.core.Order.OrderType;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+
+/**
+ * A walk-forward engine.
+ * <p></p>
+ * Splits a {@link TimeSeries time series} into successive windows made of an in-sample part followed by an
+ * out-of-sample part, the out-of-sample parts following each other. In each window, the best strategy over the
+ * in-sample part (according to an {@link AnalysisCriterion analysis criterion}) is chosen and evaluated over the
+ * out-of-sample part.
+ * <p>
+ * Windows are either rolling (the in-sample part has a fixed duration) or anchored (the in-sample part always
+ * begins with the series). Their bounds are found by binary search over the bar end times
+ * (see {@link TimeSeries#getFirstIndexEndingAtOrAfter(long)}), and the windows are evaluated concurrently
+ * (on a {@link ForkJoinPool}), each part over its own sub-series (see {@link TimeSeries#getSubSeries(int, int)})
+ * with strategies built by the task evaluating it.<br>
+ * The time series must not be modified during a run.
+ * @see <a href="http://en.wikipedia.org/wiki/Walk_forward_optimization">
+ *     http://en.wikipedia.org/wiki/Walk_forward_optimization</a>
+ */
+public class WalkForwardEngine {
+
+    /**
+     * A walk-forward window (bar indexes in the series).
+     */
+    public static final class Window {
+
+        private final int inSampleBegin;
+
+        private final int outOfSampleBegin;
+
+        private final int outOfSampleEnd;
+
+        private Window(int inSampleBegin, int outOfSampleBegin, int outOfSampleEnd) {
+            this.inSampleBegin = inSampleBegin;
+            this.outOfSampleBegin = outOfSampleBegin;
+            this.outOfSampleEnd = outOfSampleEnd;
+        }
+
+        /**
+         * @return the index of the first bar of the in-sample part
+         */
+        public int getInSampleBegin() {
+            return inSampleBegin;
+        }
+
+        /**
+         * @return the index of the last bar of the in-sample part
+         */
+        public int getInSampleEnd() {
+            return outOfSampleBegin - 1;
+        }
+
+        /**
+         * @return the index of the first bar of the out-of-sample part
+         */
+        public int getOutOfSampleBegin() {
+            return outOfSampleBegin;
+        }
+
+        /**
+         * @return the index of the last bar of the out-of-sample part
+         */
+        public int getOutOfSampleEnd() {
+            return outOfSampleEnd;
+        }
+
+        @Override
+        public String toString() {
+            return "in-sample: [" + inSampleBegin + ", " + getInSampleEnd() + "], out-of-sample: ["
+                    + outOfSampleBegin + ", " + outOfSampleEnd + "]";
+        }
+    }
+
+    /**
+     * The evaluation of a window.
+     */
+    public static final class WindowResult {
+
+        private final Window window;
+
+        private final double[] inSampleValues;
+
+        private final int bestStrategyIndex;
+
+        private final Strategy outOfSampleStrategy;
+
+        private final TradingRecord outOfSampleTradingRecord;
+
+        private final double outOfSampleValue;
+
+        private WindowResult(Window window, double[] inSampleValues, int bestStrategyIndex,
+                Strategy outOfSampleStrategy, TradingRecord outOfSampleTradingRecord, double outOfSampleValue) {
+            this.window = window;
+            this.inSampleValues = inSampleValues;
+            this.bestStrategyIndex = bestStrategyIndex;
+            this.outOfSampleStrategy = outOfSampleStrategy;
+            this.outOfSampleTradingRecord = outOfSampleTradingRecord;
+            this.outOfSampleValue = outOfSampleValue;
+        }
+
+        /**
+         * @return the window
+         */
+        public Window getWindow() {
+            return window;
+        }
+
+        /**
+         * @param strategyIndex the index of a strategy factory
+         * @return the value of the criterion for the strategy over the in-sample part
+         */
+        public double getInSampleValue(int strategyIndex) {
+            return inSampleValues[strategyIndex];
+        }
+
+        /**
+         * @return the index of the factory of the best strategy over the in-sample part (the first one in case of equality)
+         */
+        public int getBestStrategyIndex() {
+            return bestStrategyIndex;
+        }
+
+        /**
+         * @return the value of the criterion for the best strategy over the in-sample part
+         */
+        public double getBestInSampleValue() {
+            return inSampleValues[bestStrategyIndex];
+        }
+
+        /**
+         * @return the best strategy, built for the out-of-sample part
+         */
+        public Strategy getOutOfSampleStrategy() {
+            return outOfSampleStrategy;
+        }
+
+        /**
+         * @return the trading record of the best strategy over the out-of-sample part
+         */
+        public TradingRecord getOutOfSampleTradingRecord() {
+            return outOfSampleTradingRecord;
+        }
+
+        /**
+         * @return the value of the criterion for the best strategy over the out-of-sample part
+         */
+        public double getOutOfSampleValue() {
+            return outOfSampleValue;
+        }
+    }
+
+    /**
+     * The report of a walk-forward run.
+     */
+    public static final class Report {
+
+        private final List<WindowResult> windowResults;
+
+        private final long elapsedNanos;
+
+        private Report(List<WindowResult> windowResults, long elapsedNanos) {
+            this.windowResults = Collections.unmodifiableList(windowResults);
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * @return the results of the windows (in chronological order)
+         */
+        public List<WindowResult> getWindowResults() {
+            return windowResults;
+        }
+
+        /**
+         * @return the wall-clock time of the run (in nanoseconds)
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+    }
+
+    /** The logger */
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    /** The time series */
+    private final TimeSeries timeSeries;
+
+    /** The pool evaluating the windows */
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructor.
+     * (using the common pool)
+     * @param timeSeries the time series
+     */
+    public WalkForwardEngine(TimeSeries timeSeries) {
+        this(timeSeries, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor.
+     * @param timeSeries the time series
+     * @param pool the pool evaluating the windows
+     */
+    public WalkForwardEngine(TimeSeries timeSeries, ForkJoinPool pool) {
+        this.timeSeries = timeSeries;
+        this.pool = pool;
+    }
+
+    /**
+     * @return the time series
+     */
+    public TimeSeries getTimeSeries() {
+        return timeSeries;
+    }
+
+    /**
+     * Splits the series into walk-forward windows.
+     * <p>
+     * The k-th out-of-sample part holds the bars ending in [t0 + inSample + k * outOfSample,
+     * t0 + inSample + (k + 1) * outOfSample), t0 being the end time of the first bar. Its in-sample part holds the
+     * previous bars ending at or after t0 + k * outOfSample (rolling windows) or t0 (anchored windows).
+     * Windows without in-sample or out-of-sample bars are skipped.
+     * @param inSampleDuration the duration of the in-sample parts (of the first one for anchored windows)
+     * @param outOfSampleDuration the duration of the out-of-sample parts
+     * @param anchored true for anchored windows, false for rolling windows
+     * @return the windows (in chronological order)
+     */
+    public List<Window> getWindows(Duration inSampleDuration, Duration outOfSampleDuration, boolean anchored) {
+        final long inSample = inSampleDuration.toMillis();
+        final long outOfSample = outOfSampleDuration.toMillis();
+        if (inSample <= 0 || outOfSample <= 0) {
+            throw new IllegalArgumentException("In-sample and out-of-sample durations must be at least one millisecond");
+        }
+        List<Window> windows = new ArrayList<>();
+        if (timeSeries.isEmpty()) {
+            return windows;
+        }
+        final int beginIndex = Math.max(timeSeries.getBeginIndex(), timeSeries.getRemovedBarsCount());
+        final int endIndex = timeSeries.getEndIndex();
+        final long firstTime = timeSeries.getBar(beginIndex).getEndTimeEpochMilli();
+        for (long k = 0; ; k++) {
+            final long outOfSampleBeginTime = firstTime + inSample + k * outOfSample;
+            final int outOfSampleBegin = timeSeries.getFirstIndexEndingAtOrAfter(outOfSampleBeginTime);
+            if (outOfSampleBegin > endIndex) {
+                break;
+            }
+            final int outOfSampleEnd = timeSeries.getFirstIndexEndingAtOrAfter(outOfSampleBeginTime + outOfSample) - 1;
+            if (outOfSampleBegin > outOfSampleEnd) {
+                // No bar in the out-of-sample period: skipping to the period of the next bar (e.g. over a gap)
+                final long nextEndTime = timeSeries.getBar(outOfSampleBegin).getEndTimeEpochMilli();
+                k = (nextEndTime - firstTime - inSample) / outOfSample - 1;
+                continue;
+            }
+            final int inSampleBegin = anchored ? beginIndex
+                    : timeSeries.getFirstIndexEndingAtOrAfter(firstTime + k * outOfSample);
+            if (inSampleBegin < outOfSampleBegin) {
+                windows.add(new Window(inSampleBegin, outOfSampleBegin, outOfSampleEnd));
+            }
+        }
+        return windows;
+    }
+
+    /**
+     * Runs a walk-forward analysis.
+     * <p>
+     * Opens the trades with {@link OrderType} BUY orders.
+     * @param strategyFactories the factories of the candidate strategies (called by the task evaluating a window,
+     *                          with the sub-series of a window part)
+     * @param criterion the analysis criterion
+     * @param inSampleDuration the duration of the in-sample parts (of the first one for anchored windows)
+     * @param outOfSampleDuration the duration of the out-of-sample parts
+     * @param anchored true for anchored windows, false for rolling windows
+     * @return the report of the run
+     * @see #getWindows(Duration, Duration, boolean)
+     */
+    public Report run(List<Function<TimeSeries, Strategy>> strategyFactories, AnalysisCriterion criterion,
+            Duration inSampleDuration, Duration outOfSampleDuration, boolean anchored) {
+        return run(strategyFactories, OrderType.BUY, criterion, getWindows(inSampleDuration, outOfSampleDuration, anchored));
+    }
+
+    /**
+     * Runs a walk-forward analysis.
+     * @param strategyFactories the factories of the candidate strategies (called by the task evaluating a window,
+     *                          with the sub-series of a window part)
+     * @param orderType the {@link OrderType} used to open the trades
+     * @param criterion the analysis criterion
+     * @param windows the walk-forward windows
+     * @return the report of the run
+     */
+    public Report run(List<Function<TimeSeries, Strategy>> strategyFactories, OrderType orderType,
+            AnalysisCriterion criterion, List<Window> windows) {
+        if (strategyFactories.isEmpty()) {
+            throw new IllegalArgumentException("At least one strategy factory must be provided");
+        }
+        final long start = System.nanoTime();
+        log.trace("Evaluating {} strategies over {} windows", strategyFactories.size(), windows.size());
+        List<ForkJoinTask<WindowResult>> tasks = new ArrayList<>(windows.size());
+        for (Window window : windows) {
+            tasks.add(pool.submit(() -> evaluate(window, strategyFactories, orderType, criterion)));
+        }
+        List<WindowResult> results = new ArrayList<>(tasks.size());
+        for (ForkJoinTask<WindowResult> task : tasks) {
+            results.add(task.join());
+        }
+        return new Report(results, System.nanoTime() - start);
+    }
+
+    /**
+     * Evaluates a window.
+     * @param window the window
+     * @param strategyFactories the factories of the candidate strategies
+     * @param orderType the {@link OrderType} used to open the trades
+     * @param criterion the analysis criterion
+     * @return the result of the window
+     */
+    private WindowResult evaluate(Window window, List<Function<TimeSeries, Strategy>> strategyFactories,
+            OrderType orderType, AnalysisCriterion criterion) {
+        // Choosing the best strategy over the in-sample part
+        TimeSeries inSampleSeries = timeSeries.getSubSeries(window.getInSampleBegin(), window.getOutOfSampleBegin());
+        TimeSeriesManager inSampleManager = new TimeSeriesManager(inSampleSeries);
+        double[] inSampleValues = new double[strategyFactories.size()];
+        int bestStrategyIndex = 0;
+        for (int i = 0; i < inSampleValues.length; i++) {
+            Strategy strategy = strategyFactories.get(i).apply(inSampleSeries);
+            inSampleValues[i] = criterion.calculate(inSampleSeries, inSampleManager.run(strategy, orderType));
+            if (criterion.betterThan(inSampleValues[i], inSampleValues[bestStrategyIndex])) {
+                bestStrategyIndex = i;
+            }
+        }
+
+        // Evaluating it over the out-of-sample part
+        TimeSeries outOfSampleSeries = timeSeries.getSubSeries(window.getOutOfSampleBegin(), window.getOutOfSampleEnd() + 1);
+        Strategy outOfSampleStrategy = strategyFactories.get(bestStrategyIndex).apply(outOfSampleSeries);
+        TradingRecord outOfSampleTradingRecord = new TimeSeriesManager(outOfSampleSeries).run(outOfSampleStrategy, orderType);
+        double outOfSampleValue = criterion.calculate(outOfSampleSeries, outOfSampleTradingRecord);
+        return new WindowResult(window, inSampleValues, bestStrategyIndex, outOfSampleStrategy,
+                outOfSampleTradingRecord, outOfSampleValue);
+    }
+}
@@ -53,6 +53,19 @@ public abstract class AbstractEMAIndicator extends RecursiveCachedIndicator<Deci
         return indicator.getValue(index).minus(prevValue).multipliedBy(multiplier).plus(prevValue);
     }
 
+    @Override
+    protected void calculateValues(int startIndex, int endIndex, Decimal[] target) {
+        final Decimal[] values = new Decimal[endIndex - startIndex];
+        indicator.getValues(startIndex, endIndex, values);
+
+        Decimal value = getValue(startIndex);
+        target[0] = value;
+        for (int i = 1; i < values.length; i++) {
+            value = values[i].minus(value).multipliedBy(multiplier).plus(value);
+            target[i] = value;
+        }
+    }
+
     @Override
     public String toString() {
         return getClass().getSimpleName() + " timeFrame: " + timeFrame;
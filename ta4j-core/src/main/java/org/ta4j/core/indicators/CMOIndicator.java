@@ -26,6 +26,7 @@ import org.ta4j.core.Decimal;
 import org.ta4j.core.Indicator;
 import org.ta4j.core.indicators.helpers.GainIndicator;
 import org.ta4j.core.indicators.helpers.LossIndicator;
+import org.ta4j.core.indicators.helpers.RunningTotalIndicator;
 
 /**
  * Chande Momentum Oscillator indicator.
@@ -37,11 +38,9 @@ import org.ta4j.core.indicators.helpers.LossIndicator;
  */
 public class CMOIndicator extends CachedIndicator<Decimal> {
 
-    private final GainIndicator gainIndicator;
+    private final RunningTotalIndicator sumOfGainsIndicator;
 
-    private final LossIndicator lossIndicator;
-
-    private final int timeFrame;
+    private final RunningTotalIndicator sumOfLossesIndicator;
 
     /**
      * Constructor.
@@ -51,21 +50,15 @@ public class CMOIndicator extends CachedIndicator<Decimal> {
      */
     public CMOIndicator(Indicator<Decimal> indicator, int timeFrame) {
         super(indicator);
-        this.gainIndicator = new GainIndicator(indicator);
-        this.lossIndicator = new LossIndicator(indicator);
-        this.timeFrame = timeFrame;
+        // Gain and loss are zero for the first bar
+        this.sumOfGainsIndicator = new RunningTotalIndicator(new GainIndicator(indicator), timeFrame);
+        this.sumOfLossesIndicator = new RunningTotalIndicator(new LossIndicator(indicator), timeFrame);
     }
 
     @Override
     protected Decimal calculate(int index) {
-        Decimal sumOfGains = Decimal.ZERO;
-        for (int i = Math.max(1, index - timeFrame + 1); i <= index; i++) {
-            sumOfGains = sumOfGains.plus(gainIndicator.getValue(i));
-        }
-        Decimal sumOfLosses = Decimal.ZERO;
-        for (int i = Math.max(1, index - timeFrame + 1); i <= index; i++) {
-            sumOfLosses = sumOfLosses.plus(lossIndicator.getValue(i));
-        }
+        Decimal sumOfGains = sumOfGainsIndicator.getValue(index);
+        Decimal sumOfLosses = sumOfLossesIndicator.getValue(index);
         return sumOfGains.minus(sumOfLosses)
                 .dividedBy(sumOfGains.plus(sumOfLosses))
                 .multipliedBy(Decimal.HUNDRED);
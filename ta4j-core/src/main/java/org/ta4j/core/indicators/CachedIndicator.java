@@ -25,26 +25,55 @@ package org.ta4j.core.indicators;
 import org.ta4j.core.Indicator;
 import org.ta4j.core.TimeSeries;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Cached {@link Indicator indicator}.
  * <p></p>
  * Caches the constructor of the indicator. Avoid to calculate the same index of the indicator twice.
+ * <p>
+ * Results are stored in a circular buffer indexed by bar index (modulo the buffer length). The buffer grows
+ * with the series up to its maximum bar count, so that appending, looking up and evicting results are O(1).
+ * <p>
+ * If the concurrent cache mode of the series is enabled (see {@link TimeSeries#setConcurrentIndicatorCache(boolean)}),
+ * the buffer is only accessed while holding the lock of the indicator and results are calculated outside of it.
+ * The slot of a result being calculated holds a pending result: the other threads asking for it wait for
+ * the calculating thread instead of calculating it again.
+ * <p>
+ * Batch calculations (see {@link #getValues(int, int, Object[])}) are delegated to {@link #calculateValues(int, int, Object[])}
+ * and their results are cached.
+ * <p>
+ * An indicator built on a {@link org.ta4j.core.TimeSeriesView time series view} by an {@link IndicatorRegistry}
+ * may read its values through an equivalent indicator built on the parent series: it then neither calculates
+ * nor caches any result.
  */
 public abstract class CachedIndicator<T> extends AbstractIndicator<T> {
 
-    /** List of cached results */
-    private final List<T> results = new ArrayList<T>();
+    /** Initial length of the results buffer */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** Circular buffer of cached results (the result of index i is stored at i % results.length) */
+    private Object[] results = new Object[0];
 
     /**
-     * Should always be the index of the last result in the results list.
+     * Should always be the index of the last result in the results buffer.
      * I.E. the last calculated result.
      */
     protected int highestResultIndex = -1;
 
+    /**
+     * Number of results covered by the buffer.
+     * I.E. the buffer holds the results from (highestResultIndex - resultCount + 1) to highestResultIndex.
+     */
+    private int resultCount = 0;
+
+    /** The equivalent indicator on the parent series the values are read from (null if they are calculated) */
+    private Indicator<T> readThroughIndicator;
+
+    /** The index, in the parent series, of the first bar of the series */
+    private int readThroughOffset;
+
     /**
      * Constructor.
      * @param series the related time series
@@ -63,6 +92,10 @@ public abstract class CachedIndicator<T> extends AbstractIndicator<T> {
 
     @Override
     public T getValue(int index) {
+        if (readThroughIndicator != null) {
+            checkReadThroughRange(index, index + 1);
+            return readThroughIndicator.getValue(readThroughOffset + index);
+        }
         TimeSeries series = getTimeSeries();
         if (series == null) {
             // Series is null; the indicator doesn't need cache.
@@ -73,6 +106,10 @@ public abstract class CachedIndicator<T> extends AbstractIndicator<T> {
 
         // Series is not null
 
+        if (series.isConcurrentIndicatorCache()) {
+            return getValueConcurrently(series, index);
+        }
+
         final int removedBarsCount = series.getRemovedBarsCount();
         final int maximumResultCount = series.getMaximumBarCount();
 
@@ -81,36 +118,191 @@ public abstract class CachedIndicator<T> extends AbstractIndicator<T> {
             // Result already removed from cache
             log.trace("{}: result from bar {} already removed from cache, use {}-th instead",
                     getClass().getSimpleName(), index, removedBarsCount);
-            increaseLengthTo(removedBarsCount, maximumResultCount);
-            highestResultIndex = removedBarsCount;
-            result = results.get(0);
+            if (removedBarsCount > highestResultIndex) {
+                increaseLengthTo(removedBarsCount, maximumResultCount);
+            }
+            result = readCachedResult(removedBarsCount);
             if (result == null) {
                 // It should be "result = calculate(removedBarsCount);".
                 // We use "result = calculate(0);" as a workaround
                 // to fix issue #120 (https://github.com/mdeverdelhan/ta4j/issues/120).
                 result = calculate(0);
-                results.set(0, result);
+                setCachedResult(removedBarsCount, result);
             }
         } else {
-            increaseLengthTo(index, maximumResultCount);
             if (index > highestResultIndex) {
                 // Result not calculated yet
-                highestResultIndex = index;
+                increaseLengthTo(index, maximumResultCount);
                 result = calculate(index);
-                results.set(results.size()-1, result);
+                setCachedResult(index, result);
             } else {
                 // Result covered by current cache
-                int resultInnerIndex = results.size() - 1 - (highestResultIndex - index);
-                result = results.get(resultInnerIndex);
+                result = readCachedResult(index);
                 if (result == null) {
                     result = calculate(index);
-                    results.set(resultInnerIndex, result);
+                    setCachedResult(index, result);
                 }
             }
         }
         return result;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The values are calculated by {@link #calculateValues(int, int, Object[])} and cached, unless the
+     * concurrent cache mode is enabled or some of the bars have been removed from the series (the values
+     * are then got one by one).
+     */
+    @Override
+    public void getValues(int startIndex, int endIndex, T[] target) {
+        if (readThroughIndicator != null) {
+            checkReadThroughRange(startIndex, endIndex);
+            readThroughIndicator.getValues(readThroughOffset + startIndex, readThroughOffset + endIndex, target);
+            return;
+        }
+        TimeSeries series = getTimeSeries();
+        if (series == null || series.isConcurrentIndicatorCache() || startIndex < series.getRemovedBarsCount()) {
+            super.getValues(startIndex, endIndex, target);
+            return;
+        }
+        if (startIndex >= endIndex) {
+            return;
+        }
+        calculateValues(startIndex, endIndex, target);
+        final int lastIndex = endIndex - 1;
+        if (lastIndex > highestResultIndex) {
+            increaseLengthTo(lastIndex, series.getMaximumBarCount());
+        }
+        for (int i = startIndex; i < endIndex; i++) {
+            setCachedResult(i, target[i - startIndex]);
+        }
+    }
+
+    /**
+     * Makes the indicator read its values through an equivalent indicator built on the parent series of its series.
+     * <p>
+     * Value i of the indicator is then value {@code offset + i} of the parent indicator. It must be called before
+     * the first value is read.
+     * @param parentIndicator the equivalent indicator on the parent series
+     * @param offset the index, in the parent series, of the first bar of the series
+     */
+    void readThrough(Indicator<T> parentIndicator, int offset) {
+        this.readThroughIndicator = parentIndicator;
+        this.readThroughOffset = offset;
+    }
+
+    /**
+     * Checks that a range of indexes is covered by the series of a read-through indicator
+     * (so that the values of the parent indicator before or after the series are not read).
+     * @param startIndex the first bar index (inclusive)
+     * @param endIndex the last bar index (exclusive)
+     * @throws IndexOutOfBoundsException if the range is not covered by the series
+     */
+    private void checkReadThroughRange(int startIndex, int endIndex) {
+        if (startIndex < endIndex && (startIndex < 0 || endIndex - 1 > getTimeSeries().getEndIndex())) {
+            throw new IndexOutOfBoundsException("Indexes " + startIndex + " to " + (endIndex - 1)
+                    + " out of the series (end index = " + getTimeSeries().getEndIndex() + ")");
+        }
+    }
+
+    /**
+     * @return true if the values are read through an indicator on the parent series, false otherwise
+     */
+    boolean isReadThrough() {
+        return readThroughIndicator != null;
+    }
+
+    /**
+     * Concurrent version of {@link #getValue(int)}.
+     * @param series the related time series
+     * @param index the bar index
+     * @return the value of the indicator
+     */
+    @SuppressWarnings("unchecked")
+    private T getValueConcurrently(TimeSeries series, int index) {
+        final int removedBarsCount = series.getRemovedBarsCount();
+        // Same workaround as in getValue(int) for the results of removed bars
+        final int cacheIndex = Math.max(index, removedBarsCount);
+        final int calculationIndex = index < removedBarsCount ? 0 : index;
+
+        PendingResult awaited = null;
+        PendingResult pending = null;
+        synchronized (this) {
+            if (cacheIndex > highestResultIndex) {
+                increaseLengthTo(cacheIndex, series.getMaximumBarCount());
+            }
+            if (isCovered(cacheIndex)) {
+                Object cached = results[cacheIndex % results.length];
+                if (cached instanceof PendingResult) {
+                    awaited = (PendingResult) cached;
+                } else if (cached != null) {
+                    return (T) cached;
+                } else {
+                    pending = new PendingResult();
+                    results[cacheIndex % results.length] = pending;
+                }
+            }
+        }
+
+        if (awaited != null) {
+            if (awaited.owner != Thread.currentThread()) {
+                return awaitResult(awaited);
+            }
+            // Re-entrant call from the calculating thread: calculating it again (without caching it)
+            return calculate(calculationIndex);
+        }
+        if (pending == null) {
+            // Result not covered by the cache
+            return calculate(calculationIndex);
+        }
+
+        final T result;
+        try {
+            result = calculate(calculationIndex);
+        } catch (RuntimeException | Error e) {
+            publishResult(cacheIndex, pending, null);
+            pending.completeExceptionally(e);
+            throw e;
+        }
+        publishResult(cacheIndex, pending, result);
+        pending.complete(result);
+        return result;
+    }
+
+    /**
+     * Replaces a pending result by the calculated one (if it has not been evicted in the meantime).
+     * @param index the bar index
+     * @param pending the pending result
+     * @param result the calculated result (null to release the slot)
+     */
+    private synchronized void publishResult(int index, PendingResult pending, T result) {
+        if (isCovered(index) && results[index % results.length] == pending) {
+            results[index % results.length] = result;
+        }
+    }
+
+    /**
+     * Waits for a result being calculated by another thread.
+     * @param pending the pending result
+     * @return the calculated result
+     */
+    @SuppressWarnings("unchecked")
+    private T awaitResult(PendingResult pending) {
+        try {
+            return (T) pending.join();
+        } catch (CompletionException e) {
+            // Rethrowing the exception thrown by the calculating thread
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
     /**
      * @param index the bar index
      * @return the value of the indicator
@@ -118,40 +310,141 @@ public abstract class CachedIndicator<T> extends AbstractIndicator<T> {
     protected abstract T calculate(int index);
 
     /**
-     * Increases the size of cached results buffer.
-     * @param index the index to increase length to
+     * Calculates the values of the indicator between two indexes (batch version of {@link #calculate(int)}).
+     * <p>
+     * Indicators may override it with a tight loop, as long as the values are the same as the ones of
+     * {@link #getValue(int)}. The default implementation calls {@link #getValue(int)} for each index.
+     * @param startIndex the first bar index (inclusive)
+     * @param endIndex the last bar index (exclusive)
+     * @param target the array receiving the values from position 0
+     */
+    protected void calculateValues(int startIndex, int endIndex, T[] target) {
+        for (int i = startIndex; i < endIndex; i++) {
+            target[i - startIndex] = getValue(i);
+        }
+    }
+
+    /**
+     * Returns the cached result for an index, without calculating it.
+     * <p>
+     * Allows incremental indicators to start from a previous result when it is available.
+     * @param index the bar index
+     * @return the cached result for the index, null if not calculated yet or not covered by the cache
+     */
+    protected T getCachedResult(int index) {
+        TimeSeries series = getTimeSeries();
+        if (series != null && series.isConcurrentIndicatorCache()) {
+            synchronized (this) {
+                return readCachedResult(index);
+            }
+        }
+        return readCachedResult(index);
+    }
+
+    /**
+     * @param index the bar index
+     * @return the cached result for the index, null if not calculated yet, being calculated or not covered by the cache
+     */
+    @SuppressWarnings("unchecked")
+    private T readCachedResult(int index) {
+        if (!isCovered(index)) {
+            return null;
+        }
+        Object result = results[index % results.length];
+        return result instanceof PendingResult ? null : (T) result;
+    }
+
+    /**
+     * Returns the cached result of the previous index, if it can be used to calculate the result
+     * of a sliding time frame incrementally (i.e. by adding the value entering the time frame and
+     * removing the one leaving it).
+     * <p>
+     * On a moving series, neither the previous result nor the value leaving the time frame must have
+     * been approximated from removed bars.
+     * @param index the bar index
+     * @param timeFrame the time frame
+     * @return the cached result of the previous index, null if the result has to be fully calculated
+     */
+    protected T getPreviousResult(int index, int timeFrame) {
+        if (index <= 0) {
+            return null;
+        }
+        final int removedBarsCount = getTimeSeries() == null ? 0 : getTimeSeries().getRemovedBarsCount();
+        if (removedBarsCount > 0 && (index - timeFrame < removedBarsCount || index - 1 <= removedBarsCount)) {
+            // The result cached for the first remaining bar may be the one of bar 0
+            return null;
+        }
+        return getCachedResult(index - 1);
+    }
+
+    /**
+     * Caches a result (does nothing if the index is not covered by the cache).
+     * @param index the bar index
+     * @param result the result of the indicator for the index
+     */
+    private void setCachedResult(int index, T result) {
+        if (isCovered(index)) {
+            results[index % results.length] = result;
+        }
+    }
+
+    /**
+     * @param index the bar index
+     * @return true if the index is covered by the results buffer, false otherwise
+     */
+    private boolean isCovered(int index) {
+        return index <= highestResultIndex && index > highestResultIndex - resultCount;
+    }
+
+    /**
+     * Moves the end of the results buffer to the provided index.
+     * (i.e. old results which exceed the maximum bar count are evicted)
+     * @param index the index to increase length to (must be greater than the highest result index)
      * @param maxLength the maximum length of the results buffer
      */
     private void increaseLengthTo(int index, int maxLength) {
+        final int newResultCount;
         if (highestResultIndex > -1) {
-            int newResultsCount = Math.min(index-highestResultIndex, maxLength);
-            if (newResultsCount == maxLength) {
-                results.clear();
-                results.addAll(Collections.nCopies(maxLength, null));
-            } else if (newResultsCount > 0) {
-                results.addAll(Collections.nCopies(newResultsCount, null));
-                removeExceedingResults(maxLength);
-            }
+            newResultCount = (int) Math.min((long) resultCount + index - highestResultIndex, maxLength);
         } else {
             // First use of cache
-            assert results.isEmpty() : "Cache results list should be empty";
-            results.addAll(Collections.nCopies(Math.min(index+1, maxLength), null));
+            newResultCount = Math.min(index + 1, maxLength);
+        }
+        final int firstKeptIndex = index - newResultCount + 1;
+        ensureCapacity(newResultCount, maxLength, firstKeptIndex);
+        // Clearing the slots of the new indexes (they may hold evicted results)
+        for (int i = Math.max(highestResultIndex + 1, firstKeptIndex); i <= index; i++) {
+            results[i % results.length] = null;
         }
+        highestResultIndex = index;
+        resultCount = newResultCount;
     }
 
     /**
-     * Removes the N first results which exceed the maximum bar count.
-     * (i.e. keeps only the last maximumResultCount results)
-     * @param maximumResultCount the number of results to keep
+     * Grows the results buffer if needed, keeping the results from the provided index.
+     * @param minCapacity the minimum length of the buffer
+     * @param maxLength the maximum length of the results buffer
+     * @param firstKeptIndex the first index whose result has to be kept
      */
-    private void removeExceedingResults(int maximumResultCount) {
-        int resultCount = results.size();
-        if (resultCount > maximumResultCount) {
-            // Removing old results
-            final int nbResultsToRemove = resultCount - maximumResultCount;
-            for (int i = 0; i < nbResultsToRemove; i++) {
-                results.remove(0);
-            }
+    private void ensureCapacity(int minCapacity, int maxLength, int firstKeptIndex) {
+        final int oldCapacity = results.length;
+        if (minCapacity <= oldCapacity) {
+            return;
+        }
+        final int grownCapacity = (int) Math.min(Math.max(oldCapacity * 2L, INITIAL_CAPACITY), maxLength);
+        final Object[] newResults = new Object[Math.max(minCapacity, grownCapacity)];
+        for (int i = Math.max(highestResultIndex - resultCount + 1, firstKeptIndex); i <= highestResultIndex; i++) {
+            newResults[i % newResults.length] = results[i % oldCapacity];
         }
+        results = newResults;
+    }
+
+    /**
+     * A result being calculated by its owner thread.
+     */
+    private static final class PendingResult extends CompletableFuture<Object> {
+
+        /** The thread calculating the result */
+        private final Thread owner = Thread.currentThread();
     }
 }
@@ -0,0 +1,77 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators;
+
+import org.ta4j.core.Decimal;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.indicators.helpers.AbsoluteIndicator;
+import org.ta4j.core.indicators.helpers.DifferenceIndicator;
+import org.ta4j.core.indicators.helpers.PreviousValueIndicator;
+import org.ta4j.core.indicators.helpers.RunningTotalIndicator;
+
+/**
+ * Kaufman's Efficiency Ratio (ER) indicator.
+ * <p></p>
+ * ER = Change/Volatility<br>
+ * Change = ABS(Price - Price (n periods ago))<br>
+ * Volatility = Sum_n(ABS(Price - Prior Price))
+ * <p>
+ * The volatility is a running total of the absolute one-bar changes, so that walking the series is O(1) per bar.
+ *
+ * @see <a href="http://stockcharts.com/school/doku.php?id=chart_school:technical_indicators:kaufman_s_adaptive_moving_average">
+ *     http://stockcharts.com/school/doku.php?id=chart_school:technical_indicators:kaufman_s_adaptive_moving_average</a>
+ */
+public class EfficiencyRatioIndicator extends CachedIndicator<Decimal> {
+
+    private final Indicator<Decimal> price;
+
+    private final int timeFrame;
+
+    private final RunningTotalIndicator volatility;
+
+    /**
+     * Constructor.
+     *
+     * @param price the price
+     * @param timeFrame the time frame (usually 10)
+     */
+    public EfficiencyRatioIndicator(Indicator<Decimal> price, int timeFrame) {
+        super(price);
+        this.price = price;
+        this.timeFrame = timeFrame;
+        Indicator<Decimal> absoluteChange = new AbsoluteIndicator(new DifferenceIndicator(price, new PreviousValueIndicator(price)));
+        volatility = new RunningTotalIndicator(absoluteChange, timeFrame);
+    }
+
+    @Override
+    protected Decimal calculate(int index) {
+        int startChangeIndex = Math.max(0, index - timeFrame);
+        Decimal change = price.getValue(index).minus(price.getValue(startChangeIndex)).abs();
+        return change.dividedBy(volatility.getValue(index));
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " timeFrame: " + timeFrame;
+    }
+}
@@ -0,0 +1,414 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators;
+
+import org.ta4j.core.Indicator;
+import org.ta4j.core.TimeSeries;
+import org.ta4j.core.TimeSeriesView;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registry of the {@link Indicator indicators} of a {@link TimeSeries time series}.
+ * <p>
+ * Canonicalizes the indicators by type and constructor parameters: asking twice for the same indicator
+ * (e.g. {@code get(SMAIndicator.class, closePrice, 20)}) returns the same instance, so that strategies built
+ * with the same registry share their indicators (and their cached results) instead of computing them repeatedly.
+ * Indicator parameters are compared by identity (they should come from the registry too), the other parameters
+ * with {@link Object#equals(Object)}.
+ * <p>
+ * The registry is thread-safe. Note that strategies run concurrently may only share indicators if the
+ * concurrent indicator cache of the series is enabled (see {@link TimeSeries#setConcurrentIndicatorCache(boolean)}).
+ * <p>
+ * A registry of a {@link TimeSeriesView time series view} may be linked to the registry of the parent series
+ * (see {@link #IndicatorRegistry(TimeSeriesView, IndicatorRegistry)}): its cached indicators then read their values
+ * through the equivalent indicators of the parent registry instead of calculating and caching them again.
+ */
+public class IndicatorRegistry {
+
+    /**
+     * The key of an indicator (type and constructor parameters).
+     */
+    private static final class Key {
+
+        private final Class<?> type;
+
+        private final List<Object> parameters;
+
+        private Key(Class<?> type, Object[] parameters) {
+            this.type = type;
+            this.parameters = Arrays.asList(parameters);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return type == other.type && parameters.equals(other.parameters);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * type.hashCode() + parameters.hashCode();
+        }
+    }
+
+    private final TimeSeries series;
+
+    private final ConcurrentMap<Key, Indicator<?>> indicators = new ConcurrentHashMap<>();
+
+    /** The shared indicators, in creation order */
+    private final List<Indicator<?>> createdIndicators = new CopyOnWriteArrayList<>();
+
+    private final AtomicLong requestCount = new AtomicLong();
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    /** Number of hits on cached indicators */
+    private final AtomicLong cachedIndicatorHitCount = new AtomicLong();
+
+    /** The registry of the parent series (null if the registry is not linked to a parent registry) */
+    private final IndicatorRegistry parentRegistry;
+
+    /** The index, in the parent series, of the first bar of the series */
+    private final int parentOffset;
+
+    /** The equivalent indicators in the parent registry of the indicators of the registry */
+    private final Map<Indicator<?>, Indicator<?>> parentIndicators = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    /** Number of indicators reading their values through the parent registry */
+    private final AtomicLong readThroughCount = new AtomicLong();
+
+    /**
+     * Constructor.
+     * @param series the time series of the indicators
+     */
+    public IndicatorRegistry(TimeSeries series) {
+        if (series == null) {
+            throw new IllegalArgumentException("Series cannot be null");
+        }
+        this.series = series;
+        this.parentRegistry = null;
+        this.parentOffset = 0;
+    }
+
+    /**
+     * Constructor of a registry linked to the registry of the parent series of a view.
+     * <p>
+     * Each indicator of the registry is matched (by type and parameters) with an indicator of the parent registry.
+     * The cached ones read their values through their parent equivalents: value i of an indicator is the value,
+     * at index {@code view.getOffset() + i}, of the parent indicator. Unlike indicators calculated over the view
+     * only, their first values thus take the bars preceding the view into account (no warm-up period).
+     * @param view the time series view of the indicators
+     * @param parentRegistry the registry of the parent series of the view
+     * @throws IllegalArgumentException if the parent registry is not bound to the parent series of the view
+     */
+    public IndicatorRegistry(TimeSeriesView view, IndicatorRegistry parentRegistry) {
+        if (view == null || parentRegistry == null) {
+            throw new IllegalArgumentException("View and parent registry cannot be null");
+        }
+        if (parentRegistry.getTimeSeries() != view.getParent()) {
+            throw new IllegalArgumentException("Parent registry is not bound to the parent series of the view");
+        }
+        this.series = view;
+        this.parentRegistry = parentRegistry;
+        this.parentOffset = view.getOffset();
+    }
+
+    /**
+     * @return the time series of the indicators
+     */
+    public TimeSeries getTimeSeries() {
+        return series;
+    }
+
+    /**
+     * Returns the shared indicator of a type built with the provided constructor parameters
+     * (built by the first call).
+     * @param type the type of the indicator
+     * @param parameters the parameters of a public constructor of the type
+     * @param <I> the type of the indicator
+     * @return the shared indicator
+     * @throws IllegalArgumentException if a parameter is bound to another series, or if there is no matching constructor
+     *         (or several ones, none of them being the most specific)
+     */
+    public <I extends Indicator<?>> I get(Class<I> type, Object... parameters) {
+        requestCount.incrementAndGet();
+        final Key key = new Key(type, parameters.clone());
+        Indicator<?> indicator = indicators.get(key);
+        if (indicator == null) {
+            Indicator<?> newIndicator = create(type, parameters);
+            final boolean readThrough = linkToParent(type, parameters, newIndicator);
+            indicator = indicators.putIfAbsent(key, newIndicator);
+            if (indicator == null) {
+                createdIndicators.add(newIndicator);
+                if (readThrough) {
+                    readThroughCount.incrementAndGet();
+                }
+                return type.cast(newIndicator);
+            }
+            parentIndicators.remove(newIndicator);
+        }
+        hitCount.incrementAndGet();
+        if (indicator instanceof CachedIndicator) {
+            cachedIndicatorHitCount.incrementAndGet();
+        }
+        return type.cast(indicator);
+    }
+
+    /**
+     * Returns the shared indicators in creation order: the sub-indicators built by the registry come before
+     * the indicators using them.
+     * @return the shared indicators (unmodifiable)
+     */
+    public List<Indicator<?>> getIndicators() {
+        return Collections.unmodifiableList(createdIndicators);
+    }
+
+    /**
+     * @return the number of shared indicators
+     */
+    public int getIndicatorCount() {
+        return indicators.size();
+    }
+
+    /**
+     * @return the number of shared indicators reading their values through the parent registry
+     * @see #IndicatorRegistry(TimeSeriesView, IndicatorRegistry)
+     */
+    public long getReadThroughCount() {
+        return readThroughCount.get();
+    }
+
+    /**
+     * @return the number of calls to {@link #get(Class, Object...)}
+     */
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * @return the number of calls to {@link #get(Class, Object...)} which returned an existing indicator
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * @return the ratio of calls to {@link #get(Class, Object...)} which returned an existing indicator (0 if no call)
+     */
+    public double getHitRate() {
+        final long requests = requestCount.get();
+        return requests == 0 ? 0 : (double) hitCount.get() / requests;
+    }
+
+    /**
+     * Estimates the memory saved by the registry as a number of cached results: each hit on a cached
+     * indicator avoids a duplicate cache of (up to) one result per bar of the series.
+     * @return the estimated number of cached results saved by the registry
+     */
+    public long getSavedCachedResultCount() {
+        final long resultsPerIndicator = Math.min(series.getEndIndex() + 1, series.getMaximumBarCount());
+        return cachedIndicatorHitCount.get() * Math.max(0, resultsPerIndicator);
+    }
+
+    /**
+     * Links a new indicator to its equivalent in the parent registry (if any).
+     * @param type the type of the indicator
+     * @param parameters the constructor parameters of the indicator
+     * @param indicator the new indicator
+     * @return true if the indicator reads its values through the parent registry, false otherwise
+     */
+    @SuppressWarnings("unchecked")
+    private boolean linkToParent(Class<? extends Indicator<?>> type, Object[] parameters, Indicator<?> indicator) {
+        if (parentRegistry == null) {
+            return false;
+        }
+        final Object[] parentParameters = new Object[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            if (parameters[i] == series) {
+                parentParameters[i] = parentRegistry.getTimeSeries();
+            } else if (parameters[i] instanceof Indicator) {
+                parentParameters[i] = parentIndicators.get(parameters[i]);
+                if (parentParameters[i] == null) {
+                    // Sub-indicator not built by the registry: no parent equivalent
+                    return false;
+                }
+            } else {
+                parentParameters[i] = parameters[i];
+            }
+        }
+        final Indicator<?> parentIndicator = parentRegistry.get(type, parentParameters);
+        parentIndicators.put(indicator, parentIndicator);
+        if (indicator instanceof CachedIndicator) {
+            ((CachedIndicator<Object>) indicator).readThrough((Indicator<Object>) parentIndicator, parentOffset);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Builds an indicator with the most specific public constructor of its type matching the parameters.
+     * @param type the type of the indicator
+     * @param parameters the constructor parameters
+     * @return the new indicator
+     */
+    private Indicator<?> create(Class<?> type, Object[] parameters) {
+        for (Object parameter : parameters) {
+            if ((parameter instanceof TimeSeries && parameter != series)
+                    || (parameter instanceof Indicator && ((Indicator<?>) parameter).getTimeSeries() != series)) {
+                throw new IllegalArgumentException("Parameter " + parameter + " is not bound to the series of the registry");
+            }
+        }
+        final Constructor<?> constructor = mostSpecificConstructor(type, parameters);
+        try {
+            return (Indicator<?>) constructor.newInstance(parameters);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Cannot build " + type.getSimpleName(), e.getCause());
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new IllegalArgumentException("Cannot build " + type.getSimpleName(), e);
+        }
+    }
+
+    /**
+     * Selects the public constructor to call, as the compiler would do: among the constructors accepting the
+     * parameters, the one whose parameter types are all subtypes of the parameter types of the others.
+     * @param type the type of the indicator
+     * @param parameters the constructor parameters
+     * @return the most specific public constructor accepting the parameters
+     * @throws IllegalArgumentException if no public constructor accepts the parameters, or if several do and none
+     *         of them is the most specific
+     */
+    private static Constructor<?> mostSpecificConstructor(Class<?> type, Object[] parameters) {
+        final List<Constructor<?>> candidates = new ArrayList<>();
+        for (Constructor<?> constructor : type.getConstructors()) {
+            if (matches(constructor.getParameterTypes(), parameters)) {
+                candidates.add(constructor);
+            }
+        }
+        if (candidates.isEmpty()) {
+            throw new IllegalArgumentException("No public constructor of " + type.getSimpleName()
+                    + " matching parameters " + Arrays.toString(parameters));
+        }
+        for (Constructor<?> candidate : candidates) {
+            boolean mostSpecific = true;
+            for (Constructor<?> other : candidates) {
+                if (other != candidate && !isMoreSpecific(candidate, other)) {
+                    mostSpecific = false;
+                    break;
+                }
+            }
+            if (mostSpecific) {
+                return candidate;
+            }
+        }
+        throw new IllegalArgumentException("Ambiguous public constructors of " + type.getSimpleName()
+                + " for parameters " + Arrays.toString(parameters) + ": " + candidates);
+    }
+
+    /**
+     * @param constructor a constructor
+     * @param other another constructor with the same number of parameters
+     * @return true if each parameter type of the constructor is a subtype of the one of the other constructor
+     *         (and the two constructors are not equally specific), false otherwise
+     */
+    private static boolean isMoreSpecific(Constructor<?> constructor, Constructor<?> other) {
+        final Class<?>[] parameterTypes = constructor.getParameterTypes();
+        final Class<?>[] otherParameterTypes = other.getParameterTypes();
+        boolean strictlyMoreSpecific = false;
+        for (int i = 0; i < parameterTypes.length; i++) {
+            final Class<?> parameterType = wrap(parameterTypes[i]);
+            final Class<?> otherParameterType = wrap(otherParameterTypes[i]);
+            if (!otherParameterType.isAssignableFrom(parameterType)) {
+                return false;
+            }
+            if (otherParameterType != parameterType) {
+                strictlyMoreSpecific = true;
+            }
+        }
+        return strictlyMoreSpecific;
+    }
+
+    /**
+     * @param parameterTypes the parameter types of a constructor
+     * @param parameters the parameters
+     * @return true if the parameters can be passed to the constructor, false otherwise
+     */
+    private static boolean matches(Class<?>[] parameterTypes, Object[] parameters) {
+        if (parameterTypes.length != parameters.length) {
+            return false;
+        }
+        for (int i = 0; i < parameters.length; i++) {
+            final Class<?> parameterType = wrap(parameterTypes[i]);
+            if (parameters[i] == null ? parameterTypes[i].isPrimitive() : !parameterType.isInstance(parameters[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param type a type
+     * @return the wrapper type of a primitive type, the type itself otherwise
+     */
+    private static Class<?> wrap(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        }
+        if (type == int.class) {
+            return Integer.class;
+        } else if (type == double.class) {
+            return Double.class;
+        } else if (type == long.class) {
+            return Long.class;
+        } else if (type == boolean.class) {
+            return Boolean.class;
+        } else if (type == float.class) {
+            return Float.class;
+        } else if (type == short.class) {
+            return Short.class;
+        } else if (type == byte.class) {
+            return Byte.class;
+        }
+        return Character.class;
+    }
+}
@@ -36,6 +36,8 @@ public class KAMAIndicator extends RecursiveCachedIndicator<Decimal> {
     private final Indicator<Decimal> price;
     
     private final int timeFrameEffectiveRatio;
+
+    private final EfficiencyRatioIndicator efficiencyRatio;
     
     private final Decimal fastest;
     
@@ -53,6 +55,7 @@ public class KAMAIndicator extends RecursiveCachedIndicator<Decimal> {
         super(price);
         this.price = price;
         this.timeFrameEffectiveRatio = timeFrameEffectiveRatio;
+        efficiencyRatio = new EfficiencyRatioIndicator(price, timeFrameEffectiveRatio);
         fastest = Decimal.TWO.dividedBy(Decimal.valueOf(timeFrameFast + 1));
         slowest = Decimal.TWO.dividedBy(Decimal.valueOf(timeFrameSlow + 1));
     }
@@ -70,13 +73,7 @@ public class KAMAIndicator extends RecursiveCachedIndicator<Decimal> {
          * Volatility = Sum10(ABS(Close - Prior Close))
          * Volatility is the sum of the absolute value of the last ten price changes (Close - Prior Close).
          */
-        int startChangeIndex = Math.max(0, index - timeFrameEffectiveRatio);
-        Decimal change = currentPrice.minus(price.getValue(startChangeIndex)).abs();
-        Decimal volatility = Decimal.ZERO;
-        for (int i = startChangeIndex; i < index; i++) {
-            volatility = volatility.plus(price.getValue(i + 1).minus(price.getValue(i)).abs());
-        }
-        Decimal er = change.dividedBy(volatility);
+        Decimal er = efficiencyRatio.getValue(index);
         /*
          * Smoothing Constant (SC)
          * SC = [ER x (fastest SC - slowest SC) + slowest SC]2
@@ -24,32 +24,57 @@ package org.ta4j.core.indicators;
 
 import org.ta4j.core.Decimal;
 import org.ta4j.core.TimeSeries;
-import org.ta4j.core.indicators.helpers.HighestValueIndicator;
-import org.ta4j.core.indicators.helpers.LowestValueIndicator;
 import org.ta4j.core.indicators.helpers.MaxPriceIndicator;
 import org.ta4j.core.indicators.helpers.MinPriceIndicator;
 
 /**
  * Parabolic SAR indicator.
  * team172011(Simon-Justus Wimmer), 18.09.2017
+ * <p></p>
+ * The trend, the acceleration factor and the extreme points are cached with the SAR of each bar,
+ * so that the value of a bar only depends on the state of the previous bar (O(1) per bar).
  */
 public class ParabolicSarIndicator extends RecursiveCachedIndicator<Decimal> {
 
-    private Decimal accelerationFactor;
+    /**
+     * The state of the parabolic SAR at a bar (immutable).
+     */
+    private static final class SarState {
+
+        private final Decimal sar;
+        /** True if up trend, false otherwise */
+        private final boolean upTrend;
+        private final Decimal accelerationFactor;
+        /** The extreme point used for the SAR of the next bar */
+        private final Decimal currentExtremePoint;
+        /** Depending on trend the maximum or minimum extreme point value of the trend */
+        private final Decimal minMaxExtremePoint;
+        /** The extreme price of the bars after the start bar of the trend (null if none) */
+        private final Decimal trendExtremePrice;
+
+        private SarState(Decimal sar, boolean upTrend, Decimal accelerationFactor,
+                         Decimal currentExtremePoint, Decimal minMaxExtremePoint, Decimal trendExtremePrice) {
+            this.sar = sar;
+            this.upTrend = upTrend;
+            this.accelerationFactor = accelerationFactor;
+            this.currentExtremePoint = currentExtremePoint;
+            this.minMaxExtremePoint = minMaxExtremePoint;
+            this.trendExtremePrice = trendExtremePrice;
+        }
+    }
+
+    private static final SarState NAN_STATE = new SarState(Decimal.NaN, false, Decimal.NaN, Decimal.NaN, Decimal.NaN, null);
+
     private final Decimal maxAcceleration;
     private final Decimal accelerationIncrement;
     private final Decimal accelarationStart;
 
-
-
     private final TimeSeries series;
 
-    private boolean currentTrend; // true if uptrend, false otherwise
-    private int startTrendIndex = 0; // index of start bar of the current trend
-    private MinPriceIndicator minPriceIndicator;
-    private MaxPriceIndicator maxPriceIndicator;
-    private Decimal currentExtremePoint; // the extreme point of the current calculation
-    private Decimal minMaxExtremePoint; // depending on trend the maximum or minimum extreme point value of trend
+    private final MinPriceIndicator minPriceIndicator;
+    private final MaxPriceIndicator maxPriceIndicator;
+
+    private final RecursiveCachedIndicator<SarState> states;
 
     /**
      * Constructor with default parameters
@@ -83,79 +108,85 @@ public class ParabolicSarIndicator extends RecursiveCachedIndicator<Decimal> {
         maxPriceIndicator = new MaxPriceIndicator(series);
         minPriceIndicator = new MinPriceIndicator(series);
         maxAcceleration = maxA;
-        accelerationFactor = aF;
         accelerationIncrement = increment;
         accelarationStart = aF;
+        states = new RecursiveCachedIndicator<SarState>(series) {
+            @Override
+            protected SarState calculate(int index) {
+                return calculateState(index);
+            }
+        };
     }
 
     @Override
     protected Decimal calculate(int index) {
-        Decimal sar = Decimal.NaN;
-        if (index == series.getBeginIndex()) {
-            return sar; // no trend detection possible for the first value
+        return states.getValue(index).sar;
+    }
+
+    /**
+     * @param index the bar index
+     * @return the state of the parabolic SAR at the bar, computed from the state of the previous bar
+     */
+    private SarState calculateState(int index) {
+        if (index <= series.getBeginIndex()) {
+            return NAN_STATE; // no trend detection possible for the first value
         } else if (index == series.getBeginIndex() + 1) {// start trend detection
-            currentTrend = series.getBar(series.getBeginIndex()).getClosePrice().isLessThan(series.getBar(index).getClosePrice());
-            if (!currentTrend) { // down trend
-                sar = maxPriceIndicator.getValue(index); // put sar on max price of candlestick
-                currentExtremePoint = sar;
-                minMaxExtremePoint = currentExtremePoint;
+            boolean upTrend = series.getBar(series.getBeginIndex()).getClosePrice().isLessThan(series.getBar(index).getClosePrice());
+            if (!upTrend) { // down trend
+                Decimal sar = maxPriceIndicator.getValue(index); // put sar on max price of candlestick
+                return new SarState(sar, false, accelarationStart, sar, sar, minPriceIndicator.getValue(index));
             } else { // up trend
-                sar = minPriceIndicator.getValue(index); // put sar on min price of candlestick
-                currentExtremePoint = sar;
-                minMaxExtremePoint = currentExtremePoint;
-
+                Decimal sar = minPriceIndicator.getValue(index); // put sar on min price of candlestick
+                return new SarState(sar, true, accelarationStart, sar, sar, maxPriceIndicator.getValue(index));
             }
-            return sar;
         }
 
-        Decimal priorSar = getValue(index-1);
-        if (currentTrend) { // if up trend
-            sar = priorSar.plus(accelerationFactor.multipliedBy((currentExtremePoint.minus(priorSar))));
-            currentTrend = minPriceIndicator.getValue(index).isGreaterThan(sar);
-            if (!currentTrend) { // check if sar touches the min price
-                sar = minMaxExtremePoint; // sar starts at the highest extreme point of previous up trend
-                currentTrend = false; // switch to down trend and reset values
-                startTrendIndex = index;
-                accelerationFactor = accelarationStart;
-                currentExtremePoint = series.getBar(index).getMinPrice(); // put point on max
-                minMaxExtremePoint = currentExtremePoint;
-            } else { // up trend is going on
-                currentExtremePoint = new HighestValueIndicator(maxPriceIndicator, index - startTrendIndex).getValue(index);
-                if (currentExtremePoint.isGreaterThan(minMaxExtremePoint)) {
-                    incrementAcceleration();
-                    minMaxExtremePoint = currentExtremePoint;
-                }
-
+        SarState prior = states.getValue(index - 1);
+        Decimal accelerationFactor = prior.accelerationFactor;
+        if (prior.upTrend) { // if up trend
+            Decimal sar = prior.sar.plus(accelerationFactor.multipliedBy((prior.currentExtremePoint.minus(prior.sar))));
+            Decimal minPrice = minPriceIndicator.getValue(index);
+            if (!minPrice.isGreaterThan(sar)) { // check if sar touches the min price
+                // switch to down trend and reset values
+                // sar starts at the highest extreme point of previous up trend
+                return new SarState(prior.minMaxExtremePoint, false, accelarationStart, minPrice, minPrice, null);
+            }
+            // up trend is going on
+            Decimal maxPrice = maxPriceIndicator.getValue(index);
+            Decimal highestPrice = prior.trendExtremePrice == null ? maxPrice : prior.trendExtremePrice.max(maxPrice);
+            Decimal minMaxExtremePoint = prior.minMaxExtremePoint;
+            if (highestPrice.isGreaterThan(minMaxExtremePoint)) {
+                accelerationFactor = incrementAcceleration(accelerationFactor);
+                minMaxExtremePoint = highestPrice;
             }
+            return new SarState(sar, true, accelerationFactor, highestPrice, minMaxExtremePoint, highestPrice);
         } else { // downtrend
-            sar = priorSar.minus(accelerationFactor.multipliedBy(((priorSar.minus(currentExtremePoint)))));
-            currentTrend = maxPriceIndicator.getValue(index).isGreaterThanOrEqual(sar);
-            if (currentTrend) { // check if switch to up trend
-                sar = minMaxExtremePoint; // sar starts at the lowest extreme point of previous down trend
-                accelerationFactor = accelarationStart;
-                startTrendIndex = index;
-                currentExtremePoint = series.getBar(index).getMaxPrice();
-                minMaxExtremePoint = currentExtremePoint;
-            } else { // down trend io going on
-                currentExtremePoint = new LowestValueIndicator(minPriceIndicator, index - startTrendIndex).getValue(index);
-                if (currentExtremePoint.isLessThan(minMaxExtremePoint)) {
-                    incrementAcceleration();
-                    minMaxExtremePoint = currentExtremePoint;
-                }
+            Decimal sar = prior.sar.minus(accelerationFactor.multipliedBy(((prior.sar.minus(prior.currentExtremePoint)))));
+            Decimal maxPrice = maxPriceIndicator.getValue(index);
+            if (maxPrice.isGreaterThanOrEqual(sar)) { // check if switch to up trend
+                // sar starts at the lowest extreme point of previous down trend
+                return new SarState(prior.minMaxExtremePoint, true, accelarationStart, maxPrice, maxPrice, null);
             }
+            // down trend is going on
+            Decimal minPrice = minPriceIndicator.getValue(index);
+            Decimal lowestPrice = prior.trendExtremePrice == null ? minPrice : prior.trendExtremePrice.min(minPrice);
+            Decimal minMaxExtremePoint = prior.minMaxExtremePoint;
+            if (lowestPrice.isLessThan(minMaxExtremePoint)) {
+                accelerationFactor = incrementAcceleration(accelerationFactor);
+                minMaxExtremePoint = lowestPrice;
+            }
+            return new SarState(sar, false, accelerationFactor, lowestPrice, minMaxExtremePoint, lowestPrice);
         }
-        return sar;
-
     }
 
     /**
-     * Increments the acceleration factor.
+     * @param accelerationFactor the current acceleration factor
+     * @return the incremented acceleration factor
      */
-    private void incrementAcceleration() {
+    private Decimal incrementAcceleration(Decimal accelerationFactor) {
         if (accelerationFactor.isGreaterThanOrEqual(maxAcceleration)) {
-            accelerationFactor = maxAcceleration;
-        } else {
-            accelerationFactor = accelerationFactor.plus(accelerationIncrement);
+            return maxAcceleration;
         }
+        return accelerationFactor.plus(accelerationIncrement);
     }
-}
\ No newline at end of file
+}
@@ -62,7 +62,7 @@ public abstract class RecursiveCachedIndicator<T> extends CachedIndicator<T> {
     @Override
     public T getValue(int index) {
         TimeSeries series = getTimeSeries();
-        if (series != null) {
+        if (series != null && !isReadThrough()) {
             final int seriesEndIndex = series.getEndIndex();
             if (index <= seriesEndIndex) {
                 // We are not after the end of the series
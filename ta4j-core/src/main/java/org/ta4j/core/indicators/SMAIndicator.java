@@ -24,34 +24,59 @@ package org.ta4j.core.indicators;
 
 import org.ta4j.core.Decimal;
 import org.ta4j.core.Indicator;
+import org.ta4j.core.indicators.helpers.RunningTotalIndicator;
 
 /**
  * Simple moving average (SMA) indicator.
  * <p></p>
+ * The sum of the values over the time frame is maintained incrementally (see {@link RunningTotalIndicator}).
  */
 public class SMAIndicator extends CachedIndicator<Decimal> {
 
     private final Indicator<Decimal> indicator;
 
+    private final RunningTotalIndicator sumIndicator;
+
     private final int timeFrame;
 
     public SMAIndicator(Indicator<Decimal> indicator, int timeFrame) {
         super(indicator);
         this.indicator = indicator;
+        this.sumIndicator = new RunningTotalIndicator(indicator, timeFrame);
         this.timeFrame = timeFrame;
     }
 
     @Override
     protected Decimal calculate(int index) {
-        Decimal sum = Decimal.ZERO;
-        for (int i = Math.max(0, index - timeFrame + 1); i <= index; i++) {
-            sum = sum.plus(indicator.getValue(i));
-        }
-
+        final Decimal sum = sumIndicator.getValue(index);
         final int realTimeFrame = Math.min(timeFrame, index + 1);
         return sum.dividedBy(Decimal.valueOf(realTimeFrame));
     }
 
+    /**
+     * Slides the sum over a batch of values of the indicator (same arithmetic as {@link RunningTotalIndicator}).
+     */
+    @Override
+    protected void calculateValues(int startIndex, int endIndex, Decimal[] target) {
+        final int firstValueIndex = Math.max(0, startIndex - timeFrame + 1);
+        final Decimal[] values = new Decimal[endIndex - firstValueIndex];
+        indicator.getValues(firstValueIndex, endIndex, values);
+
+        Decimal sum = sumIndicator.getValue(startIndex);
+        target[0] = sum.dividedBy(Decimal.valueOf(Math.min(timeFrame, startIndex + 1)));
+        for (int i = startIndex + 1; i < endIndex; i++) {
+            if (sum.isNaN()) {
+                sum = sumIndicator.getValue(i);
+            } else {
+                sum = sum.plus(values[i - firstValueIndex]);
+                if (i >= timeFrame) {
+                    sum = sum.minus(values[i - timeFrame - firstValueIndex]);
+                }
+            }
+            target[i - startIndex] = sum.dividedBy(Decimal.valueOf(Math.min(timeFrame, i + 1)));
+        }
+    }
+
     @Override
     public String toString() {
         return getClass().getSimpleName() + " timeFrame: " + timeFrame;
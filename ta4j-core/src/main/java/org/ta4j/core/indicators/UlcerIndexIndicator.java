@@ -25,22 +25,47 @@ package org.ta4j.core.indicators;
 import org.ta4j.core.Decimal;
 import org.ta4j.core.Indicator;
 import org.ta4j.core.indicators.helpers.HighestValueIndicator;
+import org.ta4j.core.indicators.helpers.RunningTotalIndicator;
 
 /**
  * Ulcer index indicator.
  * <p/>
- * @apiNote Minimal deviations in last decimal places possible. During the calculations this indicator converts {@link Decimal Decimal/BigDecimal} to to {@link Double double}
+ * The squared percentage drawdowns are summed with a {@link RunningTotalIndicator running total}, so that
+ * walking the series is O(1) per bar.
+ * @apiNote Minimal deviations in last decimal places possible. The square root is computed by {@link Decimal#sqrt()}
  * @see <a href="http://stockcharts.com/school/doku.php?id=chart_school:technical_indicators:ulcer_index">
  *     http://stockcharts.com/school/doku.php?id=chart_school:technical_indicators:ulcer_index</a>
  * @see <a href="https://en.wikipedia.org/wiki/Ulcer_index">https://en.wikipedia.org/wiki/Ulcer_index</a>
  */
 public class UlcerIndexIndicator extends CachedIndicator<Decimal> {
 
-    private Indicator<Decimal> indicator;
+    /**
+     * Squared percentage drawdown from the highest value of the time frame.
+     */
+    private static class SquaredPercentageDrawdownIndicator extends CachedIndicator<Decimal> {
+
+        private final Indicator<Decimal> indicator;
+
+        private final HighestValueIndicator highestValueInd;
+
+        SquaredPercentageDrawdownIndicator(Indicator<Decimal> indicator, int timeFrame) {
+            super(indicator);
+            this.indicator = indicator;
+            highestValueInd = new HighestValueIndicator(indicator, timeFrame);
+        }
 
-    private HighestValueIndicator highestValueInd;
+        @Override
+        protected Decimal calculate(int index) {
+            Decimal currentValue = indicator.getValue(index);
+            Decimal highestValue = highestValueInd.getValue(index);
+            Decimal percentageDrawdown = currentValue.minus(highestValue).dividedBy(highestValue).multipliedBy(Decimal.HUNDRED);
+            return percentageDrawdown.pow(2);
+        }
+    }
+
+    private final RunningTotalIndicator sumOfSquaredDrawdowns;
     
-    private int timeFrame;
+    private final int timeFrame;
 
     /**
      * Constructor.
@@ -49,24 +74,19 @@ public class UlcerIndexIndicator extends CachedIndicator<Decimal> {
      */
     public UlcerIndexIndicator(Indicator<Decimal> indicator, int timeFrame) {
         super(indicator);
-        this.indicator = indicator;
         this.timeFrame = timeFrame;
-        highestValueInd = new HighestValueIndicator(indicator, timeFrame);
+        sumOfSquaredDrawdowns = new RunningTotalIndicator(new SquaredPercentageDrawdownIndicator(indicator, timeFrame), timeFrame);
     }
 
     @Override
     protected Decimal calculate(int index) {
-        final int startIndex = Math.max(0, index - timeFrame + 1);
-        final int numberOfObservations = index - startIndex + 1;
-        Decimal squaredAverage = Decimal.ZERO;
-        for (int i = startIndex; i <= index; i++) {
-            Decimal currentValue = indicator.getValue(i);
-            Decimal highestValue = highestValueInd.getValue(i);
-            Decimal percentageDrawdown = currentValue.minus(highestValue).dividedBy(highestValue).multipliedBy(Decimal.HUNDRED);
-            squaredAverage = squaredAverage.plus(percentageDrawdown.pow(2));
+        final int numberOfObservations = Math.min(timeFrame, index + 1);
+        Decimal squaredAverage = sumOfSquaredDrawdowns.getValue(index).dividedBy(Decimal.valueOf(numberOfObservations));
+        if (squaredAverage.isNegative()) {
+            // Rounding residue of the running total
+            squaredAverage = Decimal.ZERO;
         }
-        squaredAverage = squaredAverage.dividedBy(Decimal.valueOf(numberOfObservations));
-        return Decimal.valueOf(Math.sqrt(squaredAverage.doubleValue()));
+        return squaredAverage.sqrt();
     }
 
     @Override
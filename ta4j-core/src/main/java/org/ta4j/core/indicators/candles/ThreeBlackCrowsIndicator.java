@@ -45,8 +45,6 @@ public class ThreeBlackCrowsIndicator extends CachedIndicator<Boolean> {
     /** Factor used when checking if a candle has a very short lower shadow */
     private final Decimal factor;
 
-    private int whiteCandleIndex = -1;
-
     /**
      * Constructor.
      * @param series a time series
@@ -67,18 +65,19 @@ public class ThreeBlackCrowsIndicator extends CachedIndicator<Boolean> {
             // We need 4 candles: 1 white, 3 black
             return false;
         }
-        whiteCandleIndex = index - 3;
+        final int whiteCandleIndex = index - 3;
         return series.getBar(whiteCandleIndex).isBullish()
-                && isBlackCrow(index - 2)
-                && isBlackCrow(index - 1)
-                && isBlackCrow(index);
+                && isBlackCrow(index - 2, whiteCandleIndex)
+                && isBlackCrow(index - 1, whiteCandleIndex)
+                && isBlackCrow(index, whiteCandleIndex);
     }
 
     /**
      * @param index the bar/candle index
+     * @param whiteCandleIndex the index of the white candle
      * @return true if the bar/candle has a very short lower shadow, false otherwise
      */
-    private boolean hasVeryShortLowerShadow(int index) {
+    private boolean hasVeryShortLowerShadow(int index, int whiteCandleIndex) {
         Decimal currentLowerShadow = lowerShadowInd.getValue(index);
         // We use the white candle index to remove to bias of the previous crows
         Decimal averageLowerShadow = averageLowerShadowInd.getValue(whiteCandleIndex);
@@ -106,18 +105,19 @@ public class ThreeBlackCrowsIndicator extends CachedIndicator<Boolean> {
 
     /**
      * @param index the current bar/candle index
+     * @param whiteCandleIndex the index of the white candle
      * @return true if the current bar/candle is a black crow, false otherwise
      */
-    private boolean isBlackCrow(int index) {
+    private boolean isBlackCrow(int index, int whiteCandleIndex) {
         Bar prevBar = series.getBar(index-1);
         Bar currBar = series.getBar(index);
         if (currBar.isBearish()) {
             if (prevBar.isBullish()) {
                 // First crow case
-                return hasVeryShortLowerShadow(index)
+                return hasVeryShortLowerShadow(index, whiteCandleIndex)
                         && currBar.getOpenPrice().isLessThan(prevBar.getMaxPrice());
             } else {
-                return hasVeryShortLowerShadow(index) && isDeclining(index);
+                return hasVeryShortLowerShadow(index, whiteCandleIndex) && isDeclining(index);
             }
         }
         return false;
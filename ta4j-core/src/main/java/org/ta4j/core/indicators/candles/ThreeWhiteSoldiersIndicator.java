@@ -45,8 +45,6 @@ public class ThreeWhiteSoldiersIndicator extends CachedIndicator<Boolean> {
     /** Factor used when checking if a candle has a very short upper shadow */
     private final Decimal factor;
 
-    private int blackCandleIndex = -1;
-
     /**
      * Constructor.
      * @param series a time series
@@ -67,18 +65,19 @@ public class ThreeWhiteSoldiersIndicator extends CachedIndicator<Boolean> {
             // We need 4 candles: 1 black, 3 white
             return false;
         }
-        blackCandleIndex = index - 3;
+        final int blackCandleIndex = index - 3;
         return series.getBar(blackCandleIndex).isBearish()
-                && isWhiteSoldier(index - 2)
-                && isWhiteSoldier(index - 1)
-                && isWhiteSoldier(index);
+                && isWhiteSoldier(index - 2, blackCandleIndex)
+                && isWhiteSoldier(index - 1, blackCandleIndex)
+                && isWhiteSoldier(index, blackCandleIndex);
     }
 
     /**
      * @param index the bar/candle index
+     * @param blackCandleIndex the index of the black candle
      * @return true if the bar/candle has a very short upper shadow, false otherwise
      */
-    private boolean hasVeryShortUpperShadow(int index) {
+    private boolean hasVeryShortUpperShadow(int index, int blackCandleIndex) {
         Decimal currentUpperShadow = upperShadowInd.getValue(index);
         // We use the black candle index to remove to bias of the previous soldiers
         Decimal averageUpperShadow = averageUpperShadowInd.getValue(blackCandleIndex);
@@ -106,18 +105,19 @@ public class ThreeWhiteSoldiersIndicator extends CachedIndicator<Boolean> {
 
     /**
      * @param index the current bar/candle index
+     * @param blackCandleIndex the index of the black candle
      * @return true if the current bar/candle is a white soldier, false otherwise
      */
-    private boolean isWhiteSoldier(int index) {
+    private boolean isWhiteSoldier(int index, int blackCandleIndex) {
         Bar prevBar = series.getBar(index-1);
         Bar currBar = series.getBar(index);
         if (currBar.isBullish()) {
             if (prevBar.isBearish()) {
                 // First soldier case
-                return hasVeryShortUpperShadow(index)
+                return hasVeryShortUpperShadow(index, blackCandleIndex)
                         && currBar.getOpenPrice().isGreaterThan(prevBar.getMinPrice());
             } else {
-                return hasVeryShortUpperShadow(index) && isGrowing(index);
+                return hasVeryShortUpperShadow(index, blackCandleIndex) && isGrowing(index);
             }
         }
         return false;
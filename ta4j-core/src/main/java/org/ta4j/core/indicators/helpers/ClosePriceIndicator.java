@@ -43,4 +43,11 @@ public class ClosePriceIndicator extends CachedIndicator<Decimal> {
     protected Decimal calculate(int index) {
         return series.getBar(index).getClosePrice();
     }
+
+    @Override
+    protected void calculateValues(int startIndex, int endIndex, Decimal[] target) {
+        for (int i = startIndex; i < endIndex; i++) {
+            target[i - startIndex] = series.getBar(i).getClosePrice();
+        }
+    }
 }
@@ -29,31 +29,23 @@ import org.ta4j.core.indicators.CachedIndicator;
 /**
  * Highest value indicator.
  * <p/>
+ * NaN values are ignored. Walking the series is amortized O(1) per bar (monotonic deque).
  */
 public class HighestValueIndicator extends CachedIndicator<Decimal> {
 
-    private final Indicator<Decimal> indicator;
+    private final SlidingWindowExtremum highest;
 
     private final int timeFrame;
 
     public HighestValueIndicator(Indicator<Decimal> indicator, int timeFrame) {
         super(indicator);
-        this.indicator = indicator;
+        this.highest = new SlidingWindowExtremum(indicator, timeFrame, true);
         this.timeFrame = timeFrame;
     }
 
     @Override
     protected Decimal calculate(int index) {
-        if (indicator.getValue(index).isNaN() && timeFrame != 1)
-            return new HighestValueIndicator(indicator,timeFrame-1).getValue(index-1);
-        int end = Math.max(0, index - timeFrame + 1);
-        Decimal highest = indicator.getValue(index);
-        for (int i = index - 1; i >= end; i--) {
-            if (highest.isLessThan(indicator.getValue(i))) {
-                highest = indicator.getValue(i);
-            }
-        }
-        return highest;
+        return highest.getValue(index);
     }
 
     @Override
@@ -29,31 +29,23 @@ import org.ta4j.core.indicators.CachedIndicator;
 /**
  * Lowest value indicator.
  * <p></p>
+ * NaN values are ignored. Walking the series is amortized O(1) per bar (monotonic deque).
  */
 public class LowestValueIndicator extends CachedIndicator<Decimal> {
 
-    private final Indicator<Decimal> indicator;
+    private final SlidingWindowExtremum lowest;
 
     private final int timeFrame;
 
     public LowestValueIndicator(Indicator<Decimal> indicator, int timeFrame) {
         super(indicator);
-        this.indicator = indicator;
+        this.lowest = new SlidingWindowExtremum(indicator, timeFrame, false);
         this.timeFrame = timeFrame;
     }
 
     @Override
     protected Decimal calculate(int index) {
-        if (indicator.getValue(index).isNaN() && timeFrame != 1)
-            return new LowestValueIndicator(indicator,timeFrame-1).getValue(index-1);
-        int end = Math.max(0, index - timeFrame + 1);
-        Decimal lowest = indicator.getValue(index);
-        for (int i = index - 1; i >= end; i--) {
-            if (lowest.isGreaterThan(indicator.getValue(i))) {
-                lowest = indicator.getValue(i);
-            }
-        }
-        return lowest;
+        return lowest.getValue(index);
     }
 
     @Override
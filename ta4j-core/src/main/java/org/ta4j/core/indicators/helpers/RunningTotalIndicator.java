@@ -0,0 +1,77 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators.helpers;
+
+import org.ta4j.core.Decimal;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.indicators.CachedIndicator;
+
+/**
+ * Running total indicator.
+ * <p></p>
+ * I.e.: the sum of the values of an indicator over a sliding time frame.
+ * <p>
+ * The sum is calculated incrementally from the previous cached sum (the value entering the
+ * time frame is added, the one leaving it is subtracted), so that walking the series is O(1) per bar.
+ * It falls back to a full summation when the previous sum is not cached (yet) or NaN, or when the value
+ * leaving the time frame has been removed from the series.
+ */
+public class RunningTotalIndicator extends CachedIndicator<Decimal> {
+
+    private final Indicator<Decimal> indicator;
+
+    private final int timeFrame;
+
+    /**
+     * Constructor.
+     * @param indicator the indicator to be summed
+     * @param timeFrame the time frame
+     */
+    public RunningTotalIndicator(Indicator<Decimal> indicator, int timeFrame) {
+        super(indicator);
+        this.indicator = indicator;
+        this.timeFrame = timeFrame;
+    }
+
+    @Override
+    protected Decimal calculate(int index) {
+        final Decimal previousSum = getPreviousResult(index, timeFrame);
+        if (previousSum != null && !previousSum.isNaN()) {
+            Decimal sum = previousSum.plus(indicator.getValue(index));
+            if (index >= timeFrame) {
+                sum = sum.minus(indicator.getValue(index - timeFrame));
+            }
+            return sum;
+        }
+        Decimal sum = Decimal.ZERO;
+        for (int i = Math.max(0, index - timeFrame + 1); i <= index; i++) {
+            sum = sum.plus(indicator.getValue(i));
+        }
+        return sum;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " timeFrame: " + timeFrame;
+    }
+}
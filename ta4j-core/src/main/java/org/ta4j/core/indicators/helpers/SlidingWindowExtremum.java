@@ -0,0 +1,142 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators.helpers;
+
+import org.ta4j.core.Decimal;
+import org.ta4j.core.Indicator;
+
+/**
+ * Sliding-window extremum (highest or lowest value) of an indicator.
+ * <p></p>
+ * Maintains a monotonic deque of the candidate values of the time frame: each new value evicts
+ * the values it dominates, and the front of the deque is the extremum. When the indexes are
+ * requested in sequence, updating the extremum is amortized O(1). Otherwise the deque is rebuilt
+ * from the values of the time frame.
+ * <p>
+ * NaN values are ignored. The extremum of a time frame containing only NaN values is NaN.
+ */
+class SlidingWindowExtremum {
+
+    private final Indicator<Decimal> indicator;
+
+    private final int timeFrame;
+
+    /** True for the highest value, false for the lowest one */
+    private final boolean highest;
+
+    /** Circular buffer of the indexes of the deque */
+    private int[] indexes = new int[8];
+
+    /** Circular buffer of the values of the deque */
+    private Decimal[] values = new Decimal[8];
+
+    /** Position of the front of the deque in the buffers */
+    private int head = 0;
+
+    /** Number of elements in the deque */
+    private int size = 0;
+
+    /** The last index pushed into the deque */
+    private int lastIndex = -1;
+
+    /**
+     * Constructor.
+     * @param indicator the indicator
+     * @param timeFrame the time frame
+     * @param highest true for the highest value, false for the lowest one
+     */
+    SlidingWindowExtremum(Indicator<Decimal> indicator, int timeFrame, boolean highest) {
+        this.indicator = indicator;
+        this.timeFrame = timeFrame;
+        this.highest = highest;
+    }
+
+    /**
+     * @param index the bar index
+     * @return the extremum of the indicator over the time frame ending at the index
+     */
+    synchronized Decimal getValue(int index) {
+        final int startIndex = Math.max(0, index - timeFrame + 1);
+        if (index != lastIndex + 1) {
+            // Not the next index: rebuilding the deque
+            size = 0;
+            for (int i = startIndex; i < index; i++) {
+                push(i);
+            }
+        }
+        push(index);
+        lastIndex = index;
+        // Evicting the indexes which left the time frame
+        while (size > 0 && indexes[head] < startIndex) {
+            head = (head + 1) % indexes.length;
+            size--;
+        }
+        return size == 0 ? Decimal.NaN : values[head];
+    }
+
+    /**
+     * Pushes a value at the back of the deque, evicting the values it dominates.
+     * @param index the bar index of the value
+     */
+    private void push(int index) {
+        final Decimal value = indicator.getValue(index);
+        if (value.isNaN()) {
+            return;
+        }
+        while (size > 0 && dominates(value, values[(head + size - 1) % values.length])) {
+            size--;
+        }
+        if (size == indexes.length) {
+            grow();
+        }
+        final int tail = (head + size) % indexes.length;
+        indexes[tail] = index;
+        values[tail] = value;
+        size++;
+    }
+
+    /**
+     * @param value a new value
+     * @param previous a previous value
+     * @return true if the previous value can no longer be the extremum, false otherwise
+     */
+    private boolean dominates(Decimal value, Decimal previous) {
+        return highest ? previous.isLessThanOrEqual(value) : previous.isGreaterThanOrEqual(value);
+    }
+
+    /**
+     * Doubles the capacity of the buffers.
+     */
+    private void grow() {
+        final int capacity = indexes.length;
+        int[] newIndexes = new int[capacity * 2];
+        Decimal[] newValues = new Decimal[capacity * 2];
+        for (int i = 0; i < size; i++) {
+            newIndexes[i] = indexes[(head + i) % capacity];
+            newValues[i] = values[(head + i) % capacity];
+        }
+        indexes = newIndexes;
+        values = newValues;
+        head = 0;
+    }
+}
@@ -30,16 +30,26 @@ import org.ta4j.core.indicators.SMAIndicator;
 /**
  * Mean deviation indicator.
  * <p/>
+ * For long time frames, walking the series is O(log(time frame)) per bar: the sum of the absolute deviations
+ * is derived from the count and the sum of the values below the mean in a sorted window of the values.
+ * Short time frames are summed directly, which is cheaper.
  * @see <a href="http://en.wikipedia.org/wiki/Mean_absolute_deviation#Average_absolute_deviation">
  *     http://en.wikipedia.org/wiki/Mean_absolute_deviation#Average_absolute_deviation</a>
  */
 public class MeanDeviationIndicator extends CachedIndicator<Decimal> {
 
-    private Indicator<Decimal> indicator;
+    /** The time frame from which the sorted window is used */
+    private static final int SORTED_WINDOW_MIN_TIME_FRAME = 32;
 
-    private int timeFrame;
+    private final Indicator<Decimal> indicator;
 
-    private SMAIndicator sma;
+    private final int timeFrame;
+
+    /** The sorted window of the values (null for short time frames) */
+    private final SortedWindow sortedWindow;
+
+    /** The average of the values (null for long time frames) */
+    private final SMAIndicator sma;
     
     /**
      * Constructor.
@@ -50,11 +60,20 @@ public class MeanDeviationIndicator extends CachedIndicator<Decimal> {
         super(indicator);
         this.indicator = indicator;
         this.timeFrame = timeFrame;
-        sma = new SMAIndicator(indicator, timeFrame);
+        if (timeFrame >= SORTED_WINDOW_MIN_TIME_FRAME) {
+            sortedWindow = new SortedWindow(indicator, timeFrame);
+            sma = null;
+        } else {
+            sortedWindow = null;
+            sma = new SMAIndicator(indicator, timeFrame);
+        }
     }
 
     @Override
     protected Decimal calculate(int index) {
+        if (sortedWindow != null) {
+            return sortedWindow.getMeanDeviation(index);
+        }
         Decimal absoluteDeviations = Decimal.ZERO;
 
         final Decimal average = sma.getValue(index);
@@ -9,13 +9,14 @@ import org.ta4j.core.indicators.RecursiveCachedIndicator;
  * <p/>
  * see
  * http://www.statisticshowto.com/probability-and-statistics/correlation-coefficient-formula/
+ * <p>
+ * Calculated from the rolling sums of the time frame (see {@link RollingSumsIndicator}).
  */
 public class PearsonCorrelationIndicator extends RecursiveCachedIndicator<Decimal> {
 
 	private static final long serialVersionUID = 6317147143504055664L;
 	
-	private final Indicator<Decimal> indicator1;
-	private final Indicator<Decimal> indicator2;
+	private final RollingSumsIndicator sums;
 	private final int timeFrame;
 
 	/**
@@ -27,8 +28,7 @@ public class PearsonCorrelationIndicator extends RecursiveCachedIndicator<Decima
 	 */
 	public PearsonCorrelationIndicator(Indicator<Decimal> indicator1, Indicator<Decimal> indicator2, int timeFrame) {
 		super(indicator1);
-		this.indicator1 = indicator1;
-		this.indicator2 = indicator2;
+		this.sums = new RollingSumsIndicator(indicator1, indicator2, timeFrame);
 		this.timeFrame = timeFrame;
 	}
 	
@@ -38,23 +38,12 @@ public class PearsonCorrelationIndicator extends RecursiveCachedIndicator<Decima
 
 		Decimal n = Decimal.valueOf(timeFrame);
 
-		Decimal Sx = Decimal.ZERO;
-		Decimal Sy = Decimal.ZERO;
-		Decimal Sxx = Decimal.ZERO;
-		Decimal Syy = Decimal.ZERO;
-		Decimal Sxy = Decimal.ZERO;
-		
-		for (int i = Math.max(getTimeSeries().getBeginIndex(), index - timeFrame + 1); i <= index; i++) {
-
-			Decimal x = indicator1.getValue(i);
-			Decimal y = indicator2.getValue(i);
-
-			Sx = Sx.plus(x);
-			Sy = Sy.plus(y);
-			Sxy = Sxy.plus(x.multipliedBy(y));
-			Sxx = Sxx.plus(x.multipliedBy(x));
-			Syy = Syy.plus(y.multipliedBy(y));
-		}
+		RollingSumsIndicator.Sums sums = this.sums.getValue(index);
+		Decimal Sx = sums.getSumX();
+		Decimal Sy = sums.getSumY();
+		Decimal Sxx = sums.getSumXX();
+		Decimal Syy = sums.getSumYY();
+		Decimal Sxy = sums.getSumXY();
 
 		// (n * Sxx - Sx * Sx) * (n * Syy - Sy * Sy)
 		Decimal toSqrt = (n.multipliedBy(Sxx).minus(Sx.multipliedBy(Sx)))
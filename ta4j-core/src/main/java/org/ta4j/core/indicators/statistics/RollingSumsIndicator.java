@@ -0,0 +1,226 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators.statistics;
+
+import org.ta4j.core.Decimal;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.indicators.CachedIndicator;
+
+/**
+ * Rolling sums indicator.
+ * <p></p>
+ * The sums (i.e. n, &Sigma;x, &Sigma;y, &Sigma;xy, &Sigma;x&sup2;, &Sigma;y&sup2;) of a pair of indicators over a sliding time frame.
+ * The sums are updated from the ones of the previous index (O(1) per bar), and fully calculated
+ * when the previous sums are not available.
+ * <p>
+ * If no x indicator is provided, x is the position of the bar in the time frame (0 for the first bar
+ * of the time frame, n-1 for the last one), which keeps the sums small for regressions over long series.
+ */
+public class RollingSumsIndicator extends CachedIndicator<RollingSumsIndicator.Sums> {
+
+    /**
+     * The sums of a time frame (immutable).
+     */
+    public static final class Sums {
+
+        private final int count;
+        private final Decimal sumX;
+        private final Decimal sumY;
+        private final Decimal sumXY;
+        private final Decimal sumXX;
+        private final Decimal sumYY;
+
+        private Sums(int count, Decimal sumX, Decimal sumY, Decimal sumXY, Decimal sumXX, Decimal sumYY) {
+            this.count = count;
+            this.sumX = sumX;
+            this.sumY = sumY;
+            this.sumXY = sumXY;
+            this.sumXX = sumXX;
+            this.sumYY = sumYY;
+        }
+
+        /**
+         * @return the number of observations (n)
+         */
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * @return the sum of the x values
+         */
+        public Decimal getSumX() {
+            return sumX;
+        }
+
+        /**
+         * @return the sum of the y values
+         */
+        public Decimal getSumY() {
+            return sumY;
+        }
+
+        /**
+         * @return the sum of the x*y products
+         */
+        public Decimal getSumXY() {
+            return sumXY;
+        }
+
+        /**
+         * @return the sum of the squared x values
+         */
+        public Decimal getSumXX() {
+            return sumXX;
+        }
+
+        /**
+         * @return the sum of the squared y values
+         */
+        public Decimal getSumYY() {
+            return sumYY;
+        }
+
+        /**
+         * @return true if one of the sums is NaN, false otherwise
+         */
+        private boolean isNaN() {
+            return sumX.isNaN() || sumY.isNaN() || sumXY.isNaN() || sumXX.isNaN() || sumYY.isNaN();
+        }
+    }
+
+    private final Indicator<Decimal> xIndicator;
+
+    private final Indicator<Decimal> yIndicator;
+
+    private final int timeFrame;
+
+    /**
+     * Constructor.
+     * (x being the position of the bar in the time frame)
+     * @param yIndicator the indicator for the y values
+     * @param timeFrame the time frame
+     */
+    public RollingSumsIndicator(Indicator<Decimal> yIndicator, int timeFrame) {
+        this(null, yIndicator, timeFrame);
+    }
+
+    /**
+     * Constructor.
+     * @param xIndicator the indicator for the x values (null for the position of the bar in the time frame)
+     * @param yIndicator the indicator for the y values
+     * @param timeFrame the time frame
+     */
+    public RollingSumsIndicator(Indicator<Decimal> xIndicator, Indicator<Decimal> yIndicator, int timeFrame) {
+        super(yIndicator);
+        this.xIndicator = xIndicator;
+        this.yIndicator = yIndicator;
+        this.timeFrame = timeFrame;
+    }
+
+    @Override
+    protected Sums calculate(int index) {
+        final Sums previous = getPreviousResult(index, timeFrame);
+        if (previous != null && !previous.isNaN()) {
+            return xIndicator == null ? slidePositions(index, previous) : slide(index, previous);
+        }
+        final int startIndex = Math.max(0, index - timeFrame + 1);
+        Decimal sumX = Decimal.ZERO;
+        Decimal sumY = Decimal.ZERO;
+        Decimal sumXY = Decimal.ZERO;
+        Decimal sumXX = Decimal.ZERO;
+        Decimal sumYY = Decimal.ZERO;
+        for (int i = startIndex; i <= index; i++) {
+            Decimal x = xIndicator == null ? Decimal.valueOf(i - startIndex) : xIndicator.getValue(i);
+            Decimal y = yIndicator.getValue(i);
+            sumX = sumX.plus(x);
+            sumY = sumY.plus(y);
+            sumXY = sumXY.plus(x.multipliedBy(y));
+            sumXX = sumXX.plus(x.multipliedBy(x));
+            sumYY = sumYY.plus(y.multipliedBy(y));
+        }
+        return new Sums(index - startIndex + 1, sumX, sumY, sumXY, sumXX, sumYY);
+    }
+
+    /**
+     * @param index the bar index
+     * @param previous the sums of the previous index
+     * @return the sums of the index, the values of the x indicator being added/removed
+     */
+    private Sums slide(int index, Sums previous) {
+        final Decimal x = xIndicator.getValue(index);
+        final Decimal y = yIndicator.getValue(index);
+        Decimal sumX = previous.sumX.plus(x);
+        Decimal sumY = previous.sumY.plus(y);
+        Decimal sumXY = previous.sumXY.plus(x.multipliedBy(y));
+        Decimal sumXX = previous.sumXX.plus(x.multipliedBy(x));
+        Decimal sumYY = previous.sumYY.plus(y.multipliedBy(y));
+        int count = previous.count + 1;
+        if (index >= timeFrame) {
+            // Removing the values leaving the time frame
+            final Decimal leavingX = xIndicator.getValue(index - timeFrame);
+            final Decimal leavingY = yIndicator.getValue(index - timeFrame);
+            sumX = sumX.minus(leavingX);
+            sumY = sumY.minus(leavingY);
+            sumXY = sumXY.minus(leavingX.multipliedBy(leavingY));
+            sumXX = sumXX.minus(leavingX.multipliedBy(leavingX));
+            sumYY = sumYY.minus(leavingY.multipliedBy(leavingY));
+            count--;
+        }
+        return new Sums(count, sumX, sumY, sumXY, sumXX, sumYY);
+    }
+
+    /**
+     * @param index the bar index
+     * @param previous the sums of the previous index
+     * @return the sums of the index, x being the position of the bar in the time frame
+     */
+    private Sums slidePositions(int index, Sums previous) {
+        final Decimal y = yIndicator.getValue(index);
+        Decimal sumY = previous.sumY.plus(y);
+        Decimal sumYY = previous.sumYY.plus(y.multipliedBy(y));
+        Decimal sumXY = previous.sumXY;
+        int count = previous.count + 1;
+        if (index >= timeFrame) {
+            // Removing the values leaving the time frame
+            final Decimal leavingY = yIndicator.getValue(index - timeFrame);
+            sumY = sumY.minus(leavingY);
+            sumYY = sumYY.minus(leavingY.multipliedBy(leavingY));
+            // The position of the remaining bars decreases by 1 (the leaving bar was at position 0)
+            sumXY = sumXY.minus(previous.sumY.minus(leavingY));
+            count--;
+        }
+        // The new bar is at position n-1
+        sumXY = sumXY.plus(y.multipliedBy(Decimal.valueOf(count - 1)));
+        // Sums of 0..n-1 and of their squares
+        final long n = count;
+        Decimal sumX = Decimal.valueOf(n * (n - 1) / 2);
+        Decimal sumXX = Decimal.valueOf((n - 1) * n * (2 * n - 1) / 6);
+        return new Sums(count, sumX, sumY, sumXY, sumXX, sumYY);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " timeFrame: " + timeFrame;
+    }
+}
@@ -31,6 +31,7 @@ import org.ta4j.core.indicators.CachedIndicator;
  * <p></p>
  * A moving (i.e. over the time frame) simple linear regression (least squares).
  * y = slope * x + intercept
+ * The regression is calculated from the rolling sums of the time frame (see {@link RollingSumsIndicator}).
  * See also: http://introcs.cs.princeton.edu/java/97data/LinearRegression.java.html
  */
 public class SimpleLinearRegressionIndicator extends CachedIndicator<Decimal> {
@@ -42,10 +43,8 @@ public class SimpleLinearRegressionIndicator extends CachedIndicator<Decimal> {
 		y, slope, intercept
 	}
 
-	private Indicator<Decimal> indicator;
+	private RollingSumsIndicator sums;
 	private int timeFrame;
-	private Decimal slope;
-	private Decimal intercept;
 	private SimpleLinearRegressionType type;
 
 	/**
@@ -68,7 +67,7 @@ public class SimpleLinearRegressionIndicator extends CachedIndicator<Decimal> {
 	public SimpleLinearRegressionIndicator(Indicator<Decimal> indicator, int timeFrame,
 			SimpleLinearRegressionType type) {
 		super(indicator);
-		this.indicator = indicator;
+		this.sums = new RollingSumsIndicator(indicator, timeFrame);
 		this.timeFrame = timeFrame;
 		this.type = type;
 	}
@@ -80,47 +79,24 @@ public class SimpleLinearRegressionIndicator extends CachedIndicator<Decimal> {
             // Not enough observations to compute a regression line
             return Decimal.NaN;
         }
-        calculateRegressionLine(startIndex, index);
-        
+        // Regression line over the positions of the bars in the time frame (i.e. x - startIndex)
+        final RollingSumsIndicator.Sums s = sums.getValue(index);
+        final Decimal nbObservations = Decimal.valueOf(s.getCount());
+        final Decimal xBar = s.getSumX().dividedBy(nbObservations);
+        final Decimal yBar = s.getSumY().dividedBy(nbObservations);
+        final Decimal xxBar = s.getSumXX().minus(s.getSumX().multipliedBy(xBar));
+        final Decimal xyBar = s.getSumXY().minus(s.getSumX().multipliedBy(yBar));
+        final Decimal slope = xyBar.dividedBy(xxBar);
+        final Decimal positionIntercept = yBar.minus(slope.multipliedBy(xBar));
+
         if (type == SimpleLinearRegressionType.slope) {
             return slope;
         }
 
         if (type == SimpleLinearRegressionType.intercept) {
-            return intercept;
-        }
-      
-        return slope.multipliedBy(Decimal.valueOf(index)).plus(intercept);
-    }
-    
-    /**
-     * Calculates the regression line.
-     * @param startIndex the start index (inclusive) in the time series
-     * @param endIndex the end index (inclusive) in the time series
-     */
-    private void calculateRegressionLine(int startIndex, int endIndex) {
-        // First pass: compute xBar and yBar
-        Decimal sumX = Decimal.ZERO;
-        Decimal sumY = Decimal.ZERO;
-        for (int i = startIndex; i <= endIndex; i++) {
-            sumX = sumX.plus(Decimal.valueOf(i));
-            sumY = sumY.plus(indicator.getValue(i));
+            return positionIntercept.minus(slope.multipliedBy(Decimal.valueOf(startIndex)));
         }
-        Decimal nbObservations = Decimal.valueOf(endIndex - startIndex + 1);
-        Decimal xBar = sumX.dividedBy(nbObservations);
-        Decimal yBar = sumY.dividedBy(nbObservations);
-        
-        // Second pass: compute slope and intercept
-        Decimal xxBar = Decimal.ZERO;
-        Decimal xyBar = Decimal.ZERO;
-        for (int i = startIndex; i <= endIndex; i++) {
-            Decimal dX = Decimal.valueOf(i).minus(xBar);
-            Decimal dY = indicator.getValue(i).minus(yBar);
-            xxBar = xxBar.plus(dX.multipliedBy(dX));
-            xyBar = xyBar.plus(dX.multipliedBy(dY));
-        }
-        
-        slope = xyBar.dividedBy(xxBar);
-        intercept = yBar.minus(slope.multipliedBy(xBar));
+
+        return slope.multipliedBy(Decimal.valueOf(index - startIndex)).plus(positionIntercept);
     }
 }
@@ -0,0 +1,266 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators.statistics;
+
+import org.ta4j.core.Decimal;
+import org.ta4j.core.Indicator;
+
+/**
+ * Sorted sliding window of the values of an indicator.
+ * <p></p>
+ * The values of the time frame are kept in a treap (randomized balanced binary search tree) ordered by value,
+ * each node holding the size and the sum of its subtree. Sliding the window and querying the count and
+ * the sum of the values below a threshold are O(log(time frame)). When the indexes are not requested in
+ * sequence, the tree is rebuilt from the values of the time frame.
+ * <p>
+ * NaN values are not stored in the tree, but counted: the result for a time frame containing a NaN value is NaN.
+ */
+class SortedWindow {
+
+    /**
+     * A node of the treap.
+     */
+    private static final class Node {
+
+        private final Decimal value;
+        /** The bar index of the value (tie-breaker for equal values) */
+        private final int index;
+        private final int priority;
+        private Node left;
+        private Node right;
+        private int size;
+        private Decimal sum;
+
+        private Node(Decimal value, int index, int priority) {
+            this.value = value;
+            this.index = index;
+            this.priority = priority;
+            this.size = 1;
+            this.sum = value;
+        }
+    }
+
+    private final Indicator<Decimal> indicator;
+
+    private final int timeFrame;
+
+    /** Circular buffer of the values of the time frame (by bar index modulo the time frame) */
+    private final Decimal[] windowValues;
+
+    private Node root;
+
+    /** Number of NaN values in the time frame */
+    private int nanCount = 0;
+
+    /** The last index added to the window */
+    private int lastIndex = -1;
+
+    /** State of the (xorshift) priority generator */
+    private int seed = 0x2545F491;
+
+    /**
+     * Constructor.
+     * @param indicator the indicator
+     * @param timeFrame the time frame
+     */
+    SortedWindow(Indicator<Decimal> indicator, int timeFrame) {
+        this.indicator = indicator;
+        this.timeFrame = timeFrame;
+        this.windowValues = new Decimal[timeFrame];
+    }
+
+    /**
+     * @param index the bar index
+     * @return the mean absolute deviation of the indicator over the time frame ending at the index
+     */
+    synchronized Decimal getMeanDeviation(int index) {
+        moveTo(index);
+        if (nanCount > 0) {
+            return Decimal.NaN;
+        }
+        // Sum of |v - mean| = (sum(v >= mean) - countAbove * mean) + (countBelow * mean - sum(v < mean))
+        final Decimal nbValues = Decimal.valueOf(root.size);
+        final Decimal mean = root.sum.dividedBy(nbValues);
+        int countBelow = 0;
+        Decimal sumBelow = Decimal.ZERO;
+        Node node = root;
+        while (node != null) {
+            if (node.value.isLessThan(mean)) {
+                countBelow += size(node.left) + 1;
+                sumBelow = sumBelow.plus(sum(node.left)).plus(node.value);
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        final Decimal deviationsAbove = root.sum.minus(sumBelow).minus(mean.multipliedBy(Decimal.valueOf(root.size - countBelow)));
+        final Decimal deviationsBelow = mean.multipliedBy(Decimal.valueOf(countBelow)).minus(sumBelow);
+        return deviationsAbove.plus(deviationsBelow).dividedBy(nbValues);
+    }
+
+    /**
+     * Slides the window so that it ends at the index.
+     * @param index the bar index
+     */
+    private void moveTo(int index) {
+        if (index == lastIndex + 1) {
+            final int leavingIndex = index - timeFrame;
+            if (leavingIndex >= 0) {
+                final Decimal leavingValue = windowValues[leavingIndex % timeFrame];
+                if (leavingValue.isNaN()) {
+                    nanCount--;
+                } else {
+                    root = remove(root, leavingValue, leavingIndex);
+                }
+            }
+            add(index);
+        } else {
+            // Not the next index: rebuilding the tree
+            root = null;
+            nanCount = 0;
+            for (int i = Math.max(0, index - timeFrame + 1); i <= index; i++) {
+                add(i);
+            }
+        }
+        lastIndex = index;
+    }
+
+    /**
+     * Adds the value of a bar to the window.
+     * @param index the bar index
+     */
+    private void add(int index) {
+        final Decimal value = indicator.getValue(index);
+        windowValues[index % timeFrame] = value;
+        if (value.isNaN()) {
+            nanCount++;
+        } else {
+            root = insert(root, new Node(value, index, nextPriority()));
+        }
+    }
+
+    private Node insert(Node node, Node newNode) {
+        if (node == null) {
+            return newNode;
+        }
+        if (compare(newNode.value, newNode.index, node) < 0) {
+            node.left = insert(node.left, newNode);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, newNode);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private Node remove(Node node, Decimal value, int index) {
+        if (node == null) {
+            return null;
+        }
+        final int comparison = compare(value, index, node);
+        if (comparison < 0) {
+            node.left = remove(node.left, value, index);
+        } else if (comparison > 0) {
+            node.right = remove(node.right, value, index);
+        } else {
+            return merge(node.left, node.right);
+        }
+        update(node);
+        return node;
+    }
+
+    /**
+     * @param left a treap
+     * @param right a treap whose values are all greater than the ones of the left treap
+     * @return the union of the two treaps
+     */
+    private Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private Node rotateRight(Node node) {
+        final Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        return pivot;
+    }
+
+    private Node rotateLeft(Node node) {
+        final Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        return pivot;
+    }
+
+    private static void update(Node node) {
+        node.size = size(node.left) + 1 + size(node.right);
+        Decimal sum = node.value;
+        if (node.left != null) {
+            sum = node.left.sum.plus(sum);
+        }
+        if (node.right != null) {
+            sum = sum.plus(node.right.sum);
+        }
+        node.sum = sum;
+    }
+
+    private static int compare(Decimal value, int index, Node node) {
+        final int comparison = value.compareTo(node.value);
+        return comparison != 0 ? comparison : Integer.compare(index, node.index);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static Decimal sum(Node node) {
+        return node == null ? Decimal.ZERO : node.sum;
+    }
+
+    private int nextPriority() {
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return seed;
+    }
+}
@@ -30,6 +30,8 @@ import org.ta4j.core.indicators.SMAIndicator;
 /**
  * Variance indicator.
  * <p></p>
+ * The variance is updated from the one of the previous index (sliding Welford's algorithm), so that
+ * walking the series is O(1) per bar. It is fully calculated when the previous variance is not available.
  */
 public class VarianceIndicator extends CachedIndicator<Decimal> {
 
@@ -55,8 +57,17 @@ public class VarianceIndicator extends CachedIndicator<Decimal> {
     protected Decimal calculate(int index) {
         final int startIndex = Math.max(0, index - timeFrame + 1);
         final int numberOfObservations = index - startIndex + 1;
-        Decimal variance = Decimal.ZERO;
         Decimal average = sma.getValue(index);
+        Decimal previousVariance = getPreviousResult(index, timeFrame);
+        if (previousVariance != null && !previousVariance.isNaN()) {
+            Decimal sumOfSquaredDeviations = incrementSumOfSquaredDeviations(index, previousVariance, average);
+            if (sumOfSquaredDeviations.isNegative()) {
+                // Rounding error
+                sumOfSquaredDeviations = Decimal.ZERO;
+            }
+            return sumOfSquaredDeviations.dividedBy(Decimal.valueOf(numberOfObservations));
+        }
+        Decimal variance = Decimal.ZERO;
         for (int i = startIndex; i <= index; i++) {
             Decimal pow = indicator.getValue(i).minus(average).pow(2);
             variance = variance.plus(pow);
@@ -65,6 +76,29 @@ public class VarianceIndicator extends CachedIndicator<Decimal> {
         return variance;
     }
 
+    /**
+     * Calculates the sum of the squared deviations of the time frame ending at the index
+     * from the variance of the previous time frame.
+     * @param index the bar index
+     * @param previousVariance the variance of the previous index
+     * @param average the average of the time frame ending at the index
+     * @return the sum of the squared deviations from the average
+     */
+    private Decimal incrementSumOfSquaredDeviations(int index, Decimal previousVariance, Decimal average) {
+        final Decimal previousAverage = sma.getValue(index - 1);
+        final int previousNumberOfObservations = Math.min(timeFrame, index);
+        final Decimal value = indicator.getValue(index);
+        Decimal sumOfSquaredDeviations = previousVariance.multipliedBy(Decimal.valueOf(previousNumberOfObservations));
+        if (index < timeFrame) {
+            // Growing time frame: M2 += (x - previousMean) * (x - mean)
+            return sumOfSquaredDeviations.plus(value.minus(previousAverage).multipliedBy(value.minus(average)));
+        }
+        // Sliding time frame: M2 += (x - y) * (x - mean + y - previousMean), y being the value leaving the time frame
+        final Decimal leavingValue = indicator.getValue(index - timeFrame);
+        return sumOfSquaredDeviations.plus(value.minus(leavingValue)
+                .multipliedBy(value.minus(average).plus(leavingValue).minus(previousAverage)));
+    }
+
     @Override
     public String toString() {
         return getClass().getSimpleName() + " timeFrame: " + timeFrame;
@@ -27,6 +27,8 @@ import org.ta4j.core.Decimal;
 import org.ta4j.core.TimeSeries;
 import org.ta4j.core.indicators.CachedIndicator;
 import org.ta4j.core.indicators.helpers.CloseLocationValueIndicator;
+import org.ta4j.core.indicators.helpers.ProductIndicator;
+import org.ta4j.core.indicators.helpers.RunningTotalIndicator;
 import org.ta4j.core.indicators.helpers.VolumeIndicator;
 
 /**
@@ -39,42 +41,30 @@ import org.ta4j.core.indicators.helpers.VolumeIndicator;
  */
 public class ChaikinMoneyFlowIndicator extends CachedIndicator<Decimal> {
 
-    private TimeSeries series;
+    private RunningTotalIndicator sumOfMoneyFlowVolumeIndicator;
 
-    private CloseLocationValueIndicator clvIndicator;
-
-    private VolumeIndicator volumeIndicator;
+    private RunningTotalIndicator sumOfVolumeIndicator;
 
     private int timeFrame;
 
     public ChaikinMoneyFlowIndicator(TimeSeries series, int timeFrame) {
         super(series);
-        this.series = series;
         this.timeFrame = timeFrame;
-        this.clvIndicator = new CloseLocationValueIndicator(series);
-        this.volumeIndicator = new VolumeIndicator(series, timeFrame);
+        VolumeIndicator volumeIndicator = new VolumeIndicator(series);
+        // Money flow volume of each bar: CLV * volume
+        this.sumOfMoneyFlowVolumeIndicator = new RunningTotalIndicator(
+                new ProductIndicator(new CloseLocationValueIndicator(series), volumeIndicator), timeFrame);
+        this.sumOfVolumeIndicator = new RunningTotalIndicator(volumeIndicator, timeFrame);
     }
 
     @Override
     protected Decimal calculate(int index) {
-        int startIndex = Math.max(0, index - timeFrame + 1);
-        Decimal sumOfMoneyFlowVolume = Decimal.ZERO;
-        for (int i = startIndex; i <= index; i++) {
-            sumOfMoneyFlowVolume = sumOfMoneyFlowVolume.plus(getMoneyFlowVolume(i));
-        }
-        Decimal sumOfVolume = volumeIndicator.getValue(index);
+        Decimal sumOfMoneyFlowVolume = sumOfMoneyFlowVolumeIndicator.getValue(index);
+        Decimal sumOfVolume = sumOfVolumeIndicator.getValue(index);
 
         return sumOfMoneyFlowVolume.dividedBy(sumOfVolume);
     }
 
-    /**
-     * @param index the bar index
-     * @return the money flow volume for the i-th period/bar
-     */
-    private Decimal getMoneyFlowVolume(int index) {
-        return clvIndicator.getValue(index).multipliedBy(series.getBar(index).getVolume());
-    }
-
     @Override
     public String toString() {
         return getClass().getSimpleName() + " timeFrame: " + timeFrame;
@@ -26,6 +26,8 @@ import org.ta4j.core.Decimal;
 import org.ta4j.core.Indicator;
 import org.ta4j.core.TimeSeries;
 import org.ta4j.core.indicators.CachedIndicator;
+import org.ta4j.core.indicators.helpers.ProductIndicator;
+import org.ta4j.core.indicators.helpers.RunningTotalIndicator;
 import org.ta4j.core.indicators.helpers.TypicalPriceIndicator;
 import org.ta4j.core.indicators.helpers.VolumeIndicator;
 
@@ -44,7 +46,9 @@ public class VWAPIndicator extends CachedIndicator<Decimal> {
     
     private final Indicator<Decimal> typicalPrice;
     
-    private final Indicator<Decimal> volume;
+    private final Indicator<Decimal> cumulativeTPV;
+
+    private final Indicator<Decimal> cumulativeVolume;
     
     /**
      * Constructor.
@@ -55,7 +59,9 @@ public class VWAPIndicator extends CachedIndicator<Decimal> {
         super(series);
         this.timeFrame = timeFrame;
         typicalPrice = new TypicalPriceIndicator(series);
-        volume = new VolumeIndicator(series);
+        Indicator<Decimal> volume = new VolumeIndicator(series);
+        cumulativeTPV = new RunningTotalIndicator(new ProductIndicator(typicalPrice, volume), timeFrame);
+        cumulativeVolume = new RunningTotalIndicator(volume, timeFrame);
     }
 
     @Override
@@ -63,15 +69,7 @@ public class VWAPIndicator extends CachedIndicator<Decimal> {
         if (index <= 0) {
             return typicalPrice.getValue(index);
         }
-        int startIndex = Math.max(0, index - timeFrame + 1);
-        Decimal cumulativeTPV = Decimal.ZERO;
-        Decimal cumulativeVolume = Decimal.ZERO;
-        for (int i = startIndex; i <= index; i++) {
-            Decimal currentVolume = volume.getValue(i);
-            cumulativeTPV = cumulativeTPV.plus(typicalPrice.getValue(i).multipliedBy(currentVolume));
-            cumulativeVolume = cumulativeVolume.plus(currentVolume);
-        }
-        return cumulativeTPV.dividedBy(cumulativeVolume);
+        return cumulativeTPV.getValue(index).dividedBy(cumulativeVolume.getValue(index));
     }
     
     @Override
@@ -25,6 +25,8 @@ package org.ta4j.core.trading.rules;
 import org.ta4j.core.Indicator;
 import org.ta4j.core.TradingRecord;
 
+import java.util.BitSet;
+
 /**
  * A boolean-indicator-based rule.
  * <p></p>
@@ -48,4 +50,21 @@ public class BooleanIndicatorRule extends AbstractRule {
         traceIsSatisfied(index, satisfied);
         return satisfied;
     }
+
+    @Override
+    public boolean isStateless() {
+        return true;
+    }
+
+    @Override
+    public void getSatisfied(int startIndex, int endIndex, BitSet satisfied) {
+        if (startIndex >= endIndex) {
+            return;
+        }
+        final Boolean[] values = new Boolean[endIndex - startIndex];
+        indicator.getValues(startIndex, endIndex, values);
+        for (int i = 0; i < values.length; i++) {
+            satisfied.set(startIndex + i, values[i]);
+        }
+    }
 }
@@ -52,4 +52,9 @@ public class BooleanRule extends AbstractRule {
         traceIsSatisfied(index, satisfied);
         return satisfied;
     }
+
+    @Override
+    public boolean isStateless() {
+        return true;
+    }
 }
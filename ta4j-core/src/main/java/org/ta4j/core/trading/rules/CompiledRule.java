@@ -0,0 +1,586 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.trading.rules;
+
+import org.ta4j.core.Rule;
+import org.ta4j.core.TradingRecord;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A {@link Rule rule} compiled into a flat program.
+ * <p></p>
+ * The AND, OR, XOR and NOT combinations of the source rule are flattened into a linear program of tests of
+ * its other (leaf) rules: each test jumps to the next test to run, or to the result, according to the outcome
+ * of the tested rule. Evaluating the compiled rule is thus a loop over the tested leaf rules (short-circuited
+ * like the combinations), without the calls and traces of the combination rules.
+ * <p>
+ * While compiling:
+ * <ul>
+ *     <li>nested ANDs (resp. ORs) are merged, double negations removed and {@link BooleanRule boolean rules} folded
+ *     <li>the operands of an AND (resp. OR) are sorted by estimated cost (cheapest first) if they are all
+ *     {@link Rule#isStateless() stateless}, so that the expensive ones are only evaluated when needed
+ *     <li>the duplicate stateless operands of an AND (resp. OR), i.e. the same rule or the same combination of
+ *     rules, are removed, as well as the stateless operands absorbed by another one (e.g. {@code a OR b} in
+ *     {@code a AND (a OR b)})
+ *     <li>the right operand of a XOR, tested for both outcomes of the left one, is compiled into its own program
+ *     when it is a combination, so that the size of the program stays linear in the size of the source rule
+ * </ul>
+ * The other rules (e.g. {@link JustOnceRule}) are evaluated in their original order and under the same conditions:
+ * the compiled rule is satisfied exactly when the source rule is.
+ */
+public class CompiledRule extends AbstractRule {
+
+    /** Jump target of the tests concluding that the rule is satisfied */
+    private static final int SATISFIED = -1;
+
+    /** Jump target of the tests concluding that the rule is not satisfied */
+    private static final int NOT_SATISFIED = -2;
+
+    /** The source rule */
+    private final Rule sourceRule;
+
+    /** The rule tested by each instruction */
+    private final Rule[] rules;
+
+    /** The next instruction (or result) of each instruction when its rule is satisfied */
+    private final int[] nextIfSatisfied;
+
+    /** The next instruction (or result) of each instruction when its rule is not satisfied */
+    private final int[] nextIfNotSatisfied;
+
+    /** The first instruction (or the result if the source rule is constant) */
+    private final int entryPoint;
+
+    /** True if the source rule is stateless, false otherwise */
+    private final boolean stateless;
+
+    /**
+     * Constructor.
+     * @param sourceRule the source rule
+     * @param rules the rule tested by each instruction
+     * @param nextIfSatisfied the next instruction of each instruction when its rule is satisfied
+     * @param nextIfNotSatisfied the next instruction of each instruction when its rule is not satisfied
+     * @param entryPoint the first instruction
+     */
+    private CompiledRule(Rule sourceRule, Rule[] rules, int[] nextIfSatisfied, int[] nextIfNotSatisfied, int entryPoint) {
+        this.sourceRule = sourceRule;
+        this.rules = rules;
+        this.nextIfSatisfied = nextIfSatisfied;
+        this.nextIfNotSatisfied = nextIfNotSatisfied;
+        this.entryPoint = entryPoint;
+        this.stateless = sourceRule.isStateless();
+    }
+
+    /**
+     * Compiles a rule.
+     * @param rule the rule to be compiled
+     * @return the compiled rule
+     */
+    public static CompiledRule compile(Rule rule) {
+        if (rule == null) {
+            throw new IllegalArgumentException("Rule cannot be null");
+        }
+        if (rule instanceof CompiledRule) {
+            return (CompiledRule) rule;
+        }
+        return new Compiler().compile(rule);
+    }
+
+    /**
+     * @return the source rule
+     */
+    public Rule getSourceRule() {
+        return sourceRule;
+    }
+
+    /**
+     * @return the number of instructions (i.e. of rule tests) of the program
+     */
+    public int getInstructionCount() {
+        return rules.length;
+    }
+
+    @Override
+    public boolean isSatisfied(int index, TradingRecord tradingRecord) {
+        int instruction = entryPoint;
+        while (instruction >= 0) {
+            instruction = rules[instruction].isSatisfied(index, tradingRecord)
+                    ? nextIfSatisfied[instruction] : nextIfNotSatisfied[instruction];
+        }
+        final boolean satisfied = instruction == SATISFIED;
+        traceIsSatisfied(index, satisfied);
+        return satisfied;
+    }
+
+    @Override
+    public boolean isStateless() {
+        return stateless;
+    }
+
+    @Override
+    public void getSatisfied(int startIndex, int endIndex, BitSet satisfied) {
+        sourceRule.getSatisfied(startIndex, endIndex, satisfied);
+    }
+
+    /**
+     * Estimates the cost of a leaf rule evaluation (the evaluations of indicators being cached).
+     * @param rule a leaf rule
+     * @return the estimated cost of the rule (relative)
+     */
+    private static int estimateCost(Rule rule) {
+        if (rule instanceof FixedRule) {
+            return 1;
+        }
+        if (rule instanceof OverIndicatorRule || rule instanceof UnderIndicatorRule || rule instanceof IsEqualRule
+                || rule instanceof BooleanIndicatorRule || rule instanceof CrossedUpIndicatorRule
+                || rule instanceof CrossedDownIndicatorRule) {
+            return 2;
+        }
+        if (rule instanceof InPipeRule) {
+            return 3;
+        }
+        if (rule instanceof InSlopeRule || rule instanceof IsHighestRule || rule instanceof IsLowestRule
+                || rule instanceof IsRisingRule || rule instanceof IsFallingRule) {
+            // Indicators built or values scanned at each evaluation
+            return 16;
+        }
+        return 4;
+    }
+
+    /**
+     * Compiler of a rule (builds the simplified expression tree of the rule, then its program).
+     */
+    private static final class Compiler {
+
+        /** The leaves of the expression tree, by rule */
+        private final Map<Rule, Leaf> leaves = new IdentityHashMap<>();
+
+        /** The rule tested by each instruction (in emission order) */
+        private final List<Rule> rules = new ArrayList<>();
+
+        /** The next instruction of each instruction when its rule is satisfied (in emission order) */
+        private final List<Integer> nextIfSatisfied = new ArrayList<>();
+
+        /** The next instruction of each instruction when its rule is not satisfied (in emission order) */
+        private final List<Integer> nextIfNotSatisfied = new ArrayList<>();
+
+        private CompiledRule compile(Rule rule) {
+            return program(rule, build(rule));
+        }
+
+        /**
+         * @param rule the source rule
+         * @param tree the expression tree of the source rule
+         * @return the program of the expression tree
+         */
+        private CompiledRule program(Rule rule, Node tree) {
+            final int entryPoint = emit(tree, SATISFIED, NOT_SATISFIED);
+            // Instructions are emitted from the last one to the first one: reversing them
+            final int count = rules.size();
+            final Rule[] programRules = new Rule[count];
+            final int[] programNextIfSatisfied = new int[count];
+            final int[] programNextIfNotSatisfied = new int[count];
+            for (int i = 0; i < count; i++) {
+                final int position = count - 1 - i;
+                programRules[position] = rules.get(i);
+                programNextIfSatisfied[position] = relocate(nextIfSatisfied.get(i), count);
+                programNextIfNotSatisfied[position] = relocate(nextIfNotSatisfied.get(i), count);
+            }
+            return new CompiledRule(rule, programRules, programNextIfSatisfied, programNextIfNotSatisfied,
+                    relocate(entryPoint, count));
+        }
+
+        /**
+         * @param target a jump target (in emission order)
+         * @param count the number of instructions
+         * @return the jump target in the program
+         */
+        private static int relocate(int target, int count) {
+            return target < 0 ? target : count - 1 - target;
+        }
+
+        /**
+         * Builds the simplified expression tree of a rule.
+         * @param rule a rule
+         * @return the expression tree of the rule
+         */
+        private Node build(Rule rule) {
+            if (rule instanceof CompiledRule) {
+                return build(((CompiledRule) rule).getSourceRule());
+            }
+            final Class<?> type = rule.getClass();
+            if (type == AndRule.class) {
+                return junction(true, build(((AndRule) rule).getRule1()), build(((AndRule) rule).getRule2()));
+            }
+            if (type == OrRule.class) {
+                return junction(false, build(((OrRule) rule).getRule1()), build(((OrRule) rule).getRule2()));
+            }
+            if (type == XorRule.class) {
+                final Rule rule2 = ((XorRule) rule).getRule2();
+                return xor(build(((XorRule) rule).getRule1()), single(rule2, build(rule2)));
+            }
+            if (type == NotRule.class) {
+                return negation(build(((NotRule) rule).getRule()));
+            }
+            if (type == BooleanRule.class) {
+                return Constant.of(rule.isSatisfied(0, null));
+            }
+            return leaves.computeIfAbsent(rule, r -> new Leaf(leaves.size(), r, estimateCost(r)));
+        }
+
+        /**
+         * Makes the right operand of a XOR a single test: it is emitted twice (for both outcomes of the left
+         * operand), so a combination is compiled into its own program, tested as a leaf rule. The size of the
+         * program then stays linear in the size of the source rule (e.g. for nested XORs).
+         * @param rule the right operand of a XOR
+         * @param node the expression tree of the operand
+         * @return a constant, a (negated) leaf or the leaf testing the program of the operand
+         */
+        private Node single(Rule rule, Node node) {
+            if (node instanceof Constant || node instanceof Leaf
+                    || (node instanceof Negation && ((Negation) node).operand instanceof Leaf)) {
+                return node;
+            }
+            final CompiledRule program = new Compiler().program(rule, node);
+            final Leaf leaf = new Leaf(leaves.size(), program, node.getCost());
+            leaves.put(program, leaf);
+            return leaf;
+        }
+
+        private static Node negation(Node operand) {
+            if (operand instanceof Constant) {
+                return Constant.of(!((Constant) operand).value);
+            }
+            if (operand instanceof Negation) {
+                return ((Negation) operand).operand;
+            }
+            return new Negation(operand);
+        }
+
+        private static Node xor(Node left, Node right) {
+            if (left instanceof Constant) {
+                return ((Constant) left).value ? negation(right) : right;
+            }
+            if (right instanceof Constant) {
+                return ((Constant) right).value ? negation(left) : left;
+            }
+            return new Xor(left, right);
+        }
+
+        /**
+         * @param and true for an AND, false for an OR
+         * @param left the left operand
+         * @param right the right operand
+         * @return the simplified AND/OR of the operands
+         */
+        private static Node junction(boolean and, Node left, Node right) {
+            final List<Node> operands = new ArrayList<>();
+            for (Node operand : new Node[]{left, right}) {
+                if (operand instanceof Junction && ((Junction) operand).and == and) {
+                    operands.addAll(((Junction) operand).operands);
+                } else {
+                    operands.add(operand);
+                }
+            }
+            final boolean stateless = operands.stream().allMatch(Node::isStateless);
+            final List<Node> simplified = new ArrayList<>();
+            for (Node operand : operands) {
+                if (operand instanceof Constant) {
+                    if (((Constant) operand).value == and) {
+                        // Neutral element (TRUE for an AND, FALSE for an OR)
+                        continue;
+                    }
+                    // Absorbing element: the next operands are never evaluated
+                    if (stateless) {
+                        return operand;
+                    }
+                    simplified.add(operand);
+                    break;
+                }
+                if (!operand.isStateless() || !simplified.contains(operand)) {
+                    simplified.add(operand);
+                }
+            }
+            if (stateless) {
+                // Absorption: a AND (a OR b) = a, a OR (a AND b) = a
+                simplified.removeIf(operand -> operand instanceof Junction && ((Junction) operand).and != and
+                        && simplified.stream().anyMatch(((Junction) operand).operands::contains));
+                simplified.sort(Comparator.comparingInt(Node::getCost).thenComparingInt(Node::getOrder));
+            }
+            if (simplified.isEmpty()) {
+                return Constant.of(and);
+            }
+            if (simplified.size() == 1) {
+                return simplified.get(0);
+            }
+            return new Junction(and, simplified);
+        }
+
+        /**
+         * Emits the instructions of an expression tree (from the last one to the first one).
+         * @param node the expression tree
+         * @param ifSatisfied the jump target when the expression is satisfied
+         * @param ifNotSatisfied the jump target when the expression is not satisfied
+         * @return the first instruction of the expression (or its result if it is constant)
+         */
+        private int emit(Node node, int ifSatisfied, int ifNotSatisfied) {
+            if (node instanceof Constant) {
+                return ((Constant) node).value ? ifSatisfied : ifNotSatisfied;
+            }
+            if (node instanceof Leaf) {
+                rules.add(((Leaf) node).rule);
+                nextIfSatisfied.add(ifSatisfied);
+                nextIfNotSatisfied.add(ifNotSatisfied);
+                return rules.size() - 1;
+            }
+            if (node instanceof Negation) {
+                return emit(((Negation) node).operand, ifNotSatisfied, ifSatisfied);
+            }
+            if (node instanceof Xor) {
+                final Xor xor = (Xor) node;
+                final int ifLeftSatisfied = emit(xor.right, ifNotSatisfied, ifSatisfied);
+                final int ifLeftNotSatisfied = emit(xor.right, ifSatisfied, ifNotSatisfied);
+                return emit(xor.left, ifLeftSatisfied, ifLeftNotSatisfied);
+            }
+            final Junction junction = (Junction) node;
+            final List<Node> operands = junction.operands;
+            int next = emit(operands.get(operands.size() - 1), ifSatisfied, ifNotSatisfied);
+            for (int i = operands.size() - 2; i >= 0; i--) {
+                next = junction.and
+                        ? emit(operands.get(i), next, ifNotSatisfied)
+                        : emit(operands.get(i), ifSatisfied, next);
+            }
+            return next;
+        }
+    }
+
+    /**
+     * A node of the expression tree of a rule.
+     */
+    private abstract static class Node {
+
+        /**
+         * @return true if the expression is stateless, false otherwise
+         */
+        abstract boolean isStateless();
+
+        /**
+         * @return the estimated cost of the expression
+         */
+        abstract int getCost();
+
+        /**
+         * @return the order of the expression (i.e. of its first leaf in the source rule) among expressions of equal cost
+         */
+        abstract int getOrder();
+    }
+
+    private static final class Constant extends Node {
+
+        private static final Constant TRUE = new Constant(true);
+
+        private static final Constant FALSE = new Constant(false);
+
+        private final boolean value;
+
+        private Constant(boolean value) {
+            this.value = value;
+        }
+
+        private static Constant of(boolean value) {
+            return value ? TRUE : FALSE;
+        }
+
+        @Override
+        boolean isStateless() {
+            return true;
+        }
+
+        @Override
+        int getCost() {
+            return 0;
+        }
+
+        @Override
+        int getOrder() {
+            return -1;
+        }
+    }
+
+    private static final class Leaf extends Node {
+
+        private final int id;
+
+        private final Rule rule;
+
+        private final int cost;
+
+        private final boolean stateless;
+
+        private Leaf(int id, Rule rule, int cost) {
+            this.id = id;
+            this.rule = rule;
+            this.cost = cost;
+            this.stateless = rule.isStateless();
+        }
+
+        @Override
+        boolean isStateless() {
+            return stateless;
+        }
+
+        @Override
+        int getCost() {
+            return cost;
+        }
+
+        @Override
+        int getOrder() {
+            return id;
+        }
+    }
+
+    private static final class Negation extends Node {
+
+        private final Node operand;
+
+        private Negation(Node operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        boolean isStateless() {
+            return operand.isStateless();
+        }
+
+        @Override
+        int getCost() {
+            return operand.getCost();
+        }
+
+        @Override
+        int getOrder() {
+            return operand.getOrder();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Negation && operand.equals(((Negation) obj).operand);
+        }
+
+        @Override
+        public int hashCode() {
+            return ~operand.hashCode();
+        }
+    }
+
+    private static final class Xor extends Node {
+
+        private final Node left;
+
+        private final Node right;
+
+        private Xor(Node left, Node right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        boolean isStateless() {
+            return left.isStateless() && right.isStateless();
+        }
+
+        @Override
+        int getCost() {
+            return left.getCost() + right.getCost();
+        }
+
+        @Override
+        int getOrder() {
+            return Math.min(left.getOrder(), right.getOrder());
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Xor)) {
+                return false;
+            }
+            Xor other = (Xor) obj;
+            return left.equals(other.left) && right.equals(other.right);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(left, right);
+        }
+    }
+
+    private static final class Junction extends Node {
+
+        /** True for an AND, false for an OR */
+        private final boolean and;
+
+        private final List<Node> operands;
+
+        private Junction(boolean and, List<Node> operands) {
+            this.and = and;
+            this.operands = operands;
+        }
+
+        @Override
+        boolean isStateless() {
+            return operands.stream().allMatch(Node::isStateless);
+        }
+
+        @Override
+        int getCost() {
+            return operands.stream().mapToInt(Node::getCost).sum();
+        }
+
+        @Override
+        int getOrder() {
+            return operands.stream().mapToInt(Node::getOrder).min().orElse(-1);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Junction)) {
+                return false;
+            }
+            Junction other = (Junction) obj;
+            return and == other.and && operands.equals(other.operands);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Boolean.hashCode(and) + operands.hashCode();
+        }
+    }
+}
@@ -28,6 +28,8 @@ import org.ta4j.core.TradingRecord;
 import org.ta4j.core.indicators.helpers.ConstantIndicator;
 import org.ta4j.core.indicators.helpers.CrossIndicator;
 
+import java.util.BitSet;
+
 /**
  * Crossed-up indicator rule.
  * <p></p>
@@ -62,4 +64,21 @@ public class CrossedUpIndicatorRule extends AbstractRule {
         traceIsSatisfied(index, satisfied);
         return satisfied;
     }
+
+    @Override
+    public boolean isStateless() {
+        return true;
+    }
+
+    @Override
+    public void getSatisfied(int startIndex, int endIndex, BitSet satisfied) {
+        if (startIndex >= endIndex) {
+            return;
+        }
+        final Boolean[] values = new Boolean[endIndex - startIndex];
+        cross.getValues(startIndex, endIndex, values);
+        for (int i = 0; i < values.length; i++) {
+            satisfied.set(startIndex + i, values[i]);
+        }
+    }
 }
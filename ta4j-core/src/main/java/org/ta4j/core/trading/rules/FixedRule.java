@@ -55,4 +55,9 @@ public class FixedRule extends AbstractRule {
         traceIsSatisfied(index, satisfied);
         return satisfied;
     }
+
+    @Override
+    public boolean isStateless() {
+        return true;
+    }
 }
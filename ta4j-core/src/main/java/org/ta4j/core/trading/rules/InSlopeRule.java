@@ -101,4 +101,9 @@ public class InSlopeRule extends AbstractRule {
 	traceIsSatisfied(index, satisfied);
 	return satisfied;
    }
+
+    @Override
+    public boolean isStateless() {
+        return true;
+    }
 }
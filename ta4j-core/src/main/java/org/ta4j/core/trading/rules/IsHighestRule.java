@@ -61,4 +61,9 @@ public class IsHighestRule extends AbstractRule {
 		traceIsSatisfied(index, satisfied);
 		return satisfied;
 	}
+
+	@Override
+	public boolean isStateless() {
+		return true;
+	}
 }
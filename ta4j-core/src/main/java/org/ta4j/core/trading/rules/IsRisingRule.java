@@ -84,4 +84,9 @@ public class IsRisingRule extends AbstractRule {
 		traceIsSatisfied(index, satisfied);
 		return satisfied;
 	}
+
+	@Override
+	public boolean isStateless() {
+		return true;
+	}
 }
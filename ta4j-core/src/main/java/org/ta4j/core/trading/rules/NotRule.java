@@ -25,6 +25,8 @@ package org.ta4j.core.trading.rules;
 import org.ta4j.core.Rule;
 import org.ta4j.core.TradingRecord;
 
+import java.util.BitSet;
+
 /**
  * An opposite (logical operator: NOT) rule.
  * <p></p>
@@ -43,10 +45,34 @@ public class NotRule extends AbstractRule {
         this.rule = rule;
     }
 
+    /**
+     * @return the negated rule
+     */
+    public Rule getRule() {
+        return rule;
+    }
+
     @Override
     public boolean isSatisfied(int index, TradingRecord tradingRecord) {
         final boolean satisfied = !rule.isSatisfied(index, tradingRecord);
         traceIsSatisfied(index, satisfied);
         return satisfied;
     }
+
+    @Override
+    public boolean isStateless() {
+        return rule.isStateless();
+    }
+
+    @Override
+    public void getSatisfied(int startIndex, int endIndex, BitSet satisfied) {
+        if (startIndex >= endIndex) {
+            return;
+        }
+        final BitSet ruleSatisfied = new BitSet(endIndex);
+        rule.getSatisfied(startIndex, endIndex, ruleSatisfied);
+        ruleSatisfied.flip(startIndex, endIndex);
+        satisfied.clear(startIndex, endIndex);
+        satisfied.or(ruleSatisfied);
+    }
 }
@@ -25,6 +25,8 @@ package org.ta4j.core.trading.rules;
 import org.ta4j.core.Rule;
 import org.ta4j.core.TradingRecord;
 
+import java.util.BitSet;
+
 /**
  * An OR combination of two {@link Rule rules}.
  * <p></p>
@@ -47,10 +49,43 @@ public class OrRule extends AbstractRule {
         this.rule2 = rule2;
     }
 
+    /**
+     * @return the first rule
+     */
+    public Rule getRule1() {
+        return rule1;
+    }
+
+    /**
+     * @return the second rule
+     */
+    public Rule getRule2() {
+        return rule2;
+    }
+
     @Override
     public boolean isSatisfied(int index, TradingRecord tradingRecord) {
         final boolean satisfied = rule1.isSatisfied(index, tradingRecord) || rule2.isSatisfied(index, tradingRecord);
         traceIsSatisfied(index, satisfied);
         return satisfied;
     }
+
+    @Override
+    public boolean isStateless() {
+        return rule1.isStateless() && rule2.isStateless();
+    }
+
+    @Override
+    public void getSatisfied(int startIndex, int endIndex, BitSet satisfied) {
+        if (startIndex >= endIndex) {
+            return;
+        }
+        final BitSet satisfied1 = new BitSet(endIndex);
+        final BitSet satisfied2 = new BitSet(endIndex);
+        rule1.getSatisfied(startIndex, endIndex, satisfied1);
+        rule2.getSatisfied(startIndex, endIndex, satisfied2);
+        satisfied1.or(satisfied2);
+        satisfied.clear(startIndex, endIndex);
+        satisfied.or(satisfied1);
+    }
 }
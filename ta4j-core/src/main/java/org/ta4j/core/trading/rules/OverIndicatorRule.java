@@ -27,6 +27,8 @@ import org.ta4j.core.Indicator;
 import org.ta4j.core.TradingRecord;
 import org.ta4j.core.indicators.helpers.ConstantIndicator;
 
+import java.util.BitSet;
+
 /**
  * Indicator-over-indicator rule.
  * <p></p>
@@ -64,4 +66,23 @@ public class OverIndicatorRule extends AbstractRule {
         traceIsSatisfied(index, satisfied);
         return satisfied;
     }
+
+    @Override
+    public boolean isStateless() {
+        return true;
+    }
+
+    @Override
+    public void getSatisfied(int startIndex, int endIndex, BitSet satisfied) {
+        if (startIndex >= endIndex) {
+            return;
+        }
+        final Decimal[] firstValues = new Decimal[endIndex - startIndex];
+        final Decimal[] secondValues = new Decimal[endIndex - startIndex];
+        first.getValues(startIndex, endIndex, firstValues);
+        second.getValues(startIndex, endIndex, secondValues);
+        for (int i = 0; i < firstValues.length; i++) {
+            satisfied.set(startIndex + i, firstValues[i].isGreaterThan(secondValues[i]));
+        }
+    }
 }
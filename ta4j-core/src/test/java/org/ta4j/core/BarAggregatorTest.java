@@ -0,0 +1,147 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.ta4j.core.TATestsUtils.assertDecimalEquals;
+
+public class BarAggregatorTest {
+
+    private List<Bar> bars;
+
+    private ZonedDateTime time;
+
+    @Before
+    public void setUp() {
+        bars = new ArrayList<>();
+        time = ZonedDateTime.of(2014, 6, 13, 0, 0, 0, 0, ZoneId.systemDefault());
+    }
+
+    @Test
+    public void timeBars() {
+        BarAggregator aggregator = BarAggregator.timeBars(Duration.ofMinutes(5), bars::add);
+        aggregator.addTrade(time, Decimal.valueOf(2), Decimal.valueOf(10));
+        aggregator.addTrade(time.plusMinutes(1), Decimal.valueOf(1), Decimal.valueOf(12));
+        aggregator.addTrade(time.plusMinutes(4), Decimal.valueOf(3), Decimal.valueOf(9));
+        assertEquals(0, bars.size());
+        // No trade between 5 and 10 minutes: no bar
+        aggregator.addTrade(time.plusMinutes(12), Decimal.valueOf(1), Decimal.valueOf(11));
+        assertEquals(1, bars.size());
+        aggregator.flush();
+        assertEquals(2, bars.size());
+
+        Bar first = bars.get(0);
+        assertEquals(time, first.getBeginTime());
+        assertEquals(time.plusMinutes(5), first.getEndTime());
+        assertDecimalEquals(first.getOpenPrice(), 10);
+        assertDecimalEquals(first.getMaxPrice(), 12);
+        assertDecimalEquals(first.getMinPrice(), 9);
+        assertDecimalEquals(first.getClosePrice(), 9);
+        assertDecimalEquals(first.getVolume(), 6);
+        assertDecimalEquals(first.getAmount(), 59);
+        assertEquals(3, first.getTrades());
+
+        Bar second = bars.get(1);
+        assertEquals(time.plusMinutes(10), second.getBeginTime());
+        assertEquals(time.plusMinutes(15), second.getEndTime());
+        assertEquals(1, second.getTrades());
+        assertEquals(2, aggregator.getBarCount());
+    }
+
+    @Test
+    public void timeBarsMatchAddTradeSemantics() {
+        TimeSeries series = new BaseTimeSeries();
+        BarAggregator aggregator = BarAggregator.timeBars(Duration.ofMinutes(1), series::addBar);
+        Bar expected = new BaseBar(Duration.ofMinutes(1), time.plusMinutes(1));
+        for (int i = 0; i < 10; i++) {
+            Decimal price = Decimal.valueOf(100 + (i * 7) % 5);
+            aggregator.addTrade(time.plusSeconds(i * 5), Decimal.ONE, price);
+            expected.addTrade(Decimal.ONE, price);
+        }
+        aggregator.flush();
+        assertEquals(1, series.getBarCount());
+        Bar bar = series.getBar(0);
+        assertEquals(expected.getEndTime(), bar.getEndTime());
+        assertEquals(expected.getOpenPrice(), bar.getOpenPrice());
+        assertEquals(expected.getMaxPrice(), bar.getMaxPrice());
+        assertEquals(expected.getMinPrice(), bar.getMinPrice());
+        assertEquals(expected.getClosePrice(), bar.getClosePrice());
+        assertEquals(expected.getVolume(), bar.getVolume());
+        assertEquals(expected.getAmount(), bar.getAmount());
+        assertEquals(expected.getTrades(), bar.getTrades());
+    }
+
+    @Test
+    public void volumeBars() {
+        BarAggregator aggregator = BarAggregator.volumeBars(Decimal.valueOf(5), bars::add);
+        aggregator.addTrade(time, Decimal.valueOf(2), Decimal.valueOf(10));
+        aggregator.addTrade(time.plusSeconds(10), Decimal.valueOf(4), Decimal.valueOf(11));
+        aggregator.addTrade(time.plusSeconds(20), Decimal.valueOf(5), Decimal.valueOf(12));
+        aggregator.addTrade(time.plusSeconds(30), Decimal.valueOf(1), Decimal.valueOf(13));
+        assertEquals(2, bars.size());
+
+        assertDecimalEquals(bars.get(0).getVolume(), 6);
+        assertEquals(time, bars.get(0).getBeginTime());
+        assertEquals(time.plusSeconds(10), bars.get(0).getEndTime());
+        assertDecimalEquals(bars.get(1).getVolume(), 5);
+        assertDecimalEquals(bars.get(1).getOpenPrice(), 12);
+        assertEquals(Duration.ZERO, bars.get(1).getTimePeriod());
+
+        aggregator.flush();
+        assertEquals(3, bars.size());
+        assertDecimalEquals(bars.get(2).getVolume(), 1);
+    }
+
+    @Test
+    public void tickBarsHaveStrictlyIncreasingEndTimes() {
+        TimeSeries series = new BaseTimeSeries();
+        BarAggregator aggregator = BarAggregator.tickBars(2, series::addBar);
+        for (int i = 0; i < 6; i++) {
+            // All the trades at the same time
+            aggregator.addTrade(time, Decimal.ONE, Decimal.valueOf(i));
+        }
+        assertEquals(3, series.getBarCount());
+        assertEquals(time, series.getBar(0).getEndTime());
+        assertEquals(time.plusNanos(1000000), series.getBar(1).getEndTime());
+        assertEquals(time.plusNanos(2000000), series.getBar(2).getEndTime());
+        assertDecimalEquals(series.getBar(2).getOpenPrice(), 4);
+        assertDecimalEquals(series.getBar(2).getClosePrice(), 5);
+        assertEquals(2, series.getBar(2).getTrades());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void tradesShouldBeInChronologicalOrder() {
+        BarAggregator aggregator = BarAggregator.tickBars(10, bars::add);
+        aggregator.addTrade(time, Decimal.ONE, Decimal.ONE);
+        aggregator.addTrade(time.minusSeconds(1), Decimal.ONE, Decimal.ONE);
+    }
+}
@@ -25,15 +25,36 @@ package org.ta4j.core;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.time.Duration;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.Base64;
 
 import static org.junit.Assert.*;
 import static org.ta4j.core.TATestsUtils.assertDecimalEquals;
 
 public class BarTest {
 
+    /** Bar serialized before its end time was stored as epoch values (with beginTime/endTime fields) */
+    private static final String LEGACY_SERIALIZED_BAR = "rO0ABXNyABVvcmcudGE0ai5jb3JlLkJhc2VCYXJvjhN02DZXkwIACkkABnRyYWRlc0wABmFtb3VudHQAF0xvcmcvdGE0ai9jb3Jl"
+            + "L0RlY2ltYWw7TAAJYmVnaW5UaW1ldAAZTGphdmEvdGltZS9ab25lZERhdGVUaW1lO0wACmNsb3NlUHJpY2VxAH4AAUwAB2VuZFRp"
+            + "bWVxAH4AAkwACG1heFByaWNlcQB+AAFMAAhtaW5QcmljZXEAfgABTAAJb3BlblByaWNlcQB+AAFMAAp0aW1lUGVyaW9kdAAUTGph"
+            + "dmEvdGltZS9EdXJhdGlvbjtMAAZ2b2x1bWVxAH4AAXhwAAAAAHNyABVvcmcudGE0ai5jb3JlLkRlY2ltYWwe4UBZmT7RugIAAUwA"
+            + "CGRlbGVnYXRldAAWTGphdmEvbWF0aC9CaWdEZWNpbWFsO3hyABBqYXZhLmxhbmcuTnVtYmVyhqyVHQuU4IsCAAB4cHNyABRqYXZh"
+            + "Lm1hdGguQmlnRGVjaW1hbFTHFVf5gShPAwACSQAFc2NhbGVMAAZpbnRWYWx0ABZMamF2YS9tYXRoL0JpZ0ludGVnZXI7eHEAfgAH"
+            + "AAAAAHNyABRqYXZhLm1hdGguQmlnSW50ZWdlcoz8nx+pO/sdAwAGSQAIYml0Q291bnRJAAliaXRMZW5ndGhJABNmaXJzdE5vbnpl"
+            + "cm9CeXRlTnVtSQAMbG93ZXN0U2V0Qml0SQAGc2lnbnVtWwAJbWFnbml0dWRldAACW0J4cQB+AAf///////////////7////+AAAA"
+            + "AHVyAAJbQqzzF/gGCFTgAgAAeHAAAAAAeHhzcgANamF2YS50aW1lLlNlcpVdhLobIkiyDAAAeHB3HgYAAAfhAQIJAAAAAAH0BAcA"
+            + "DEV1cm9wZS9QYXJpc3hzcQB+AAVzcQB+AAkAAAABc3EAfgAM///////////////+/////gAAAAF1cQB+AA8AAAABGXh4c3EAfgAR"
+            + "dx4GAAAH4QECCgAAAAAB9AQHAAxFdXJvcGUvUGFyaXN4c3EAfgAFc3EAfgAJAAAAAHNxAH4ADP///////////////v////4AAAAB"
+            + "dXEAfgAPAAAAAQN4eHNxAH4ABXNxAH4ACQAAAABzcQB+AAz///////////////7////+AAAAAXVxAH4ADwAAAAEBeHhzcQB+AAVz"
+            + "cQB+AAkAAAABc3EAfgAM///////////////+/////gAAAAF1cQB+AA8AAAABD3h4c3EAfgARdw0BAAAAAAAADhAAAAAAeHNxAH4A"
+            + "BXNxAH4ACQAAAABzcQB+AAz///////////////7////+AAAAAXVxAH4ADwAAAAFkeHg=";
+
     private Bar bar;
 
     private ZonedDateTime beginTime;
@@ -83,5 +104,71 @@ public class BarTest {
 
         assertTrue(bar.inPeriod(beginTime));
         assertFalse(bar.inPeriod(endTime));
+        assertTrue(bar.inPeriod(endTime.minusNanos(1)));
+        assertFalse(bar.inPeriod(beginTime.minusNanos(1)));
+    }
+
+    @Test
+    public void epochTimes() {
+        assertEquals(beginTime.toInstant().toEpochMilli(), bar.getBeginTimeEpochMilli());
+        assertEquals(endTime.toInstant().toEpochMilli(), bar.getEndTimeEpochMilli());
+
+        assertTrue(bar.inPeriod(bar.getBeginTimeEpochMilli()));
+        assertTrue(bar.inPeriod(bar.getEndTimeEpochMilli() - 1));
+        assertFalse(bar.inPeriod(bar.getEndTimeEpochMilli()));
+        assertFalse(bar.inPeriod(bar.getBeginTimeEpochMilli() - 1));
+    }
+
+    @Test
+    public void timestampsKeepTheirPrecisionAndZone() {
+        ZonedDateTime preciseEndTime = ZonedDateTime.of(2014, 6, 25, 1, 0, 0, 123456789, ZoneId.of("America/New_York"));
+        Bar preciseBar = new BaseBar(Duration.ofMillis(1500), preciseEndTime);
+        assertEquals(preciseEndTime, preciseBar.getEndTime());
+        assertEquals(preciseEndTime.minus(Duration.ofMillis(1500)), preciseBar.getBeginTime());
+        assertEquals(preciseEndTime.minus(Duration.ofMillis(1500)).toInstant().toEpochMilli(), preciseBar.getBeginTimeEpochMilli());
+        assertTrue(preciseBar.inPeriod(preciseEndTime.minusSeconds(1)));
+        assertFalse(preciseBar.inPeriod(preciseEndTime.minusNanos(1500000001)));
+    }
+
+    @Test
+    public void serializationRoundTrip() throws Exception {
+        bar.addTrade(3.0, 200.0);
+        bar.addTrade(4.0, 201.0);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(bar);
+        }
+        Bar copy = deserialize(bytes.toByteArray());
+
+        assertEquals(endTime, copy.getEndTime());
+        assertEquals(beginTime, copy.getBeginTime());
+        assertEquals(2, copy.getTrades());
+        assertDecimalEquals(copy.getAmount(), 3 * 200 + 4 * 201);
+        assertDecimalEquals(copy.getOpenPrice(), 200);
+        assertDecimalEquals(copy.getClosePrice(), 201);
+        assertDecimalEquals(copy.getVolume(), 7);
+    }
+
+    @Test
+    public void legacySerializedBarShouldBeRead() throws Exception {
+        Bar legacy = deserialize(Base64.getDecoder().decode(LEGACY_SERIALIZED_BAR));
+
+        ZonedDateTime legacyEndTime = ZonedDateTime.of(2017, 1, 2, 10, 0, 0, 500, ZoneId.of("Europe/Paris"));
+        assertEquals(legacyEndTime, legacy.getEndTime());
+        assertEquals(legacyEndTime.minusHours(1), legacy.getBeginTime());
+        assertEquals(Duration.ofHours(1), legacy.getTimePeriod());
+        assertDecimalEquals(legacy.getOpenPrice(), 1.5);
+        assertDecimalEquals(legacy.getMaxPrice(), 3);
+        assertDecimalEquals(legacy.getMinPrice(), 1);
+        assertDecimalEquals(legacy.getClosePrice(), 2.5);
+        assertDecimalEquals(legacy.getVolume(), 100);
+        assertDecimalEquals(legacy.getAmount(), 0);
+        assertEquals(0, legacy.getTrades());
+    }
+
+    private static Bar deserialize(byte[] bytes) throws Exception {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return (Bar) in.readObject();
+        }
     }
 }
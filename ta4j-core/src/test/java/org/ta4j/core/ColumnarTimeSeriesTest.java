@@ -0,0 +1,217 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.indicators.EMAIndicator;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.mocks.MockBar;
+import org.ta4j.core.mocks.MockTimeSeries;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.ta4j.core.TATestsUtils.assertDecimalEquals;
+
+public class ColumnarTimeSeriesTest {
+
+    private List<Bar> bars;
+
+    private ColumnarTimeSeries series;
+
+    @Before
+    public void setUp() {
+        bars = new ArrayList<>();
+        bars.add(new MockBar(ZonedDateTime.of(2014, 6, 13, 0, 0, 0, 0, ZoneId.systemDefault()), 1d));
+        bars.add(new MockBar(ZonedDateTime.of(2014, 6, 14, 0, 0, 0, 0, ZoneId.systemDefault()), 2d));
+        bars.add(new MockBar(ZonedDateTime.of(2014, 6, 15, 0, 0, 0, 0, ZoneId.systemDefault()), 3d));
+        bars.add(new MockBar(ZonedDateTime.of(2014, 6, 20, 0, 0, 0, 0, ZoneId.systemDefault()), 4d));
+        bars.add(new MockBar(ZonedDateTime.of(2014, 6, 25, 0, 0, 0, 0, ZoneId.systemDefault()), 5d));
+        bars.add(new MockBar(ZonedDateTime.of(2014, 6, 30, 0, 0, 0, 0, ZoneId.systemDefault()), 6d));
+        series = new ColumnarTimeSeries("columnar", bars);
+    }
+
+    @Test
+    public void getEndGetBeginGetBarCount() {
+        assertEquals(0, series.getBeginIndex());
+        assertEquals(bars.size() - 1, series.getEndIndex());
+        assertEquals(bars.size(), series.getBarCount());
+        assertEquals(bars.size(), series.getBarData().size());
+        assertTrue(new ColumnarTimeSeries().isEmpty());
+    }
+
+    @Test
+    public void barViewsMatchOriginalBars() {
+        for (int i = 0; i < bars.size(); i++) {
+            Bar original = bars.get(i);
+            Bar view = series.getBar(i);
+            assertEquals(original.getEndTime(), view.getEndTime());
+            assertEquals(original.getBeginTime(), view.getBeginTime());
+            assertEquals(original.getTimePeriod(), view.getTimePeriod());
+            assertEquals(original.getOpenPrice(), view.getOpenPrice());
+            assertEquals(original.getMaxPrice(), view.getMaxPrice());
+            assertEquals(original.getMinPrice(), view.getMinPrice());
+            assertEquals(original.getClosePrice(), view.getClosePrice());
+            assertEquals(original.getVolume(), view.getVolume());
+            assertEquals(original.getAmount(), view.getAmount());
+            assertEquals(original.getTrades(), view.getTrades());
+            assertTrue(view.getClosePrice().isDoubleBacked());
+        }
+    }
+
+    @Test
+    public void bigDecimalMode() {
+        ColumnarTimeSeries exactSeries = new ColumnarTimeSeries("exact", ZoneId.systemDefault(), Decimal.Mode.BIG_DECIMAL);
+        exactSeries.addBar(bars.get(0));
+        assertFalse(exactSeries.getBar(0).getClosePrice().isDoubleBacked());
+        assertDecimalEquals(exactSeries.getBar(0).getClosePrice(), 1);
+    }
+
+    @Test
+    public void addTradeOnView() {
+        ColumnarTimeSeries tradeSeries = new ColumnarTimeSeries();
+        tradeSeries.addBar(new BaseBar(Duration.ofMinutes(1), ZonedDateTime.of(2014, 6, 13, 0, 1, 0, 0, ZoneId.systemDefault())));
+        Bar bar = tradeSeries.getLastBar();
+        assertNull(bar.getOpenPrice());
+
+        bar.addTrade(2, 10);
+        bar.addTrade(1, 12);
+        bar.addTrade(3, 9);
+
+        Bar updated = tradeSeries.getBar(0);
+        assertDecimalEquals(updated.getOpenPrice(), 10);
+        assertDecimalEquals(updated.getMaxPrice(), 12);
+        assertDecimalEquals(updated.getMinPrice(), 9);
+        assertDecimalEquals(updated.getClosePrice(), 9);
+        assertDecimalEquals(updated.getVolume(), 6);
+        assertDecimalEquals(updated.getAmount(), 59);
+        assertEquals(3, updated.getTrades());
+    }
+
+    @Test
+    public void maximumBarCount() {
+        ColumnarTimeSeries movingSeries = new ColumnarTimeSeries();
+        movingSeries.setMaximumBarCount(3);
+        ZonedDateTime time = ZonedDateTime.of(2014, 6, 13, 0, 0, 0, 0, ZoneId.systemDefault());
+        for (int i = 0; i < 100; i++) {
+            movingSeries.addBar(time.plusDays(i), i, i, i, i, i);
+        }
+        assertEquals(3, movingSeries.getBarCount());
+        assertEquals(97, movingSeries.getRemovedBarsCount());
+        assertEquals(99, movingSeries.getEndIndex());
+        assertDecimalEquals(movingSeries.getBar(97).getClosePrice(), 97);
+        assertDecimalEquals(movingSeries.getBar(99).getClosePrice(), 99);
+        // Removed bar: first retained bar is returned
+        assertDecimalEquals(movingSeries.getBar(10).getClosePrice(), 97);
+        assertDecimalEquals(movingSeries.getBarData().get(0).getClosePrice(), 97);
+    }
+
+    @Test
+    public void barsShouldStayReadableAfterEviction() {
+        ColumnarTimeSeries movingSeries = new ColumnarTimeSeries();
+        movingSeries.setMaximumBarCount(2);
+        ZonedDateTime time = ZonedDateTime.of(2014, 6, 13, 0, 0, 0, 0, ZoneId.systemDefault());
+        movingSeries.addBar(time, 1, 2, 0.5, 1.5, 10);
+        Bar firstBar = movingSeries.getBar(0);
+        for (int i = 1; i < 10; i++) {
+            movingSeries.addBar(time.plusDays(i), i, i, i, i, i);
+        }
+        assertEquals(8, movingSeries.getRemovedBarsCount());
+        assertEquals(time, firstBar.getEndTime());
+        assertDecimalEquals(firstBar.getOpenPrice(), 1);
+        assertDecimalEquals(firstBar.getMaxPrice(), 2);
+        assertDecimalEquals(firstBar.getMinPrice(), 0.5);
+        assertDecimalEquals(firstBar.getClosePrice(), 1.5);
+        assertDecimalEquals(firstBar.getVolume(), 10);
+
+        // Trades added to an evicted bar only update the bar
+        firstBar.addTrade(1, 3);
+        assertDecimalEquals(firstBar.getMaxPrice(), 3);
+        assertDecimalEquals(movingSeries.getBar(8).getMaxPrice(), 8);
+        assertDecimalEquals(movingSeries.getBar(0).getMaxPrice(), 8);
+    }
+
+    @Test
+    public void barsShouldBeSerializedWithoutTheirSeries() throws IOException, ClassNotFoundException {
+        Bar bar = series.getBar(2);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(bar);
+        }
+        Bar copy;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            copy = (Bar) in.readObject();
+        }
+        assertEquals(bar.getEndTime(), copy.getEndTime());
+        assertEquals(bar.getClosePrice(), copy.getClosePrice());
+        // Only updates the copy
+        copy.addTrade(1, 100);
+        assertDecimalEquals(copy.getClosePrice(), 100);
+        assertDecimalEquals(series.getBar(2).getClosePrice(), 3);
+    }
+
+    @Test
+    public void subSeries() {
+        TimeSeries subSeries = series.getSubSeries(2, 5);
+        assertEquals(3, subSeries.getBarCount());
+        assertEquals(0, subSeries.getBeginIndex());
+        assertEquals(2, subSeries.getEndIndex());
+        assertEquals(bars.get(2).getEndTime(), subSeries.getFirstBar().getEndTime());
+        assertEquals(bars.get(4).getClosePrice(), subSeries.getLastBar().getClosePrice());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void addBarWithEndTimePriorToSeriesEndTimeShouldThrowException() {
+        series.addBar(new MockBar(ZonedDateTime.of(2000, 1, 1, 0, 0, 0, 0, ZoneId.systemDefault()), 99d));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getBarOutOfBounds() {
+        series.getBar(bars.size());
+    }
+
+    @Test
+    public void indicatorsMatchBaseTimeSeries() {
+        TimeSeries baseSeries = new MockTimeSeries(1, 2, 3, 4, 3, 4, 5, 4, 3, 3, 4, 3, 2);
+        TimeSeries columnarSeries = new ColumnarTimeSeries("columnar", baseSeries.getBarData());
+        SMAIndicator baseSma = new SMAIndicator(new ClosePriceIndicator(baseSeries), 3);
+        SMAIndicator columnarSma = new SMAIndicator(new ClosePriceIndicator(columnarSeries), 3);
+        EMAIndicator baseEma = new EMAIndicator(new ClosePriceIndicator(baseSeries), 5);
+        EMAIndicator columnarEma = new EMAIndicator(new ClosePriceIndicator(columnarSeries), 5);
+        for (int i = 0; i < baseSeries.getBarCount(); i++) {
+            assertDecimalEquals(columnarSma.getValue(i), baseSma.getValue(i).doubleValue());
+            assertDecimalEquals(columnarEma.getValue(i), baseEma.getValue(i).doubleValue());
+        }
+    }
+}
@@ -40,4 +40,84 @@ public class DecimalTest {
         assertEquals(tenPlaces.multiply(ten), decimalTen.multipliedBy(tenPlacesDecimal).getDelegate()); // BigDecimal = BigDecimal
         assertEquals(Decimal.valueOf(tenPlaces.multiply(ten)), decimalTen.multipliedBy(tenPlacesDecimal)); // Decimal = Decimal
     }
+
+    @Test
+    public void testDoubleBackedArithmetic() {
+        Decimal three = Decimal.doubleValueOf(3);
+        Decimal two = Decimal.doubleValueOf(2);
+
+        assertTrue(three.isDoubleBacked());
+        assertFalse(Decimal.THREE.isDoubleBacked());
+        assertFalse(Decimal.NaN.isDoubleBacked());
+
+        assertDecimalEquals(three.plus(two), 5);
+        assertDecimalEquals(three.minus(two), 1);
+        assertDecimalEquals(three.multipliedBy(two), 6);
+        assertDecimalEquals(three.dividedBy(two), 1.5);
+        assertDecimalEquals(three.remainder(two), 1);
+        assertDecimalEquals(three.pow(2), 9);
+        assertDecimalEquals(Decimal.doubleValueOf(-1.5).abs(), 1.5);
+        assertDecimalEquals(Decimal.doubleValueOf(1.5).floor(), 1);
+        assertDecimalEquals(Decimal.doubleValueOf(1.5).ceil(), 2);
+        assertDecimalEquals(Decimal.doubleValueOf(16).sqrt(), 4);
+        assertTrue(three.dividedBy(Decimal.doubleValueOf(0)).isNaN());
+        assertTrue(three.plus(Decimal.NaN).isNaN());
+        assertTrue(Decimal.doubleValueOf(Double.NaN).isNaN());
+    }
+
+    @Test
+    public void testMixedModesAreDoubleBacked() {
+        Decimal exact = Decimal.valueOf("1.5");
+        Decimal primitive = Decimal.doubleValueOf(1.5);
+
+        assertTrue(exact.plus(primitive).isDoubleBacked());
+        assertTrue(primitive.plus(exact).isDoubleBacked());
+        assertFalse(exact.plus(exact).isDoubleBacked());
+
+        assertEquals(exact, primitive);
+        assertEquals(primitive, exact);
+        assertEquals(exact.hashCode(), primitive.hashCode());
+        assertEquals(0, exact.compareTo(primitive));
+        assertTrue(primitive.isLessThan(Decimal.TWO));
+        assertTrue(Decimal.TWO.isGreaterThan(primitive));
+    }
+
+    @Test
+    public void testMixedModesEqualityIsExact() {
+        Decimal exact = Decimal.valueOf("0.1");
+        Decimal primitive = Decimal.doubleValueOf(0.1);
+        Decimal closeToExact = Decimal.valueOf("0.1000000000000000000001");
+
+        // Same double value, but 0.1 is not exactly representable as a double
+        assertEquals(0, exact.compareTo(primitive));
+        assertNotEquals(exact, primitive);
+        assertNotEquals(primitive, exact);
+        assertNotEquals(primitive, closeToExact);
+        assertNotEquals(exact, closeToExact);
+
+        Decimal exactBinary = Decimal.valueOf(new BigDecimal(0.1));
+        assertEquals(exactBinary, primitive);
+        assertEquals(primitive, exactBinary);
+        assertEquals(exactBinary.hashCode(), primitive.hashCode());
+    }
+
+    @Test
+    public void testSignedZerosAreEqual() {
+        Decimal zero = Decimal.doubleValueOf(0.0);
+        Decimal negativeZero = Decimal.doubleValueOf(-0.0);
+
+        assertEquals(zero, negativeZero);
+        assertEquals(zero.hashCode(), negativeZero.hashCode());
+        assertEquals(Decimal.ZERO, negativeZero);
+        assertEquals(negativeZero, Decimal.ZERO);
+        assertEquals(Decimal.ZERO.hashCode(), negativeZero.hashCode());
+        assertEquals(Decimal.valueOf("0.00").hashCode(), negativeZero.hashCode());
+    }
+
+    @Test
+    public void testModes() {
+        assertFalse(Decimal.Mode.BIG_DECIMAL.of(42).isDoubleBacked());
+        assertTrue(Decimal.Mode.DOUBLE.of(42).isDoubleBacked());
+        assertDecimalEquals(Decimal.Mode.DOUBLE.of(42), 42);
+    }
 }
@@ -0,0 +1,199 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.mocks.MockBar;
+import org.ta4j.core.mocks.MockTimeSeries;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.ta4j.core.TATestsUtils.assertDecimalEquals;
+
+public class MappedTimeSeriesTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private List<Bar> bars;
+
+    private Path file;
+
+    private MappedTimeSeries series;
+
+    @Before
+    public void setUp() throws IOException {
+        ZoneId zone = ZoneId.of("Europe/Paris");
+        bars = new ArrayList<>();
+        bars.add(new MockBar(ZonedDateTime.of(2014, 6, 13, 0, 0, 0, 0, zone), 1, 2, 3, 0.5, 10, 20, 3));
+        bars.add(new MockBar(ZonedDateTime.of(2014, 6, 14, 0, 0, 0, 0, zone), 2, 3, 4, 1.5, 11, 21, 4));
+        bars.add(new MockBar(ZonedDateTime.of(2014, 6, 15, 0, 0, 0, 0, zone), 3, 4, 5, 2.5, 12, 22, 5));
+        bars.add(new MockBar(ZonedDateTime.of(2014, 6, 20, 0, 0, 0, 0, zone), 4, 5, 6, 3.5, 13, 23, 6));
+        bars.add(new MockBar(ZonedDateTime.of(2014, 6, 25, 0, 0, 0, 0, zone), 5, 6, 7, 4.5, 14, 24, 7));
+        file = folder.newFile("bars.ta4j").toPath();
+        MappedTimeSeries.write(new BaseTimeSeries("bars", bars), file);
+        series = new MappedTimeSeries(file);
+    }
+
+    @Test
+    public void getEndGetBeginGetBarCount() {
+        assertEquals("bars.ta4j", series.getName());
+        assertEquals(0, series.getBeginIndex());
+        assertEquals(bars.size() - 1, series.getEndIndex());
+        assertEquals(bars.size(), series.getBarCount());
+        assertEquals(bars.size(), series.getBarData().size());
+        assertEquals(ZoneId.of("Europe/Paris"), series.getZone());
+    }
+
+    @Test
+    public void mappedBarsMatchWrittenBars() {
+        for (int i = 0; i < bars.size(); i++) {
+            assertBarEquals(bars.get(i), series.getBar(i));
+            assertTrue(series.getBar(i).getClosePrice().isDoubleBacked());
+        }
+    }
+
+    @Test
+    public void rewrittenFileShouldNotAffectMappedSeries() throws IOException {
+        MappedTimeSeries.write(new BaseTimeSeries("bars", new ArrayList<>(bars.subList(0, 1))), file);
+
+        // The mapped series still reads the replaced file
+        assertEquals(bars.size(), series.getBarCount());
+        for (int i = 0; i < bars.size(); i++) {
+            assertBarEquals(bars.get(i), series.getBar(i));
+        }
+        MappedTimeSeries rewrittenSeries = new MappedTimeSeries(file);
+        assertEquals(1, rewrittenSeries.getBarCount());
+        assertBarEquals(bars.get(0), rewrittenSeries.getBar(0));
+        // No temporary file left
+        assertEquals(1, folder.getRoot().list().length);
+    }
+
+    @Test
+    public void bigDecimalMode() {
+        MappedTimeSeries exactSeries = new MappedTimeSeries(file, Decimal.Mode.BIG_DECIMAL);
+        assertFalse(exactSeries.getBar(0).getClosePrice().isDoubleBacked());
+        assertDecimalEquals(exactSeries.getBar(0).getClosePrice(), 2);
+    }
+
+    @Test
+    public void emptySeries() throws IOException {
+        Path emptyFile = folder.newFile("empty.ta4j").toPath();
+        MappedTimeSeries.write(new BaseTimeSeries(), emptyFile);
+        MappedTimeSeries emptySeries = new MappedTimeSeries(emptyFile);
+        assertTrue(emptySeries.isEmpty());
+        assertEquals(-1, emptySeries.getBeginIndex());
+        assertEquals(-1, emptySeries.getEndIndex());
+    }
+
+    @Test
+    public void maximumBarCount() {
+        series.setMaximumBarCount(2);
+        assertEquals(2, series.getBarCount());
+        assertEquals(3, series.getRemovedBarsCount());
+        assertEquals(4, series.getEndIndex());
+        assertDecimalEquals(series.getBar(4).getClosePrice(), 6);
+        // Removed bar: first retained bar is returned
+        assertDecimalEquals(series.getBar(0).getClosePrice(), 5);
+        assertDecimalEquals(series.getBarData().get(0).getClosePrice(), 5);
+    }
+
+    @Test
+    public void subSeriesIsAViewOverTheMapping() {
+        TimeSeries subSeries = series.getSubSeries(2, 4);
+        assertTrue(subSeries instanceof MappedTimeSeries);
+        assertEquals(2, subSeries.getBarCount());
+        assertEquals(0, subSeries.getBeginIndex());
+        assertEquals(1, subSeries.getEndIndex());
+        assertBarEquals(bars.get(2), subSeries.getFirstBar());
+        assertBarEquals(bars.get(3), subSeries.getLastBar());
+    }
+
+    @Test
+    public void serialization() throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(series.getSubSeries(1, 5));
+        }
+        TimeSeries deserialized;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            deserialized = (TimeSeries) in.readObject();
+        }
+        assertEquals(4, deserialized.getBarCount());
+        assertBarEquals(bars.get(4), deserialized.getLastBar());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void addBarShouldThrowException() {
+        series.addBar(bars.get(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void openingAnotherFileShouldThrowException() throws IOException {
+        Path otherFile = folder.newFile("other.csv").toPath();
+        Files.write(otherFile, "date,open,high,low,close,volume\n".getBytes());
+        new MappedTimeSeries(otherFile);
+    }
+
+    @Test
+    public void indicatorsMatchBaseTimeSeries() throws IOException {
+        TimeSeries baseSeries = new MockTimeSeries(1, 2, 3, 4, 3, 4, 5, 4, 3, 3, 4, 3, 2);
+        Path smaFile = folder.newFile("sma.ta4j").toPath();
+        MappedTimeSeries.write(baseSeries, smaFile);
+        TimeSeries mappedSeries = new MappedTimeSeries(smaFile);
+        SMAIndicator baseSma = new SMAIndicator(new ClosePriceIndicator(baseSeries), 3);
+        SMAIndicator mappedSma = new SMAIndicator(new ClosePriceIndicator(mappedSeries), 3);
+        for (int i = 0; i < baseSeries.getBarCount(); i++) {
+            assertDecimalEquals(mappedSma.getValue(i), baseSma.getValue(i).doubleValue());
+        }
+    }
+
+    private static void assertBarEquals(Bar expected, Bar actual) {
+        assertEquals(expected.getEndTime(), actual.getEndTime());
+        assertEquals(expected.getBeginTime(), actual.getBeginTime());
+        assertEquals(expected.getTimePeriod(), actual.getTimePeriod());
+        assertEquals(expected.getOpenPrice(), actual.getOpenPrice());
+        assertEquals(expected.getMaxPrice(), actual.getMaxPrice());
+        assertEquals(expected.getMinPrice(), actual.getMinPrice());
+        assertEquals(expected.getClosePrice(), actual.getClosePrice());
+        assertEquals(expected.getVolume(), actual.getVolume());
+        assertEquals(expected.getAmount(), actual.getAmount());
+        assertEquals(expected.getTrades(), actual.getTrades());
+    }
+}
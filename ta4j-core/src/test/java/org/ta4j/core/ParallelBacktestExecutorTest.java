@@ -0,0 +1,108 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.analysis.criteria.TotalProfitCriterion;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.mocks.MockTimeSeries;
+import org.ta4j.core.trading.rules.CrossedDownIndicatorRule;
+import org.ta4j.core.trading.rules.CrossedUpIndicatorRule;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ParallelBacktestExecutorTest {
+
+    private TimeSeries series;
+
+    private List<Function<TimeSeries, Strategy>> strategyFactories;
+
+    @Before
+    public void setUp() {
+        double[] data = new double[500];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = 100 + 20 * Math.sin(i / 10d) + (i % 7);
+        }
+        series = new MockTimeSeries(data);
+        strategyFactories = new ArrayList<>();
+        for (int timeFrame = 2; timeFrame < 30; timeFrame++) {
+            final int shortTimeFrame = timeFrame;
+            strategyFactories.add(s -> buildStrategy(s, shortTimeFrame));
+        }
+    }
+
+    private static Strategy buildStrategy(TimeSeries series, int shortTimeFrame) {
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        SMAIndicator shortSma = new SMAIndicator(closePrice, shortTimeFrame);
+        SMAIndicator longSma = new SMAIndicator(closePrice, 30);
+        return new BaseStrategy(new CrossedUpIndicatorRule(shortSma, longSma),
+                new CrossedDownIndicatorRule(shortSma, longSma));
+    }
+
+    @Test
+    public void runFactoriesShouldGiveSameResultsAsSequentialRuns() {
+        AnalysisCriterion criterion = new TotalProfitCriterion();
+        ParallelBacktestExecutor executor = new ParallelBacktestExecutor(series, new ForkJoinPool(4));
+        List<ParallelBacktestExecutor.Result> results = executor.runFactories(strategyFactories, criterion);
+
+        assertEquals(strategyFactories.size(), results.size());
+        TimeSeriesManager manager = new TimeSeriesManager(series);
+        for (int i = 0; i < results.size(); i++) {
+            TradingRecord expected = manager.run(strategyFactories.get(i).apply(series));
+            TradingRecord actual = results.get(i).getTradingRecord();
+            assertEquals(expected.getTradeCount(), actual.getTradeCount());
+            assertEquals(criterion.calculate(series, expected), results.get(i).getCriterionValue(), TATestsUtils.TA_OFFSET);
+        }
+    }
+
+    @Test
+    public void chooseBest() {
+        List<Strategy> strategies = new ArrayList<>();
+        for (Function<TimeSeries, Strategy> strategyFactory : strategyFactories) {
+            strategies.add(strategyFactory.apply(series));
+        }
+        AnalysisCriterion criterion = new TotalProfitCriterion();
+        Strategy expected = criterion.chooseBest(new TimeSeriesManager(series), strategies);
+        ParallelBacktestExecutor executor = new ParallelBacktestExecutor(series);
+        assertSame(expected, executor.chooseBest(strategies, criterion));
+    }
+
+    @Test
+    public void runWithoutCriterion() {
+        List<Strategy> strategies = new ArrayList<>();
+        strategies.add(buildStrategy(series, 5));
+        List<ParallelBacktestExecutor.Result> results = new ParallelBacktestExecutor(series).run(strategies, null);
+        assertEquals(1, results.size());
+        assertSame(strategies.get(0), results.get(0).getStrategy());
+        assertTrue(Double.isNaN(results.get(0).getCriterionValue()));
+    }
+}
@@ -0,0 +1,147 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.analysis.criteria.TotalProfitCriterion;
+import org.ta4j.core.indicators.IndicatorRegistry;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.mocks.MockTimeSeries;
+import org.ta4j.core.trading.rules.CrossedDownIndicatorRule;
+import org.ta4j.core.trading.rules.CrossedUpIndicatorRule;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class StrategyOptimizerTest {
+
+    private TimeSeries series;
+
+    private StrategyOptimizer.ParameterSpace parameterSpace;
+
+    private ForkJoinPool pool;
+
+    @Before
+    public void setUp() {
+        pool = new ForkJoinPool(4);
+        double[] data = new double[500];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = 100 + 20 * Math.sin(i / 10d) + (i % 7);
+        }
+        series = new MockTimeSeries(data);
+        parameterSpace = new StrategyOptimizer.ParameterSpace()
+                .addRange("short", 2, 20, 2)
+                .add("long", 30, 40, 50);
+    }
+
+    @After
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    private static Strategy buildStrategy(IndicatorRegistry registry, StrategyOptimizer.Parameters parameters) {
+        ClosePriceIndicator closePrice = registry.get(ClosePriceIndicator.class, registry.getTimeSeries());
+        SMAIndicator shortSma = registry.get(SMAIndicator.class, closePrice, parameters.getInt("short"));
+        SMAIndicator longSma = registry.get(SMAIndicator.class, closePrice, parameters.getInt("long"));
+        return new BaseStrategy(new CrossedUpIndicatorRule(shortSma, longSma),
+                new CrossedDownIndicatorRule(shortSma, longSma));
+    }
+
+    @Test
+    public void combinations() {
+        assertEquals(30, parameterSpace.size());
+        List<StrategyOptimizer.Parameters> combinations = parameterSpace.combinations();
+        assertEquals(30, combinations.size());
+        assertEquals(2, combinations.get(0).getInt("short"));
+        assertEquals(30, combinations.get(0).getInt("long"));
+        assertEquals(2, combinations.get(2).getInt("short"));
+        assertEquals(50, combinations.get(2).getInt("long"));
+        assertEquals(4, combinations.get(3).getInt("short"));
+        assertEquals(20, combinations.get(29).getInt("short"));
+        assertEquals(Decimal.valueOf(50), combinations.get(29).getDecimal("long"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownParameterShouldThrowException() {
+        parameterSpace.combinations().get(0).get("unknown");
+    }
+
+    @Test
+    public void bestResultsShouldMatchSequentialEvaluation() {
+        AnalysisCriterion criterion = new TotalProfitCriterion();
+        StrategyOptimizer.Report report = new StrategyOptimizer(series, pool)
+                .optimize(StrategyOptimizerTest::buildStrategy, parameterSpace, criterion, 5);
+
+        // Sequential evaluation
+        TimeSeriesManager manager = new TimeSeriesManager(series);
+        List<double[]> expected = new ArrayList<>();
+        List<StrategyOptimizer.Parameters> combinations = parameterSpace.combinations();
+        for (int i = 0; i < combinations.size(); i++) {
+            Strategy strategy = buildStrategy(new IndicatorRegistry(series), combinations.get(i));
+            expected.add(new double[] { criterion.calculate(series, manager.run(strategy)), i });
+        }
+        // Best first (stable sort)
+        expected.sort(Comparator.comparingDouble(e -> -e[0]));
+
+        assertEquals(30, report.getCombinationCount());
+        assertEquals(5, report.getBestResults().size());
+        assertNull(report.getSharedRegistry());
+        for (int i = 0; i < 5; i++) {
+            StrategyOptimizer.Result result = report.getBestResults().get(i);
+            assertEquals(expected.get(i)[0], result.getCriterionValue(), TATestsUtils.TA_OFFSET);
+            assertEquals(combinations.get((int) expected.get(i)[1]).getValues(), result.getParameters().getValues());
+            assertTrue(result.getRunTimeNanos() > 0);
+        }
+        assertSame(report.getBestResults().get(0), report.getBestResult());
+        assertTrue(report.getElapsedNanos() > 0);
+        assertTrue(report.getTotalRunTimeNanos() > 0);
+    }
+
+    @Test
+    public void indicatorsShouldBeSharedWithConcurrentCache() {
+        AnalysisCriterion criterion = new TotalProfitCriterion();
+        StrategyOptimizer.Report sequentialReport = new StrategyOptimizer(series)
+                .optimize(StrategyOptimizerTest::buildStrategy, parameterSpace, criterion, 3);
+
+        series.setConcurrentIndicatorCache(true);
+        StrategyOptimizer.Report report = new StrategyOptimizer(series, pool)
+                .optimize(StrategyOptimizerTest::buildStrategy, parameterSpace, criterion, 3);
+
+        IndicatorRegistry registry = report.getSharedRegistry();
+        assertNotNull(registry);
+        // 1 close price, 10 short SMAs and 3 long SMAs
+        assertEquals(14, registry.getIndicatorCount());
+        assertEquals(90, registry.getRequestCount());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(sequentialReport.getBestResults().get(i).getCriterionValue(),
+                    report.getBestResults().get(i).getCriterionValue(), TATestsUtils.TA_OFFSET);
+        }
+    }
+}
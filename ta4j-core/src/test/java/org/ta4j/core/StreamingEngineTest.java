@@ -0,0 +1,164 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.indicators.CachedIndicator;
+import org.ta4j.core.indicators.EMAIndicator;
+import org.ta4j.core.indicators.IndicatorRegistry;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.trading.rules.CrossedDownIndicatorRule;
+import org.ta4j.core.trading.rules.CrossedUpIndicatorRule;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class StreamingEngineTest {
+
+    private double[] closePrices;
+
+    private ZonedDateTime startTime;
+
+    @Before
+    public void setUp() {
+        closePrices = new double[300];
+        for (int i = 0; i < closePrices.length; i++) {
+            closePrices[i] = 100 + 20 * Math.sin(i / 10d) + (i % 7);
+        }
+        startTime = ZonedDateTime.now();
+    }
+
+    private void addBar(TimeSeries series, int i) {
+        series.addBar(startTime.plusMinutes(i), closePrices[i], closePrices[i], closePrices[i], closePrices[i], 1);
+    }
+
+    private static Strategy buildStrategy(IndicatorRegistry registry) {
+        ClosePriceIndicator closePrice = registry.get(ClosePriceIndicator.class, registry.getTimeSeries());
+        SMAIndicator shortSma = registry.get(SMAIndicator.class, closePrice, 5);
+        SMAIndicator longSma = registry.get(SMAIndicator.class, closePrice, 30);
+        return new BaseStrategy(new CrossedUpIndicatorRule(shortSma, longSma),
+                new CrossedDownIndicatorRule(shortSma, longSma));
+    }
+
+    @Test
+    public void indicatorsShouldBeCalculatedOnceInTopologicalOrder() {
+        TimeSeries series = new BaseTimeSeries();
+        CountingIndicator closePrice = new CountingIndicator(new ClosePriceIndicator(series));
+        SMAIndicator sma = new SMAIndicator(closePrice, 5);
+        EMAIndicator ema = new EMAIndicator(sma, 3);
+        StreamingEngine engine = new StreamingEngine(series);
+        engine.addIndicators(closePrice, sma, ema, sma);
+
+        List<CachedIndicator<?>> indicators = engine.getIndicators();
+        assertEquals(3, indicators.size());
+        assertEquals(0, indicators.indexOf(closePrice));
+        assertEquals(1, indicators.indexOf(sma));
+        assertEquals(2, indicators.indexOf(ema));
+
+        for (int i = 0; i < closePrices.length; i++) {
+            addBar(series, i);
+            assertEquals(i + 1, closePrice.calculationCount);
+        }
+        assertEquals(closePrices.length, engine.getProcessedBarCount());
+
+        EMAIndicator pulledEma = new EMAIndicator(new SMAIndicator(new ClosePriceIndicator(series), 5), 3);
+        for (int i = 0; i < closePrices.length; i++) {
+            assertEquals(pulledEma.getValue(i), ema.getValue(i));
+        }
+    }
+
+    @Test
+    public void strategiesShouldGiveSameTradesAsTimeSeriesManager() {
+        TimeSeries series = new BaseTimeSeries();
+        StreamingEngine engine = new StreamingEngine(series);
+        IndicatorRegistry registry = new IndicatorRegistry(series);
+        TradingRecord streamedRecord = engine.addStrategy(buildStrategy(registry));
+        engine.addIndicators(registry);
+        assertEquals(registry.getIndicators(), engine.getIndicators());
+        for (int i = 0; i < closePrices.length; i++) {
+            addBar(series, i);
+        }
+
+        TradingRecord expectedRecord = new TimeSeriesManager(series).run(buildStrategy(new IndicatorRegistry(series)));
+        assertTrue(expectedRecord.getTradeCount() > 0);
+        assertEquals(expectedRecord.getTradeCount(), streamedRecord.getTradeCount());
+        for (int i = 0; i < expectedRecord.getTradeCount(); i++) {
+            Trade expected = expectedRecord.getTrades().get(i);
+            Trade actual = streamedRecord.getTrades().get(i);
+            assertEquals(expected.getEntry(), actual.getEntry());
+            assertEquals(expected.getExit(), actual.getExit());
+        }
+    }
+
+    @Test
+    public void latencyShouldBeMeasuredUntilClosed() {
+        TimeSeries series = new ColumnarTimeSeries();
+        StreamingEngine engine = new StreamingEngine(series);
+        IndicatorRegistry registry = new IndicatorRegistry(series);
+        engine.addStrategy(buildStrategy(registry));
+        engine.addIndicators(registry);
+        for (int i = 0; i < 100; i++) {
+            addBar(series, i);
+        }
+        assertEquals(100, engine.getProcessedBarCount());
+        assertTrue(engine.getLastLatencyNanos() > 0);
+        assertTrue(engine.getMaxLatencyNanos() >= engine.getLastLatencyNanos());
+        assertTrue(engine.getAverageLatencyNanos() > 0);
+
+        engine.close();
+        addBar(series, 100);
+        assertEquals(100, engine.getProcessedBarCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void indicatorOfAnotherSeriesShouldBeRejected() {
+        StreamingEngine engine = new StreamingEngine(new BaseTimeSeries());
+        engine.addIndicators(new ClosePriceIndicator(new BaseTimeSeries()));
+    }
+
+    /**
+     * Counts the calculations of an indicator.
+     */
+    private static class CountingIndicator extends CachedIndicator<Decimal> {
+
+        private final Indicator<Decimal> indicator;
+
+        private int calculationCount = 0;
+
+        CountingIndicator(Indicator<Decimal> indicator) {
+            super(indicator);
+            this.indicator = indicator;
+        }
+
+        @Override
+        protected Decimal calculate(int index) {
+            calculationCount++;
+            return indicator.getValue(index);
+        }
+    }
+}
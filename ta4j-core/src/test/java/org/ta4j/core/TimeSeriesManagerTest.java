@@ -25,15 +25,23 @@ package org.ta4j.core;
 import org.junit.Before;
 import org.junit.Test;
 import org.ta4j.core.Order.OrderType;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
 import org.ta4j.core.mocks.MockTimeSeries;
+import org.ta4j.core.trading.rules.CrossedDownIndicatorRule;
+import org.ta4j.core.trading.rules.CrossedUpIndicatorRule;
 import org.ta4j.core.trading.rules.FixedRule;
+import org.ta4j.core.trading.rules.OverIndicatorRule;
+import org.ta4j.core.trading.rules.StopLossRule;
 
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 public class TimeSeriesManagerTest {
@@ -172,4 +180,53 @@ public class TimeSeriesManagerTest {
         trades = manager.run(aStrategy, 9, 9).getTrades();
         assertTrue(trades.isEmpty());
     }
+
+    @Test
+    public void runOnSeriesWithPrecomputedSignals() {
+        assertFalse(manager.isPrecomputedSignals());
+        List<Trade> barByBarTrades = manager.run(strategy).getTrades();
+        manager.setPrecomputedSignals(true);
+        assertTrue(manager.isPrecomputedSignals());
+        assertEquals(barByBarTrades, manager.run(strategy).getTrades());
+        assertEquals(1, manager.run(strategy, 0, 3).getTrades().size());
+        assertTrue(manager.run(strategy, 4, 4).getTrades().isEmpty());
+        assertEquals(Order.buyAt(6, seriesForRun.getBar(6).getClosePrice(), Decimal.NaN),
+                manager.run(strategy, 5, 8).getTrades().get(0).getEntry());
+    }
+
+    @Test
+    public void precomputedSignalsShouldMatchBarByBarRun() {
+        Random random = new Random(42);
+        double[] prices = new double[500];
+        prices[0] = 100;
+        for (int i = 1; i < prices.length; i++) {
+            prices[i] = prices[i - 1] * (1 + (random.nextDouble() - 0.5) / 20);
+        }
+        TimeSeries series = new MockTimeSeries(prices);
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        SMAIndicator shortSma = new SMAIndicator(closePrice, 5);
+        SMAIndicator longSma = new SMAIndicator(closePrice, 20);
+        Strategy[] strategies = {
+                // Stateless entry and exit rules
+                new BaseStrategy(new CrossedUpIndicatorRule(shortSma, longSma)
+                        .and(new OverIndicatorRule(closePrice, longSma)),
+                        new CrossedDownIndicatorRule(shortSma, longSma), 20),
+                // Exit rule depending on the trading record
+                new BaseStrategy(new CrossedUpIndicatorRule(shortSma, longSma),
+                        new CrossedDownIndicatorRule(shortSma, longSma)
+                                .or(new StopLossRule(closePrice, Decimal.valueOf(2))), 20)
+        };
+        TimeSeriesManager barByBarManager = new TimeSeriesManager(series);
+        TimeSeriesManager precomputedManager = new TimeSeriesManager(series);
+        precomputedManager.setPrecomputedSignals(true);
+        for (Strategy aStrategy : strategies) {
+            for (OrderType orderType : OrderType.values()) {
+                List<Trade> expectedTrades = barByBarManager.run(aStrategy, orderType).getTrades();
+                assertFalse(expectedTrades.isEmpty());
+                assertEquals(expectedTrades, precomputedManager.run(aStrategy, orderType).getTrades());
+                assertEquals(barByBarManager.run(aStrategy, orderType, 100, 300).getTrades(),
+                        precomputedManager.run(aStrategy, orderType, 100, 300).getTrades());
+            }
+        }
+    }
 }
@@ -30,6 +30,7 @@ import org.ta4j.core.trading.rules.FixedRule;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -232,4 +233,69 @@ public class TimeSeriesTest {
         assertEquals(0, defaultSeries.getBeginIndex());
         assertEquals(1, defaultSeries.getEndIndex());
     }
+
+    @Test
+    public void addBarWithDoubleMode() {
+        TimeSeries series = new BaseTimeSeries("double series", Decimal.Mode.DOUBLE);
+        assertEquals(Decimal.Mode.DOUBLE, series.getDecimalMode());
+        assertEquals(Decimal.Mode.BIG_DECIMAL, defaultSeries.getDecimalMode());
+
+        series.addBar(ZonedDateTime.of(2014, 6, 13, 0, 0, 0, 0, ZoneId.systemDefault()), 1, 2, 0.5, 1.5, 100);
+        series.addBar(ZonedDateTime.of(2014, 6, 14, 0, 0, 0, 0, ZoneId.systemDefault()), 1.5, 3, 1, 2.5, 200);
+
+        assertEquals(2, series.getBarCount());
+        assertTrue(series.getBar(1).getClosePrice().isDoubleBacked());
+        assertTrue(series.numOf(3).isDoubleBacked());
+        assertEquals(Decimal.valueOf("2.5"), series.getBar(1).getClosePrice());
+        assertEquals(Decimal.Mode.DOUBLE, series.getSubSeries(0, 1).getDecimalMode());
+    }
+
+    @Test
+    public void concurrentIndicatorCache() {
+        assertFalse(defaultSeries.isConcurrentIndicatorCache());
+        defaultSeries.setConcurrentIndicatorCache(true);
+        assertTrue(defaultSeries.isConcurrentIndicatorCache());
+        assertTrue(defaultSeries.getSubSeries(0, 2).isConcurrentIndicatorCache());
+    }
+
+    @Test
+    public void barListenersShouldBeNotifiedOfAddedBars() {
+        List<Integer> notifiedIndexes = new LinkedList<>();
+        BarListener listener = (series, index) -> {
+            assertSame(defaultSeries, series);
+            assertEquals(series.getEndIndex(), index);
+            notifiedIndexes.add(index);
+        };
+        defaultSeries.addBarListener(listener);
+        ZonedDateTime endTime = defaultSeries.getLastBar().getEndTime();
+        defaultSeries.addBar(new MockBar(endTime.plusDays(1), 1d));
+        defaultSeries.addBar(endTime.plusDays(2), 1, 1, 1, 1, 1);
+        defaultSeries.removeBarListener(listener);
+        defaultSeries.addBar(new MockBar(endTime.plusDays(3), 1d));
+
+        assertEquals(2, notifiedIndexes.size());
+        assertEquals(defaultSeries.getEndIndex() - 2, notifiedIndexes.get(0).intValue());
+        assertEquals(defaultSeries.getEndIndex() - 1, notifiedIndexes.get(1).intValue());
+    }
+
+    @Test
+    public void getFirstIndexEndingAtOrAfter() {
+        long june15 = ZonedDateTime.of(2014, 6, 15, 0, 0, 0, 0, ZoneId.systemDefault()).toInstant().toEpochMilli();
+        long june16 = ZonedDateTime.of(2014, 6, 16, 0, 0, 0, 0, ZoneId.systemDefault()).toInstant().toEpochMilli();
+        long july = ZonedDateTime.of(2014, 7, 1, 0, 0, 0, 0, ZoneId.systemDefault()).toInstant().toEpochMilli();
+        for (TimeSeries series : Arrays.asList(defaultSeries, new ColumnarTimeSeries("columnar", bars))) {
+            assertEquals(0, series.getFirstIndexEndingAtOrAfter(0));
+            assertEquals(2, series.getFirstIndexEndingAtOrAfter(june15));
+            assertEquals(3, series.getFirstIndexEndingAtOrAfter(june16));
+            assertEquals(6, series.getFirstIndexEndingAtOrAfter(july));
+        }
+        assertEquals(0, emptySeries.getFirstIndexEndingAtOrAfter(june15));
+
+        // Moving series: removed bars are skipped
+        for (TimeSeries series : Arrays.asList(new BaseTimeSeries(bars), new ColumnarTimeSeries("columnar", bars))) {
+            series.setMaximumBarCount(2);
+            assertEquals(4, series.getFirstIndexEndingAtOrAfter(june15));
+            assertEquals(5, series.getFirstIndexEndingAtOrAfter(series.getLastBar().getEndTimeEpochMilli()));
+        }
+    }
 }
@@ -0,0 +1,140 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.mocks.MockTimeSeries;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.*;
+import static org.ta4j.core.TATestsUtils.assertDecimalEquals;
+
+public class TimeSeriesViewTest {
+
+    private TimeSeries series;
+
+    @Before
+    public void setUp() {
+        series = new MockTimeSeries(1, 2, 3, 4, 3, 4, 5, 4, 3, 3, 4, 3, 2);
+    }
+
+    @Test
+    public void viewSharesParentBars() {
+        TimeSeries view = series.getSubSeries(2, 6);
+        assertTrue(view instanceof TimeSeriesView);
+        assertSame(series, ((TimeSeriesView) view).getParent());
+        assertEquals(2, ((TimeSeriesView) view).getOffset());
+        assertEquals(4, view.getBarCount());
+        assertEquals(0, view.getBeginIndex());
+        assertEquals(3, view.getEndIndex());
+        for (int i = 0; i < view.getBarCount(); i++) {
+            assertSame(series.getBar(2 + i), view.getBar(i));
+            assertSame(series.getBar(2 + i), view.getBarData().get(i));
+        }
+        assertEquals(4, view.getBarData().size());
+        assertEquals(series.getName(), view.getName());
+        assertEquals(series.getDecimalMode(), view.getDecimalMode());
+    }
+
+    @Test
+    public void rangeShouldBeRestrictedToParentBars() {
+        TimeSeries view = series.getSubSeries(-10, 100);
+        assertEquals(series.getBarCount(), view.getBarCount());
+        assertSame(series.getLastBar(), view.getLastBar());
+
+        TimeSeries emptyView = series.getSubSeries(20, 30);
+        assertTrue(emptyView.isEmpty());
+        assertEquals(-1, emptyView.getBeginIndex());
+        assertEquals(-1, emptyView.getEndIndex());
+    }
+
+    @Test
+    public void subSeriesOfView() {
+        TimeSeriesView view = (TimeSeriesView) series.getSubSeries(2, 10).getSubSeries(3, 20);
+        assertSame(series, view.getParent());
+        assertEquals(5, view.getOffset());
+        assertEquals(5, view.getBarCount());
+        assertSame(series.getBar(9), view.getLastBar());
+    }
+
+    @Test
+    public void firstIndexEndingAtOrAfter() {
+        TimeSeries view = series.getSubSeries(3, 8);
+        assertEquals(0, view.getFirstIndexEndingAtOrAfter(series.getBar(0).getEndTimeEpochMilli()));
+        assertEquals(2, view.getFirstIndexEndingAtOrAfter(series.getBar(5).getEndTimeEpochMilli()));
+        assertEquals(5, view.getFirstIndexEndingAtOrAfter(series.getBar(10).getEndTimeEpochMilli()));
+    }
+
+    @Test
+    public void indicatorsShouldBeCalculatedOverView() {
+        TimeSeries view = series.getSubSeries(4, 10);
+        SMAIndicator sma = new SMAIndicator(new ClosePriceIndicator(view), 3);
+        assertDecimalEquals(sma.getValue(0), 3);
+        assertDecimalEquals(sma.getValue(1), 3.5);
+        assertDecimalEquals(sma.getValue(2), 4);
+        assertDecimalEquals(sma.getValue(5), 10d / 3);
+    }
+
+    @Test
+    public void concurrentIndicatorCacheShouldBeInheritedFromParent() {
+        assertFalse(series.getSubSeries(0, 2).isConcurrentIndicatorCache());
+        series.setConcurrentIndicatorCache(true);
+        TimeSeries view = series.getSubSeries(0, 2);
+        assertTrue(view.isConcurrentIndicatorCache());
+        view.setConcurrentIndicatorCache(false);
+        assertTrue(series.isConcurrentIndicatorCache());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void addBarShouldBeRejected() {
+        series.getSubSeries(0, 2).addBar(series.getLastBar());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getBarOutOfBounds() {
+        series.getSubSeries(2, 6).getBar(4);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void barsRemovedFromParentShouldBeRejected() {
+        TimeSeries view = series.getSubSeries(2, 6);
+        assertSame(series.getBar(2), view.getBar(0));
+        series.setMaximumBarCount(10);
+        view.getBar(0);
+    }
+
+    @Test
+    public void copyOfViewShouldBeMutable() {
+        TimeSeries view = series.getSubSeries(2, 6);
+        TimeSeries copy = new BaseTimeSeries(view.getName(), new ArrayList<>(view.getBarData()));
+        copy.setMaximumBarCount(3);
+        copy.addBar(series.getBar(6));
+        assertEquals(3, copy.getBarCount());
+        assertSame(series.getBar(6), copy.getLastBar());
+        assertEquals(4, view.getBarCount());
+    }
+}
@@ -0,0 +1,189 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.analysis.criteria.TotalProfitCriterion;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.mocks.MockTimeSeries;
+import org.ta4j.core.trading.rules.CrossedDownIndicatorRule;
+import org.ta4j.core.trading.rules.CrossedUpIndicatorRule;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class WalkForwardEngineTest {
+
+    private TimeSeries series;
+
+    private List<Function<TimeSeries, Strategy>> strategyFactories;
+
+    private ForkJoinPool pool;
+
+    @Before
+    public void setUp() {
+        pool = new ForkJoinPool(4);
+        double[] data = new double[200];
+        ZonedDateTime[] times = new ZonedDateTime[data.length];
+        ZonedDateTime firstTime = ZonedDateTime.of(2017, 1, 2, 0, 0, 0, 0, ZoneId.systemDefault());
+        for (int i = 0; i < data.length; i++) {
+            data[i] = 100 + 20 * Math.sin(i / 10d) + (i % 7);
+            times[i] = firstTime.plusHours(i);
+        }
+        series = new MockTimeSeries(data, times);
+        strategyFactories = new ArrayList<>();
+        for (int timeFrame = 2; timeFrame < 10; timeFrame++) {
+            final int shortTimeFrame = timeFrame;
+            strategyFactories.add(s -> buildStrategy(s, shortTimeFrame));
+        }
+    }
+
+    @After
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    private static Strategy buildStrategy(TimeSeries series, int shortTimeFrame) {
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        SMAIndicator shortSma = new SMAIndicator(closePrice, shortTimeFrame);
+        SMAIndicator longSma = new SMAIndicator(closePrice, 12);
+        return new BaseStrategy(new CrossedUpIndicatorRule(shortSma, longSma),
+                new CrossedDownIndicatorRule(shortSma, longSma));
+    }
+
+    @Test
+    public void rollingWindows() {
+        List<WalkForwardEngine.Window> windows = new WalkForwardEngine(series)
+                .getWindows(Duration.ofHours(48), Duration.ofHours(24), false);
+        assertEquals(7, windows.size());
+        for (int k = 0; k < windows.size(); k++) {
+            WalkForwardEngine.Window window = windows.get(k);
+            assertEquals(24 * k, window.getInSampleBegin());
+            assertEquals(48 + 24 * k - 1, window.getInSampleEnd());
+            assertEquals(48 + 24 * k, window.getOutOfSampleBegin());
+            assertEquals(Math.min(48 + 24 * k + 23, 199), window.getOutOfSampleEnd());
+        }
+    }
+
+    @Test
+    public void anchoredWindows() {
+        List<WalkForwardEngine.Window> windows = new WalkForwardEngine(series)
+                .getWindows(Duration.ofHours(100), Duration.ofHours(30), true);
+        assertEquals(4, windows.size());
+        for (int k = 0; k < windows.size(); k++) {
+            WalkForwardEngine.Window window = windows.get(k);
+            assertEquals(0, window.getInSampleBegin());
+            assertEquals(100 + 30 * k, window.getOutOfSampleBegin());
+        }
+        assertEquals(199, windows.get(3).getOutOfSampleEnd());
+    }
+
+    @Test
+    public void windowsWithoutBarsAreSkipped() {
+        ZonedDateTime firstTime = ZonedDateTime.of(2017, 1, 2, 0, 0, 0, 0, ZoneId.systemDefault());
+        // One bar per day, then a 10 days gap
+        TimeSeries gappedSeries = new MockTimeSeries(new double[] { 1, 2, 3, 4, 5 }, new ZonedDateTime[] {
+                firstTime, firstTime.plusDays(1), firstTime.plusDays(2), firstTime.plusDays(12), firstTime.plusDays(13) });
+        List<WalkForwardEngine.Window> windows = new WalkForwardEngine(gappedSeries)
+                .getWindows(Duration.ofDays(2), Duration.ofDays(1), false);
+        assertEquals(2, windows.size());
+        assertEquals(0, windows.get(0).getInSampleBegin());
+        assertEquals(2, windows.get(0).getOutOfSampleBegin());
+        assertEquals(2, windows.get(0).getOutOfSampleEnd());
+        // Windows of days 3 to 11 have no out-of-sample bar, the one of day 12 has no in-sample bar (days 10 and 11)
+        assertEquals(3, windows.get(1).getInSampleBegin());
+        assertEquals(4, windows.get(1).getOutOfSampleBegin());
+        assertEquals(4, windows.get(1).getOutOfSampleEnd());
+    }
+
+    @Test(timeout = 10000)
+    public void largeGapsShouldBeSkippedInOneStep() {
+        ZonedDateTime firstTime = ZonedDateTime.of(2017, 1, 2, 0, 0, 0, 0, ZoneId.systemDefault());
+        ZonedDateTime secondClusterTime = firstTime.plusYears(200);
+        // Two clusters of one-minute bars, 200 years apart, windows moving by one minute
+        double[] data = new double[6];
+        ZonedDateTime[] times = new ZonedDateTime[data.length];
+        for (int i = 0; i < 3; i++) {
+            data[i] = i;
+            times[i] = firstTime.plusMinutes(i);
+            data[3 + i] = 3 + i;
+            times[3 + i] = secondClusterTime.plusMinutes(i);
+        }
+        List<WalkForwardEngine.Window> windows = new WalkForwardEngine(new MockTimeSeries(data, times))
+                .getWindows(Duration.ofMinutes(2), Duration.ofMinutes(1), false);
+        assertEquals(3, windows.size());
+        assertEquals(0, windows.get(0).getInSampleBegin());
+        assertEquals(2, windows.get(0).getOutOfSampleBegin());
+        assertEquals(2, windows.get(0).getOutOfSampleEnd());
+        // The window of the first bar of the second cluster has no in-sample bar
+        assertEquals(3, windows.get(1).getInSampleBegin());
+        assertEquals(4, windows.get(1).getOutOfSampleBegin());
+        assertEquals(4, windows.get(1).getOutOfSampleEnd());
+        assertEquals(3, windows.get(2).getInSampleBegin());
+        assertEquals(5, windows.get(2).getOutOfSampleBegin());
+        assertEquals(5, windows.get(2).getOutOfSampleEnd());
+    }
+
+    @Test
+    public void runShouldGiveSameResultsAsSequentialEvaluation() {
+        AnalysisCriterion criterion = new TotalProfitCriterion();
+        WalkForwardEngine engine = new WalkForwardEngine(series, pool);
+        WalkForwardEngine.Report report = engine.run(strategyFactories, criterion,
+                Duration.ofHours(48), Duration.ofHours(24), false);
+
+        List<WalkForwardEngine.WindowResult> results = report.getWindowResults();
+        assertEquals(7, results.size());
+        assertTrue(report.getElapsedNanos() > 0);
+        for (WalkForwardEngine.WindowResult result : results) {
+            WalkForwardEngine.Window window = result.getWindow();
+            TimeSeries inSample = series.getSubSeries(window.getInSampleBegin(), window.getOutOfSampleBegin());
+            List<Strategy> strategies = new ArrayList<>();
+            for (int i = 0; i < strategyFactories.size(); i++) {
+                strategies.add(strategyFactories.get(i).apply(inSample));
+                double expected = criterion.calculate(inSample, new TimeSeriesManager(inSample).run(strategies.get(i)));
+                assertEquals(expected, result.getInSampleValue(i), TATestsUtils.TA_OFFSET);
+            }
+            Strategy best = criterion.chooseBest(new TimeSeriesManager(inSample), strategies);
+            assertEquals(strategies.indexOf(best), result.getBestStrategyIndex());
+            assertEquals(result.getInSampleValue(result.getBestStrategyIndex()), result.getBestInSampleValue(), 0);
+
+            TimeSeries outOfSample = series.getSubSeries(window.getOutOfSampleBegin(), window.getOutOfSampleEnd() + 1);
+            Strategy outOfSampleStrategy = strategyFactories.get(result.getBestStrategyIndex()).apply(outOfSample);
+            double expected = criterion.calculate(outOfSample, new TimeSeriesManager(outOfSample).run(outOfSampleStrategy));
+            assertEquals(expected, result.getOutOfSampleValue(), TATestsUtils.TA_OFFSET);
+            assertEquals(result.getOutOfSampleTradingRecord().getTradeCount(),
+                    new TimeSeriesManager(outOfSample).run(outOfSampleStrategy).getTradeCount());
+        }
+    }
+}
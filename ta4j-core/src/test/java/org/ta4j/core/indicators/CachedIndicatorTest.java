@@ -30,11 +30,21 @@ import org.ta4j.core.Strategy;
 import org.ta4j.core.TimeSeries;
 import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
 import org.ta4j.core.indicators.helpers.ConstantIndicator;
+import org.ta4j.core.mocks.MockBar;
 import org.ta4j.core.mocks.MockTimeSeries;
 import org.ta4j.core.trading.rules.OverIndicatorRule;
 import org.ta4j.core.trading.rules.UnderIndicatorRule;
 
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
 import static org.junit.Assert.*;
 import static org.ta4j.core.TATestsUtils.assertDecimalEquals;
@@ -90,6 +100,24 @@ public class CachedIndicatorTest {
         assertDecimalEquals(sma.getValue(19), 1);
     }
 
+    @Test
+    public void getValueOnMovingTimeSeries() {
+        TimeSeries timeSeries = new MockTimeSeries(0, 1, 2, 3, 4);
+        timeSeries.setMaximumBarCount(5);
+        ZonedDateTime endTime = timeSeries.getLastBar().getEndTime();
+        SMAIndicator sma = new SMAIndicator(new ClosePriceIndicator(timeSeries), 2);
+        assertDecimalEquals(sma.getValue(4), 3.5);
+        for (int i = 5; i < 100; i++) {
+            endTime = endTime.plusMinutes(1);
+            timeSeries.addBar(new MockBar(endTime, i));
+            assertDecimalEquals(sma.getValue(i), i - 0.5);
+            // Results still covered by the cache
+            assertDecimalEquals(sma.getValue(i - 1), i - 1.5);
+            assertDecimalEquals(sma.getValue(i - 3), i - 3.5);
+        }
+        assertEquals(95, timeSeries.getRemovedBarsCount());
+    }
+
     @Test
     public void strategyExecutionOnCachedIndicatorAndLimitedTimeSeries() {
         TimeSeries timeSeries = new MockTimeSeries(0, 1, 2, 3, 4, 5, 6, 7);
@@ -158,4 +186,54 @@ public class CachedIndicatorTest {
             fail(t.getMessage());
         }
     }
+
+    @Test
+    public void concurrentCacheShouldCalculateEachResultOnce() throws Exception {
+        final int barCount = 1000;
+        double[] data = new double[barCount];
+        for (int i = 0; i < barCount; i++) {
+            data[i] = i;
+        }
+        TimeSeries timeSeries = new MockTimeSeries(data);
+        timeSeries.setConcurrentIndicatorCache(true);
+
+        final ClosePriceIndicator closePrice = new ClosePriceIndicator(timeSeries);
+        final AtomicIntegerArray calculations = new AtomicIntegerArray(barCount);
+        // Cumulative sum of the close prices (i.e. recursive indicator)
+        final CachedIndicator<Decimal> cumulativeSum = new CachedIndicator<Decimal>(timeSeries) {
+            @Override
+            protected Decimal calculate(int index) {
+                calculations.incrementAndGet(index);
+                Decimal previousSum = index == 0 ? Decimal.ZERO : getValue(index - 1);
+                return previousSum.plus(closePrice.getValue(index));
+            }
+        };
+        final SMAIndicator sma = new SMAIndicator(cumulativeSum, 10);
+
+        final int threadCount = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            final Random random = new Random(t);
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < barCount; i++) {
+                    int index = random.nextInt(barCount);
+                    assertDecimalEquals(cumulativeSum.getValue(index), index * (index + 1) / 2);
+                    sma.getValue(index);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        for (int i = 0; i < barCount; i++) {
+            assertEquals("Calculations of index " + i, 1, calculations.get(i));
+        }
+    }
 }
@@ -33,6 +33,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.ta4j.core.TATestsUtils.assertDecimalEquals;
 import static org.ta4j.core.TATestsUtils.assertIndicatorEquals;
 
@@ -100,4 +101,17 @@ public class EMAIndicatorTest extends IndicatorTest<Indicator<Decimal>, Decimal>
         assertEquals(327.4076, indicator.getValue(indicator.getTimeSeries().getEndIndex()).doubleValue(), TATestsUtils.TA_OFFSET);
     }
 
+    @Test
+    public void batchValuesShouldBeEqualToValues() {
+        EMAIndicator batchIndicator = new EMAIndicator(new ClosePriceIndicator(data), 10);
+        EMAIndicator indicator = new EMAIndicator(new ClosePriceIndicator(data), 10);
+        Decimal[] values = new Decimal[data.getBarCount() - 2];
+        batchIndicator.getValues(2, data.getBarCount(), values);
+
+        for (int i = 2; i < data.getBarCount(); i++) {
+            assertEquals(indicator.getValue(i), values[i - 2]);
+            // Batch values are cached
+            assertSame(values[i - 2], batchIndicator.getValue(i));
+        }
+    }
 }
@@ -0,0 +1,62 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators;
+
+import org.junit.Test;
+import org.ta4j.core.TimeSeries;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.mocks.MockTimeSeries;
+
+import static org.ta4j.core.TATestsUtils.assertDecimalEquals;
+
+public class EfficiencyRatioIndicatorTest {
+
+    @Test
+    public void efficiencyRatio() {
+        TimeSeries series = new MockTimeSeries(10, 11, 13, 12, 15, 15, 14);
+        EfficiencyRatioIndicator er = new EfficiencyRatioIndicator(new ClosePriceIndicator(series), 3);
+
+        assertDecimalEquals(er.getValue(1), 1);
+        assertDecimalEquals(er.getValue(2), 1);
+        assertDecimalEquals(er.getValue(3), 0.5);
+        assertDecimalEquals(er.getValue(4), 0.6667);
+        assertDecimalEquals(er.getValue(5), 0.5);
+        assertDecimalEquals(er.getValue(6), 0.5);
+    }
+
+    @Test
+    public void randomAccessShouldGiveSameValuesAsSequentialAccess() {
+        TimeSeries series = new MockTimeSeries(10, 11, 13, 12, 15, 15, 14, 16, 13, 12, 12, 15, 17, 16);
+        EfficiencyRatioIndicator sequentialEr = new EfficiencyRatioIndicator(new ClosePriceIndicator(series), 4);
+        EfficiencyRatioIndicator randomEr = new EfficiencyRatioIndicator(new ClosePriceIndicator(series), 4);
+        for (int i = 1; i <= series.getEndIndex(); i++) {
+            sequentialEr.getValue(i);
+        }
+        for (int i = series.getEndIndex(); i >= 1; i -= 3) {
+            assertDecimalEquals(randomEr.getValue(i), sequentialEr.getValue(i).doubleValue());
+        }
+        for (int i = 1; i <= series.getEndIndex(); i++) {
+            assertDecimalEquals(randomEr.getValue(i), sequentialEr.getValue(i).doubleValue());
+        }
+    }
+}
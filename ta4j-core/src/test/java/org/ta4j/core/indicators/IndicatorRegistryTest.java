@@ -0,0 +1,190 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.Decimal;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.TimeSeries;
+import org.ta4j.core.TimeSeriesView;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.mocks.MockTimeSeries;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+import static org.ta4j.core.TATestsUtils.assertDecimalEquals;
+
+public class IndicatorRegistryTest {
+
+    private TimeSeries data;
+
+    private IndicatorRegistry registry;
+
+    @Before
+    public void setUp() {
+        data = new MockTimeSeries(1, 2, 3, 4, 3, 4, 5, 4, 3, 3, 4, 3, 2);
+        registry = new IndicatorRegistry(data);
+    }
+
+    @Test
+    public void sameParametersShouldGiveSameIndicator() {
+        ClosePriceIndicator closePrice = registry.get(ClosePriceIndicator.class, data);
+        assertSame(closePrice, registry.get(ClosePriceIndicator.class, data));
+        SMAIndicator sma = registry.get(SMAIndicator.class, closePrice, 3);
+        assertSame(sma, registry.get(SMAIndicator.class, registry.get(ClosePriceIndicator.class, data), 3));
+        assertDecimalEquals(sma.getValue(4), 10d / 3);
+
+        assertEquals(2, registry.getIndicatorCount());
+        assertEquals(5, registry.getRequestCount());
+        assertEquals(3, registry.getHitCount());
+        assertEquals(0.6, registry.getHitRate(), 1e-9);
+        // 3 hits on cached indicators, 13 results each
+        assertEquals(39, registry.getSavedCachedResultCount());
+    }
+
+    @Test
+    public void differentParametersShouldGiveDifferentIndicators() {
+        ClosePriceIndicator closePrice = registry.get(ClosePriceIndicator.class, data);
+        SMAIndicator sma3 = registry.get(SMAIndicator.class, closePrice, 3);
+        SMAIndicator sma5 = registry.get(SMAIndicator.class, closePrice, 5);
+        EMAIndicator ema3 = registry.get(EMAIndicator.class, closePrice, 3);
+        assertNotSame(sma3, sma5);
+        assertEquals(4, registry.getIndicatorCount());
+        assertEquals(Arrays.asList(closePrice, sma3, sma5, ema3), registry.getIndicators());
+        assertEquals(0, registry.getHitCount());
+        assertEquals(0, registry.getHitRate(), 1e-9);
+        assertDecimalEquals(ema3.getValue(0), 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void indicatorOfAnotherSeriesShouldBeRejected() {
+        ClosePriceIndicator otherClosePrice = new ClosePriceIndicator(new MockTimeSeries(1, 2, 3));
+        registry.get(SMAIndicator.class, otherClosePrice, 3);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownConstructorShouldBeRejected() {
+        registry.get(SMAIndicator.class, data, "3");
+    }
+
+    @Test
+    public void mostSpecificConstructorShouldBeSelected() {
+        ClosePriceIndicator closePrice = registry.get(ClosePriceIndicator.class, data);
+        assertEquals("closePrice", registry.get(OverloadedIndicator.class, closePrice).constructor);
+        SMAIndicator sma = registry.get(SMAIndicator.class, closePrice, 3);
+        assertEquals("indicator", registry.get(OverloadedIndicator.class, sma).constructor);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void ambiguousConstructorsShouldBeRejected() {
+        registry.get(OverloadedIndicator.class, registry.get(ClosePriceIndicator.class, data), 3);
+    }
+
+    @Test
+    public void viewIndicatorsShouldReadThroughParentRegistry() {
+        TimeSeriesView view = (TimeSeriesView) data.getSubSeries(5, 11);
+        IndicatorRegistry viewRegistry = new IndicatorRegistry(view, registry);
+        ClosePriceIndicator closePrice = viewRegistry.get(ClosePriceIndicator.class, view);
+        SMAIndicator sma = viewRegistry.get(SMAIndicator.class, closePrice, 3);
+        EMAIndicator ema = viewRegistry.get(EMAIndicator.class, closePrice, 3);
+        assertSame(sma, viewRegistry.get(SMAIndicator.class, closePrice, 3));
+
+        SMAIndicator parentSma = registry.get(SMAIndicator.class, registry.get(ClosePriceIndicator.class, data), 3);
+        EMAIndicator parentEma = registry.get(EMAIndicator.class, registry.get(ClosePriceIndicator.class, data), 3);
+        for (int i = 0; i < view.getBarCount(); i++) {
+            assertDecimalEquals(closePrice.getValue(i), data.getBar(5 + i).getClosePrice().doubleValue());
+            assertSame(parentSma.getValue(5 + i), sma.getValue(i));
+            assertSame(parentEma.getValue(5 + i), ema.getValue(i));
+        }
+        // First value of the view takes the bars preceding the view into account
+        assertDecimalEquals(sma.getValue(0), 11d / 3);
+        assertEquals(3, viewRegistry.getReadThroughCount());
+        assertEquals(3, registry.getIndicatorCount());
+    }
+
+    @Test
+    public void viewIndicatorsWithoutParentEquivalentShouldBeCalculatedOverView() {
+        TimeSeriesView view = (TimeSeriesView) data.getSubSeries(5, 11);
+        IndicatorRegistry viewRegistry = new IndicatorRegistry(view, registry);
+        SMAIndicator sma = viewRegistry.get(SMAIndicator.class, new ClosePriceIndicator(view), 3);
+        assertDecimalEquals(sma.getValue(0), 4);
+        assertEquals(0, viewRegistry.getReadThroughCount());
+        assertEquals(0, registry.getIndicatorCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parentRegistryOfAnotherSeriesShouldBeRejected() {
+        TimeSeriesView view = (TimeSeriesView) data.getSubSeries(5, 11);
+        new IndicatorRegistry(view, new IndicatorRegistry(new MockTimeSeries(1, 2, 3)));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void readThroughIndicatorsShouldNotReadAfterView() {
+        TimeSeriesView view = (TimeSeriesView) data.getSubSeries(5, 11);
+        IndicatorRegistry viewRegistry = new IndicatorRegistry(view, registry);
+        SMAIndicator sma = viewRegistry.get(SMAIndicator.class, viewRegistry.get(ClosePriceIndicator.class, view), 3);
+        assertDecimalEquals(sma.getValue(view.getEndIndex()), 10d / 3);
+        sma.getValue(view.getEndIndex() + 1);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void readThroughBatchShouldNotReadAfterView() {
+        TimeSeriesView view = (TimeSeriesView) data.getSubSeries(5, 11);
+        IndicatorRegistry viewRegistry = new IndicatorRegistry(view, registry);
+        ClosePriceIndicator closePrice = viewRegistry.get(ClosePriceIndicator.class, view);
+        closePrice.getValues(4, view.getEndIndex() + 2, new Decimal[view.getEndIndex() - 2]);
+    }
+
+    /** Indicator with overloaded constructors, recording the constructor called */
+    public static class OverloadedIndicator extends CachedIndicator<Decimal> {
+
+        private final String constructor;
+
+        public OverloadedIndicator(Indicator<Decimal> indicator) {
+            super(indicator);
+            constructor = "indicator";
+        }
+
+        public OverloadedIndicator(ClosePriceIndicator closePrice) {
+            super(closePrice);
+            constructor = "closePrice";
+        }
+
+        public OverloadedIndicator(Indicator<Decimal> indicator, Integer timeFrame) {
+            super(indicator);
+            constructor = "indicator, timeFrame";
+        }
+
+        public OverloadedIndicator(ClosePriceIndicator closePrice, Object timeFrame) {
+            super(closePrice);
+            constructor = "closePrice, timeFrame";
+        }
+
+        @Override
+        protected Decimal calculate(int index) {
+            return Decimal.ZERO;
+        }
+    }
+}
@@ -87,4 +87,22 @@ public class ParabolicSarIndicatorTest {
         assertDecimalEquals(sar.getValue(20), 74.913289886525645818855027337894);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void randomAccessShouldGiveSameValuesAsSequentialAccess() {
+        List<Bar> bars = new ArrayList<Bar>();
+        for (int i = 0; i < 500; i++) {
+            double close = 100 + 10 * Math.sin(i / 7.0) + 3 * Math.cos(i / 3.0);
+            bars.add(new MockBar(close, close + 0.5, close + 1 + (i % 3), close - 1 - (i % 5)));
+        }
+        ParabolicSarIndicator sequentialSar = new ParabolicSarIndicator(new MockTimeSeries(bars));
+        ParabolicSarIndicator randomSar = new ParabolicSarIndicator(new MockTimeSeries(bars));
+
+        assertEquals(sequentialSar.getValue(499), randomSar.getValue(499));
+        for (int i = 499; i >= 0; i -= 7) {
+            assertEquals(sequentialSar.getValue(i), randomSar.getValue(i));
+        }
+        for (int i = 0; i < 500; i++) {
+            assertEquals(sequentialSar.getValue(i), randomSar.getValue(i));
+        }
+    }
+}
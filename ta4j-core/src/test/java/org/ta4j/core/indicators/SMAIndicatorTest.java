@@ -29,6 +29,7 @@ import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
 import org.ta4j.core.mocks.MockTimeSeries;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.ta4j.core.TATestsUtils.assertDecimalEquals;
 import static org.ta4j.core.TATestsUtils.assertIndicatorEquals;
 
@@ -93,4 +94,17 @@ public class SMAIndicatorTest extends IndicatorTest<Indicator<Decimal>, Decimal>
         assertEquals(327.7846, actualIndicator.getValue(actualIndicator.getTimeSeries().getEndIndex()).doubleValue(), TATestsUtils.TA_OFFSET);
     }
 
+    @Test
+    public void batchValuesShouldBeEqualToValues() {
+        SMAIndicator batchIndicator = new SMAIndicator(new ClosePriceIndicator(data), 3);
+        SMAIndicator indicator = new SMAIndicator(new ClosePriceIndicator(data), 3);
+        Decimal[] values = new Decimal[data.getBarCount() - 2];
+        batchIndicator.getValues(2, data.getBarCount(), values);
+
+        for (int i = 2; i < data.getBarCount(); i++) {
+            assertEquals(indicator.getValue(i), values[i - 2]);
+            // Batch values are cached
+            assertSame(values[i - 2], batchIndicator.getValue(i));
+        }
+    }
 }
@@ -24,10 +24,15 @@ package org.ta4j.core.indicators;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.ta4j.core.BaseTimeSeries;
+import org.ta4j.core.Decimal;
 import org.ta4j.core.TimeSeries;
 import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
 import org.ta4j.core.mocks.MockTimeSeries;
 
+import java.time.ZonedDateTime;
+
+import static org.junit.Assert.assertTrue;
 import static org.ta4j.core.TATestsUtils.assertDecimalEquals;
 
 public class UlcerIndexIndicatorTest {
@@ -74,4 +79,31 @@ public class UlcerIndexIndicatorTest {
         assertDecimalEquals(ulcer.getValue(41), 1.5632);
         assertDecimalEquals(ulcer.getValue(42), 1.7609);
     }
+
+    @Test
+    public void randomAccessShouldGiveSameValuesAsSequentialAccess() {
+        UlcerIndexIndicator sequentialUlcer = new UlcerIndexIndicator(new ClosePriceIndicator(ibmData), 14);
+        UlcerIndexIndicator randomUlcer = new UlcerIndexIndicator(new ClosePriceIndicator(ibmData), 14);
+        for (int i = 0; i <= ibmData.getEndIndex(); i++) {
+            sequentialUlcer.getValue(i);
+        }
+        for (int i = ibmData.getEndIndex(); i >= 0; i -= 5) {
+            assertDecimalEquals(randomUlcer.getValue(i), sequentialUlcer.getValue(i).doubleValue());
+        }
+    }
+
+    @Test
+    public void ulcerIndexOnDoubleSeries() {
+        TimeSeries series = new BaseTimeSeries("double series", Decimal.Mode.DOUBLE);
+        ZonedDateTime endTime = ZonedDateTime.now();
+        for (int i = 0; i <= ibmData.getEndIndex(); i++) {
+            double closePrice = ibmData.getBar(i).getClosePrice().doubleValue();
+            series.addBar(endTime.plusMinutes(i), closePrice, closePrice, closePrice, closePrice, 1);
+        }
+        UlcerIndexIndicator ulcer = new UlcerIndexIndicator(new ClosePriceIndicator(series), 14);
+
+        assertTrue(ulcer.getValue(26).isDoubleBacked());
+        assertDecimalEquals(ulcer.getValue(26), 1.3047);
+        assertDecimalEquals(ulcer.getValue(42), 1.7609);
+    }
 }
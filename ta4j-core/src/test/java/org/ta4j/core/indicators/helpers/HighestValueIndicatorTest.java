@@ -105,4 +105,17 @@ public class HighestValueIndicatorTest {
                 assertEquals(series.getBar(i).getClosePrice().toString(),highestValue.getValue(i).toString());
         }
     }
+
+    @Test
+    public void randomAccessShouldGiveSameValuesAsSequentialAccess() {
+        HighestValueIndicator sequential = new HighestValueIndicator(new ClosePriceIndicator(data), 3);
+        HighestValueIndicator randomAccess = new HighestValueIndicator(new ClosePriceIndicator(data), 3);
+        for (int i = data.getBeginIndex(); i <= data.getEndIndex(); i++) {
+            sequential.getValue(i);
+        }
+        int[] indexes = { 9, 2, 3, 12, 11, 0, 7, 8, 13, 1 };
+        for (int index : indexes) {
+            assertEquals(sequential.getValue(index), randomAccess.getValue(index));
+        }
+    }
 }
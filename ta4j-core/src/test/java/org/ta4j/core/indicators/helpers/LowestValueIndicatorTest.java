@@ -106,4 +106,17 @@ public class LowestValueIndicatorTest {
             assertEquals(series.getBar(Math.max(0,i-1)).getClosePrice().toString(),lowestValue.getValue(i).toString());
         }
     }
+
+    @Test
+    public void randomAccessShouldGiveSameValuesAsSequentialAccess() {
+        LowestValueIndicator sequential = new LowestValueIndicator(new ClosePriceIndicator(data), 3);
+        LowestValueIndicator randomAccess = new LowestValueIndicator(new ClosePriceIndicator(data), 3);
+        for (int i = data.getBeginIndex(); i <= data.getEndIndex(); i++) {
+            sequential.getValue(i);
+        }
+        int[] indexes = { 9, 2, 3, 12, 11, 0, 7, 8, 13, 1 };
+        for (int index : indexes) {
+            assertEquals(sequential.getValue(index), randomAccess.getValue(index));
+        }
+    }
 }
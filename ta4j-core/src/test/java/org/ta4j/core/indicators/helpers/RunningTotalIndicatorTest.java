@@ -0,0 +1,77 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators.helpers;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.TimeSeries;
+import org.ta4j.core.mocks.MockTimeSeries;
+
+import static org.ta4j.core.TATestsUtils.assertDecimalEquals;
+
+public class RunningTotalIndicatorTest {
+
+    private TimeSeries series;
+
+    @Before
+    public void setUp() {
+        series = new MockTimeSeries(1, 2, 3, 4, 3, 4, 5, 4, 3, 3, 4, 3, 2);
+    }
+
+    @Test
+    public void getValueSequentially() {
+        RunningTotalIndicator sum = new RunningTotalIndicator(new ClosePriceIndicator(series), 3);
+        assertDecimalEquals(sum.getValue(0), 1);
+        assertDecimalEquals(sum.getValue(1), 3);
+        assertDecimalEquals(sum.getValue(2), 6);
+        assertDecimalEquals(sum.getValue(3), 9);
+        assertDecimalEquals(sum.getValue(4), 10);
+        assertDecimalEquals(sum.getValue(5), 11);
+        assertDecimalEquals(sum.getValue(6), 12);
+        assertDecimalEquals(sum.getValue(7), 13);
+        assertDecimalEquals(sum.getValue(8), 12);
+        assertDecimalEquals(sum.getValue(9), 10);
+        assertDecimalEquals(sum.getValue(10), 10);
+        assertDecimalEquals(sum.getValue(11), 10);
+        assertDecimalEquals(sum.getValue(12), 9);
+    }
+
+    @Test
+    public void getValueWithColdCache() {
+        RunningTotalIndicator sum = new RunningTotalIndicator(new ClosePriceIndicator(series), 3);
+        assertDecimalEquals(sum.getValue(12), 9);
+        assertDecimalEquals(sum.getValue(5), 11);
+        assertDecimalEquals(sum.getValue(6), 12);
+    }
+
+    @Test
+    public void getValueOnMovingTimeSeries() {
+        RunningTotalIndicator sum = new RunningTotalIndicator(new ClosePriceIndicator(series), 3);
+        assertDecimalEquals(sum.getValue(5), 11);
+        series.setMaximumBarCount(6);
+        // Bars 0 to 6 have been removed, the sum is recalculated
+        assertDecimalEquals(sum.getValue(10), 10);
+        assertDecimalEquals(sum.getValue(11), 10);
+        assertDecimalEquals(sum.getValue(12), 9);
+    }
+}
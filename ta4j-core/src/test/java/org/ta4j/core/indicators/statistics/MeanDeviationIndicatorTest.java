@@ -24,10 +24,16 @@ package org.ta4j.core.indicators.statistics;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.ta4j.core.Decimal;
 import org.ta4j.core.TimeSeries;
 import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.mocks.MockIndicator;
 import org.ta4j.core.mocks.MockTimeSeries;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
 import static org.ta4j.core.TATestsUtils.assertDecimalEquals;
 
 public class MeanDeviationIndicatorTest {
@@ -62,4 +68,60 @@ public class MeanDeviationIndicatorTest {
         assertDecimalEquals(meanDeviation.getValue(2), 0);
         assertDecimalEquals(meanDeviation.getValue(7), 0);
     }
+
+    @Test
+    public void shouldMatchNaiveMeanDeviationOnSequentialAndRandomAccess() {
+        double[] values = new double[300];
+        for (int i = 0; i < values.length; i++) {
+            // Many equal values, so that values equal to the mean are also covered
+            values[i] = Math.round(10 * Math.sin(i / 5.0) + 3 * Math.cos(i / 2.0));
+        }
+        TimeSeries series = new MockTimeSeries(values);
+        // Short (direct summation) and long (sorted window) time frames
+        for (int timeFrame : new int[]{20, 50}) {
+            MeanDeviationIndicator sequential = new MeanDeviationIndicator(new ClosePriceIndicator(series), timeFrame);
+            MeanDeviationIndicator random = new MeanDeviationIndicator(new ClosePriceIndicator(series), timeFrame);
+
+            for (int i = 0; i < values.length; i++) {
+                assertDecimalEquals(sequential.getValue(i), naiveMeanDeviation(values, i, timeFrame));
+            }
+            for (int i = values.length - 1; i >= 0; i -= 13) {
+                assertDecimalEquals(random.getValue(i), naiveMeanDeviation(values, i, timeFrame));
+            }
+        }
+    }
+
+    @Test
+    public void nanValueShouldGiveNaNWhileInTimeFrame() {
+        double[] closePrices = new double[100];
+        List<Decimal> values = new ArrayList<>();
+        for (int i = 0; i < closePrices.length; i++) {
+            closePrices[i] = i % 7;
+            values.add(i == 50 ? Decimal.NaN : Decimal.valueOf(i % 7));
+        }
+        MeanDeviationIndicator meanDeviation = new MeanDeviationIndicator(new MockIndicator(new MockTimeSeries(closePrices), values), 40);
+
+        for (int i = 0; i < closePrices.length; i++) {
+            if (i >= 50 && i < 90) {
+                assertEquals(Decimal.NaN, meanDeviation.getValue(i));
+            } else {
+                assertDecimalEquals(meanDeviation.getValue(i), naiveMeanDeviation(closePrices, i, 40));
+            }
+        }
+    }
+
+    private static double naiveMeanDeviation(double[] values, int index, int timeFrame) {
+        int startIndex = Math.max(0, index - timeFrame + 1);
+        int nbValues = index - startIndex + 1;
+        double mean = 0;
+        for (int i = startIndex; i <= index; i++) {
+            mean += values[i];
+        }
+        mean /= nbValues;
+        double deviations = 0;
+        for (int i = startIndex; i <= index; i++) {
+            deviations += Math.abs(values[i] - mean);
+        }
+        return deviations / nbValues;
+    }
 }
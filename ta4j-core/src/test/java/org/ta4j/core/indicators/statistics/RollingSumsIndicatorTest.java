@@ -0,0 +1,81 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators.statistics;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.TimeSeries;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.indicators.helpers.PreviousValueIndicator;
+import org.ta4j.core.mocks.MockTimeSeries;
+
+import static org.junit.Assert.assertEquals;
+import static org.ta4j.core.TATestsUtils.assertDecimalEquals;
+
+public class RollingSumsIndicatorTest {
+
+    private TimeSeries data;
+
+    @Before
+    public void setUp() {
+        data = new MockTimeSeries(1, 2, 3, 4, 3, 4, 5, 4, 3, 0, 9);
+    }
+
+    @Test
+    public void sumsOverPositions() {
+        RollingSumsIndicator sums = new RollingSumsIndicator(new ClosePriceIndicator(data), 3);
+        for (int i = data.getBeginIndex(); i <= data.getEndIndex(); i++) {
+            sums.getValue(i);
+        }
+        RollingSumsIndicator.Sums s = sums.getValue(10);
+        assertEquals(3, s.getCount());
+        assertDecimalEquals(s.getSumX(), 3);
+        assertDecimalEquals(s.getSumXX(), 5);
+        assertDecimalEquals(s.getSumY(), 12);
+        assertDecimalEquals(s.getSumYY(), 90);
+        // 0 * 3 + 1 * 0 + 2 * 9
+        assertDecimalEquals(s.getSumXY(), 18);
+
+        s = sums.getValue(1);
+        assertEquals(2, s.getCount());
+        assertDecimalEquals(s.getSumX(), 1);
+        assertDecimalEquals(s.getSumXY(), 2);
+    }
+
+    @Test
+    public void sequentialSumsShouldBeEqualToFullSums() {
+        ClosePriceIndicator close = new ClosePriceIndicator(data);
+        PreviousValueIndicator previousClose = new PreviousValueIndicator(close);
+        RollingSumsIndicator sequential = new RollingSumsIndicator(close, previousClose, 4);
+        for (int i = data.getBeginIndex(); i <= data.getEndIndex(); i++) {
+            RollingSumsIndicator.Sums expected = new RollingSumsIndicator(close, previousClose, 4).getValue(i);
+            RollingSumsIndicator.Sums actual = sequential.getValue(i);
+            assertEquals(expected.getCount(), actual.getCount());
+            assertEquals(expected.getSumX(), actual.getSumX());
+            assertEquals(expected.getSumY(), actual.getSumY());
+            assertEquals(expected.getSumXY(), actual.getSumXY());
+            assertEquals(expected.getSumXX(), actual.getSumXX());
+            assertEquals(expected.getSumYY(), actual.getSumYY());
+        }
+    }
+}
@@ -24,10 +24,14 @@ package org.ta4j.core.indicators.statistics;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.ta4j.core.BaseTimeSeries;
+import org.ta4j.core.Decimal;
 import org.ta4j.core.TimeSeries;
 import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
 import org.ta4j.core.mocks.MockTimeSeries;
 
+import java.time.ZonedDateTime;
+
 import static org.ta4j.core.TATestsUtils.assertDecimalEquals;
 
 public class VarianceIndicatorTest {
@@ -79,4 +83,18 @@ public class VarianceIndicatorTest {
         assertDecimalEquals(var.getValue(9), 2.25);
         assertDecimalEquals(var.getValue(10), 20.25);
     }
+
+    @Test
+    public void varianceOnDoubleSeriesWithLargeValues() {
+        TimeSeries series = new BaseTimeSeries("double series", Decimal.Mode.DOUBLE);
+        ZonedDateTime endTime = ZonedDateTime.now();
+        for (int i = 0; i < 1000; i++) {
+            double closePrice = 1e9 + (i % 2);
+            series.addBar(endTime.plusMinutes(i), closePrice, closePrice, closePrice, closePrice, 1);
+        }
+        VarianceIndicator var = new VarianceIndicator(new ClosePriceIndicator(series), 4);
+        for (int i = 3; i < 1000; i++) {
+            assertDecimalEquals(var.getValue(i), 0.25);
+        }
+    }
 }
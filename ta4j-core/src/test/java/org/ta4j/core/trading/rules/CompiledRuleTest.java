@@ -0,0 +1,166 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.trading.rules;
+
+import org.junit.Test;
+import org.ta4j.core.Rule;
+import org.ta4j.core.TradingRecord;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class CompiledRuleTest {
+
+    /**
+     * A stateless rule counting its evaluations.
+     */
+    private static final class CountingRule implements Rule {
+
+        private final Rule rule;
+
+        private int evaluationCount = 0;
+
+        private CountingRule(Rule rule) {
+            this.rule = rule;
+        }
+
+        @Override
+        public boolean isSatisfied(int index, TradingRecord tradingRecord) {
+            evaluationCount++;
+            return rule.isSatisfied(index, tradingRecord);
+        }
+
+        @Override
+        public boolean isStateless() {
+            return true;
+        }
+    }
+
+    @Test
+    public void compiledRulesShouldMatchSourceRules() {
+        Random random = new Random(42);
+        Rule[] leaves = {
+                new FixedRule(0, 2, 4, 6, 8), new FixedRule(1, 2, 3, 5, 8),
+                new FixedRule(3, 4, 5, 9), new FixedRule(7), BooleanRule.TRUE, BooleanRule.FALSE
+        };
+        for (int i = 0; i < 500; i++) {
+            Rule rule = randomRule(random, leaves, 4);
+            CompiledRule compiledRule = CompiledRule.compile(rule);
+            assertSame(rule, compiledRule.getSourceRule());
+            assertTrue(compiledRule.isStateless());
+            for (int index = 0; index < 10; index++) {
+                assertEquals(rule.isSatisfied(index), compiledRule.isSatisfied(index));
+            }
+        }
+    }
+
+    @Test
+    public void cheapRulesShouldBeEvaluatedFirst() {
+        CountingRule expensiveRule = new CountingRule(new FixedRule(1, 2));
+        CompiledRule rule = CompiledRule.compile(expensiveRule.and(new FixedRule(2)));
+        assertFalse(rule.isSatisfied(1));
+        assertEquals(0, expensiveRule.evaluationCount);
+        assertTrue(rule.isSatisfied(2));
+        assertEquals(1, expensiveRule.evaluationCount);
+    }
+
+    @Test
+    public void duplicateRulesShouldBeEvaluatedOnce() {
+        CountingRule rule1 = new CountingRule(new FixedRule(1, 2));
+        Rule rule2 = new FixedRule(2, 3);
+        CompiledRule rule = CompiledRule.compile(rule1.or(rule2).and(rule1.or(rule2)).and(new FixedRule(1, 3)));
+        assertEquals(3, rule.getInstructionCount());
+        assertTrue(rule.isSatisfied(1));
+        assertEquals(1, rule1.evaluationCount);
+        // Absorption
+        rule = CompiledRule.compile(rule1.and(rule1.or(rule2)));
+        assertEquals(1, rule.getInstructionCount());
+        assertFalse(rule.isSatisfied(3));
+        assertEquals(2, rule1.evaluationCount);
+    }
+
+    @Test
+    public void booleanRulesShouldBeFolded() {
+        Rule fixedRule = new FixedRule(1);
+        assertEquals(1, CompiledRule.compile(fixedRule.and(BooleanRule.TRUE)).getInstructionCount());
+        CompiledRule neverSatisfied = CompiledRule.compile(fixedRule.and(BooleanRule.FALSE.negation().negation()));
+        assertEquals(0, neverSatisfied.getInstructionCount());
+        assertFalse(neverSatisfied.isSatisfied(1));
+        CompiledRule alwaysSatisfied = CompiledRule.compile(BooleanRule.TRUE.or(fixedRule));
+        assertEquals(0, alwaysSatisfied.getInstructionCount());
+        assertTrue(alwaysSatisfied.isSatisfied(0));
+    }
+
+    @Test
+    public void nestedXorRulesShouldGiveLinearPrograms() {
+        Rule rightNested = new FixedRule(0);
+        Rule leftNested = new FixedRule(0);
+        for (int i = 1; i < 16; i++) {
+            rightNested = new FixedRule(i, i + 1).xor(rightNested);
+            leftNested = leftNested.xor(new FixedRule(i, i + 1));
+        }
+        CompiledRule compiledRightNested = CompiledRule.compile(rightNested);
+        CompiledRule compiledLeftNested = CompiledRule.compile(leftNested);
+        // Right operand compiled into its own program, tested by 2 instructions
+        assertEquals(3, compiledRightNested.getInstructionCount());
+        assertEquals(1 + 2 * 15, compiledLeftNested.getInstructionCount());
+        for (int index = 0; index < 18; index++) {
+            assertEquals(rightNested.isSatisfied(index), compiledRightNested.isSatisfied(index));
+            assertEquals(leftNested.isSatisfied(index), compiledLeftNested.isSatisfied(index));
+        }
+    }
+
+    @Test
+    public void statefulRulesShouldKeepTheirEvaluationConditions() {
+        Rule sourceRule = new JustOnceRule().and(new FixedRule(5)).or(new FixedRule(2).and(new JustOnceRule()));
+        Rule sameRule = new JustOnceRule().and(new FixedRule(5)).or(new FixedRule(2).and(new JustOnceRule()));
+        CompiledRule compiledRule = CompiledRule.compile(sameRule);
+        assertFalse(compiledRule.isStateless());
+        for (int index = 0; index < 10; index++) {
+            assertEquals(sourceRule.isSatisfied(index), compiledRule.isSatisfied(index));
+        }
+    }
+
+    /**
+     * @param random a random generator
+     * @param leaves the leaf rules
+     * @param depth the maximum depth of the rule
+     * @return a random combination of leaf rules
+     */
+    private static Rule randomRule(Random random, Rule[] leaves, int depth) {
+        if (depth == 0 || random.nextInt(4) == 0) {
+            return leaves[random.nextInt(leaves.length)];
+        }
+        switch (random.nextInt(4)) {
+            case 0:
+                return randomRule(random, leaves, depth - 1).and(randomRule(random, leaves, depth - 1));
+            case 1:
+                return randomRule(random, leaves, depth - 1).or(randomRule(random, leaves, depth - 1));
+            case 2:
+                return randomRule(random, leaves, depth - 1).xor(randomRule(random, leaves, depth - 1));
+            default:
+                return randomRule(random, leaves, depth - 1).negation();
+        }
+    }
+}
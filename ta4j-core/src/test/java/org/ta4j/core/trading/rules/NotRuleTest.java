@@ -26,6 +26,9 @@ import org.junit.Before;
 import org.junit.Test;
 import org.ta4j.core.Rule;
 
+import java.util.BitSet;
+
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -48,5 +51,16 @@ public class NotRuleTest {
         assertFalse(satisfiedRule.negation().isSatisfied(10));
         assertTrue(unsatisfiedRule.negation().isSatisfied(10));
     }
+
+    @Test
+    public void getSatisfied() {
+        Rule rule = new FixedRule(1, 3, 4).negation();
+        assertTrue(rule.isStateless());
+        assertFalse(new JustOnceRule(satisfiedRule).negation().isStateless());
+        BitSet satisfied = new BitSet();
+        rule.getSatisfied(2, 6, satisfied);
+        assertEquals(2, satisfied.cardinality());
+        assertTrue(satisfied.get(2));
+        assertTrue(satisfied.get(5));
+    }
 }
-        
\ No newline at end of file
@@ -28,6 +28,9 @@ import org.ta4j.core.Decimal;
 import org.ta4j.core.Indicator;
 import org.ta4j.core.indicators.helpers.FixedDecimalIndicator;
 
+import java.util.BitSet;
+
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -52,5 +55,18 @@ public class OverIndicatorRuleTest {
         assertFalse(rule.isSatisfied(6));
         assertTrue(rule.isSatisfied(7));
     }
+
+    @Test
+    public void getSatisfied() {
+        assertTrue(rule.isStateless());
+        BitSet satisfied = new BitSet();
+        satisfied.set(0);
+        satisfied.set(2);
+        rule.getSatisfied(1, 8, satisfied);
+        for (int i = 1; i < 8; i++) {
+            assertEquals(rule.isSatisfied(i), satisfied.get(i));
+        }
+        // Bits out of the range are left unchanged
+        assertTrue(satisfied.get(0));
+    }
 }
-        
\ No newline at end of file
@@ -0,0 +1,62 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package ta4jexamples.analysis;
+
+import org.ta4j.core.StrategyOptimizer;
+import org.ta4j.core.TimeSeries;
+import org.ta4j.core.analysis.criteria.TotalProfitCriterion;
+import ta4jexamples.loaders.CsvTradesLoader;
+import ta4jexamples.strategies.RSI2Strategy;
+
+/**
+ * This class shows how to optimize the parameters of a trading strategy.
+ */
+public class StrategyOptimization {
+
+    public static void main(String[] args) {
+
+        // Getting the time series
+        TimeSeries series = CsvTradesLoader.loadBitstampSeries();
+        // The combinations share their indicators
+        series.setConcurrentIndicatorCache(true);
+
+        // The parameters of the 2-period RSI strategy
+        StrategyOptimizer.ParameterSpace parameterSpace = new StrategyOptimizer.ParameterSpace()
+                .addRange("shortSma", 3, 15, 2)
+                .addRange("longSma", 50, 250, 50)
+                .addRange("rsi", 2, 6, 1);
+
+        // Evaluating all the combinations
+        StrategyOptimizer optimizer = new StrategyOptimizer(series);
+        StrategyOptimizer.Report report = optimizer.optimize((registry, parameters) -> RSI2Strategy.buildStrategy(registry,
+                parameters.getInt("shortSma"), parameters.getInt("longSma"), parameters.getInt("rsi")),
+                parameterSpace, new TotalProfitCriterion(), 5);
+
+        System.out.println(report.getCombinationCount() + " combinations evaluated in "
+                + report.getElapsedNanos() / 1000000 + " ms (" + report.getTotalRunTimeNanos() / 1000000 + " ms of runs)");
+        System.out.println("Indicator registry hit rate: " + report.getSharedRegistry().getHitRate());
+        for (StrategyOptimizer.Result result : report.getBestResults()) {
+            System.out.println("\tTotal profit for " + result.getParameters() + ": " + result.getCriterionValue());
+        }
+    }
+}
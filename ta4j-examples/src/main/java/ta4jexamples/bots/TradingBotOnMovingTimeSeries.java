@@ -23,6 +23,7 @@
 package ta4jexamples.bots;
 
 import org.ta4j.core.*;
+import org.ta4j.core.indicators.IndicatorRegistry;
 import org.ta4j.core.indicators.SMAIndicator;
 import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
 import org.ta4j.core.trading.rules.OverIndicatorRule;
@@ -56,16 +57,16 @@ public class TradingBotOnMovingTimeSeries {
     }
 
     /**
-     * @param series a time series
+     * @param registry the registry of the indicators of a time series
      * @return a dummy strategy
      */
-    private static Strategy buildStrategy(TimeSeries series) {
-        if (series == null) {
-            throw new IllegalArgumentException("Series cannot be null");
+    private static Strategy buildStrategy(IndicatorRegistry registry) {
+        if (registry == null) {
+            throw new IllegalArgumentException("Registry cannot be null");
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        SMAIndicator sma = new SMAIndicator(closePrice, 12);
+        ClosePriceIndicator closePrice = registry.get(ClosePriceIndicator.class, registry.getTimeSeries());
+        SMAIndicator sma = registry.get(SMAIndicator.class, closePrice, 12);
 
         // Signals
         // Buy when SMA goes over close price
@@ -111,10 +112,13 @@ public class TradingBotOnMovingTimeSeries {
         TimeSeries series = initMovingTimeSeries(20);
 
         // Building the trading strategy
-        Strategy strategy = buildStrategy(series);
+        IndicatorRegistry registry = new IndicatorRegistry(series);
+        Strategy strategy = buildStrategy(registry);
 
-        // Initializing the trading history
-        TradingRecord tradingRecord = new BaseTradingRecord();
+        // Calculating the indicators and running the strategy on each new bar of the series
+        StreamingEngine engine = new StreamingEngine(series);
+        engine.addIndicators(registry);
+        TradingRecord tradingRecord = engine.addStrategy(strategy, Order.OrderType.BUY, Decimal.TEN);
         System.out.println("************************************************************");
 
         /*
@@ -127,30 +131,19 @@ public class TradingBotOnMovingTimeSeries {
             Bar newBar = generateRandomBar();
             System.out.println("------------------------------------------------------\n"
                     + "Bar "+i+" added, close price = " + newBar.getClosePrice().doubleValue());
+            // The engine calculates the indicators and runs the strategy on the new bar
             series.addBar(newBar);
 
             int endIndex = series.getEndIndex();
-            if (strategy.shouldEnter(endIndex)) {
-                // Our strategy should enter
-                System.out.println("Strategy should ENTER on " + endIndex);
-                boolean entered = tradingRecord.enter(endIndex, newBar.getClosePrice(), Decimal.TEN);
-                if (entered) {
-                    Order entry = tradingRecord.getLastEntry();
-                    System.out.println("Entered on " + entry.getIndex()
-                            + " (price=" + entry.getPrice().doubleValue()
-                            + ", amount=" + entry.getAmount().doubleValue() + ")");
-                }
-            } else if (strategy.shouldExit(endIndex)) {
-                // Our strategy should exit
-                System.out.println("Strategy should EXIT on " + endIndex);
-                boolean exited = tradingRecord.exit(endIndex, newBar.getClosePrice(), Decimal.TEN);
-                if (exited) {
-                    Order exit = tradingRecord.getLastExit();
-                    System.out.println("Exited on " + exit.getIndex()
-                            + " (price=" + exit.getPrice().doubleValue()
-                            + ", amount=" + exit.getAmount().doubleValue() + ")");
-                }
+            Order lastOrder = tradingRecord.getLastOrder();
+            if (lastOrder != null && lastOrder.getIndex() == endIndex) {
+                System.out.println((lastOrder == tradingRecord.getLastEntry() ? "Entered" : "Exited")
+                        + " on " + lastOrder.getIndex()
+                        + " (price=" + lastOrder.getPrice().doubleValue()
+                        + ", amount=" + lastOrder.getAmount().doubleValue() + ")");
             }
+            System.out.println("Bar processed in " + engine.getLastLatencyNanos() / 1000 + " µs");
         }
+        engine.close();
     }
 }
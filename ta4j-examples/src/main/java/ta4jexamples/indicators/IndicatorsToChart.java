@@ -60,9 +60,11 @@ public class IndicatorsToChart {
      */
     private static org.jfree.data.time.TimeSeries buildChartTimeSeries(TimeSeries barseries, Indicator<Decimal> indicator, String name) {
         org.jfree.data.time.TimeSeries chartTimeSeries = new org.jfree.data.time.TimeSeries(name);
-        for (int i = 0; i < barseries.getBarCount(); i++) {
+        Decimal[] values = new Decimal[barseries.getBarCount()];
+        indicator.getValues(0, values.length, values);
+        for (int i = 0; i < values.length; i++) {
             Bar bar = barseries.getBar(i);
-            chartTimeSeries.add(new Day(Date.from(bar.getEndTime().toInstant())), indicator.getValue(i).doubleValue());
+            chartTimeSeries.add(new Day(Date.from(bar.getEndTime().toInstant())), values[i].doubleValue());
         }
         return chartTimeSeries;
     }
@@ -23,9 +23,9 @@
 package ta4jexamples.loaders;
 
 import com.opencsv.CSVReader;
-import org.ta4j.core.Bar;
-import org.ta4j.core.BaseBar;
+import org.ta4j.core.BarAggregator;
 import org.ta4j.core.BaseTimeSeries;
+import org.ta4j.core.Decimal;
 import org.ta4j.core.TimeSeries;
 
 import java.io.IOException;
@@ -33,17 +33,15 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.Charset;
 import java.time.Duration;
-import java.time.Instant;
-import java.time.ZoneId;
-import java.time.ZonedDateTime;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.Arrays;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * This class builds a Ta4j time series from a CSV file containing trades.
+ * <p></p>
+ * Trades are streamed line by line to a {@link BarAggregator bar aggregator}. Files listing the most recent
+ * trades first have to be replayed backwards: their trades are buffered as primitive values.
  */
 public class CsvTradesLoader {
 
@@ -51,93 +49,94 @@ public class CsvTradesLoader {
      * @return a time series from Bitstamp (bitcoin exchange) trades
      */
     public static TimeSeries loadBitstampSeries() {
-
-        // Reading all lines of the CSV file
         InputStream stream = CsvTradesLoader.class.getClassLoader().getResourceAsStream("bitstamp_trades_from_20131125_usd.csv");
-        CSVReader csvReader = null;
-        List<String[]> lines = null;
-        try {
-            csvReader = new CSVReader(new InputStreamReader(stream, Charset.forName("UTF-8")), ',');
-            lines = csvReader.readAll();
-            lines.remove(0); // Removing header line
-        } catch (IOException ioe) {
-            Logger.getLogger(CsvTradesLoader.class.getName()).log(Level.SEVERE, "Unable to load trades from CSV", ioe);
-        } finally {
-            if (csvReader != null) {
-                try {
-                    csvReader.close();
-                } catch (IOException ioe) {
-                    ioe.printStackTrace();
+        return loadTradesSeries("bitstamp_trades", stream, Duration.ofMinutes(5));
+    }
+
+    /**
+     * Builds a time series from a CSV stream of trades (header line, then one "timestamp in seconds,price,amount"
+     * line per trade).
+     * @param name the name of the series
+     * @param stream the CSV stream
+     * @param barDuration the duration of the bars
+     * @return the time series
+     */
+    public static TimeSeries loadTradesSeries(String name, InputStream stream, Duration barDuration) {
+        TimeSeries series = new BaseTimeSeries(name);
+        BarAggregator aggregator = BarAggregator.timeBars(barDuration, series::addBar);
+        // Trades read before the order of the file is known (all of them if the most recent trades come first)
+        TradeBuffer buffer = new TradeBuffer();
+        boolean chronological = false;
+        boolean reversed = false;
+        try (CSVReader csvReader = new CSVReader(new InputStreamReader(stream, Charset.forName("UTF-8")), ',', '"', 1)) {
+            String[] line;
+            while ((line = csvReader.readNext()) != null) {
+                long time = Long.parseLong(line[0]) * 1000;
+                double price = Double.parseDouble(line[1]);
+                double amount = Double.parseDouble(line[2]);
+                if (chronological) {
+                    aggregator.addTrade(time, Decimal.valueOf(amount), Decimal.valueOf(price));
+                    continue;
+                }
+                if (!reversed && buffer.size > 0 && time != buffer.times[0]) {
+                    if (time > buffer.times[0]) {
+                        // Oldest trades first: streaming the trades
+                        chronological = true;
+                        buffer.replay(aggregator, false);
+                        aggregator.addTrade(time, Decimal.valueOf(amount), Decimal.valueOf(price));
+                        continue;
+                    }
+                    reversed = true;
                 }
+                buffer.add(time, price, amount);
             }
+        } catch (IOException ioe) {
+            Logger.getLogger(CsvTradesLoader.class.getName()).log(Level.SEVERE, "Unable to load trades from CSV", ioe);
+        } catch (NumberFormatException nfe) {
+            Logger.getLogger(CsvTradesLoader.class.getName()).log(Level.SEVERE, "Error while parsing value", nfe);
         }
-
-        List<Bar> bars = null;
-        if ((lines != null) && !lines.isEmpty()) {
-
-            // Getting the first and last trades timestamps
-            ZonedDateTime beginTime = ZonedDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(lines.get(0)[0]) * 1000), ZoneId.systemDefault());
-            ZonedDateTime endTime = ZonedDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(lines.get(lines.size() - 1)[0]) * 1000), ZoneId.systemDefault());
-            if (beginTime.isAfter(endTime)) {
-                Instant beginInstant = beginTime.toInstant();
-                Instant endInstant = endTime.toInstant();
-                beginTime = ZonedDateTime.ofInstant(endInstant, ZoneId.systemDefault());
-                endTime = ZonedDateTime.ofInstant(beginInstant, ZoneId.systemDefault());
-                // Since the CSV file has the most recent trades at the top of the file, we'll reverse the list to feed the List<Bar> correctly.
-                Collections.reverse(lines);
-            }
-            // build the list of populated bars
-           	bars = buildBars(beginTime, endTime, 300, lines);
+        if (!chronological) {
+            // Most recent trades first (or all the trades at the same time)
+            buffer.replay(aggregator, true);
         }
-
-        return new BaseTimeSeries("bitstamp_trades", bars);
+        aggregator.flush();
+        return series;
     }
 
     /**
-     * Builds a list of populated bars from csv data.
-     * @param beginTime the begin time of the whole period
-     * @param endTime the end time of the whole period
-     * @param duration the bar duration (in seconds)
-     * @param lines the csv data returned by CSVReader.readAll()
-     * @return the list of populated bars
+     * Growable buffer of trades as primitive values.
      */
-    private static List<Bar> buildBars(ZonedDateTime beginTime, ZonedDateTime endTime, int duration, List<String[]> lines) {
-
-    	List<Bar> bars = new ArrayList<>();
+    private static class TradeBuffer {
+
+        private long[] times = new long[1024];
+        private double[] prices = new double[1024];
+        private double[] amounts = new double[1024];
+        private int size = 0;
+
+        void add(long time, double price, double amount) {
+            if (size == times.length) {
+                times = Arrays.copyOf(times, size * 2);
+                prices = Arrays.copyOf(prices, size * 2);
+                amounts = Arrays.copyOf(amounts, size * 2);
+            }
+            times[size] = time;
+            prices[size] = price;
+            amounts[size] = amount;
+            size++;
+        }
 
-    	Duration barDuration = Duration.ofSeconds(duration);
-    	ZonedDateTime barEndTime = beginTime;
-    	// line number of trade data
-    	int i = 0;
-    	do {
-    		// build a bar
-    		barEndTime = barEndTime.plus(barDuration);
-    		Bar bar = new BaseBar(barDuration, barEndTime);
-    		do {
-    			// get a trade
-    			String[] tradeLine = lines.get(i);
-    			ZonedDateTime tradeTimeStamp = ZonedDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(tradeLine[0]) * 1000), ZoneId.systemDefault());
-    			// if the trade happened during the bar
-    			if (bar.inPeriod(tradeTimeStamp)) {
-    				// add the trade to the bar
-    				double tradePrice = Double.parseDouble(tradeLine[1]);
-    				double tradeAmount = Double.parseDouble(tradeLine[2]);
-    				bar.addTrade(tradeAmount, tradePrice);
-    			} else {
-    				// the trade happened after the end of the bar
-    				// go to the next bar but stay with the same trade (don't increment i)
-    				// this break will drop us after the inner "while", skipping the increment
-    				break;
-    			}
-    			i++;
-    		} while (i < lines.size());
-    		// if the bar has any trades add it to the bars list
-    		// this is where the break drops to
-    		if (bar.getTrades() > 0) {
-    			bars.add(bar);
-    		}
-    	} while (barEndTime.isBefore(endTime));
-    	return bars;
+        /**
+         * Passes the buffered trades to an aggregator, then clears the buffer.
+         * @param aggregator the bar aggregator
+         * @param backwards true to replay the trades from the last one, false otherwise
+         */
+        void replay(BarAggregator aggregator, boolean backwards) {
+            for (int i = 0; i < size; i++) {
+                int position = backwards ? size - 1 - i : i;
+                aggregator.addTrade(times[position], Decimal.valueOf(amounts[position]), Decimal.valueOf(prices[position]));
+            }
+            size = 0;
+        }
     }
 
     public static void main(String[] args) {
@@ -0,0 +1,64 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package ta4jexamples.loaders;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.ta4j.core.MappedTimeSeries;
+import org.ta4j.core.TimeSeries;
+
+/**
+ * This class converts a CSV file containing bars to a binary bar file, then maps it as a Ta4j time series.
+ */
+public class MappedBarsLoader {
+
+    /**
+     * @return a time series from Apple Inc. bars, mapped from a (temporary) binary bar file.
+     */
+    public static TimeSeries loadAppleIncSeries() {
+        try {
+            Path file = Files.createTempFile("apple_bars", ".ta4j");
+            file.toFile().deleteOnExit();
+            MappedTimeSeries.write(CsvBarsLoader.loadAppleIncSeries(), file);
+            return new MappedTimeSeries(file);
+        } catch (IOException ioe) {
+            Logger.getLogger(MappedBarsLoader.class.getName()).log(Level.SEVERE, "Unable to create bar file", ioe);
+            return null;
+        }
+    }
+
+    public static void main(String[] args) {
+        TimeSeries series = MappedBarsLoader.loadAppleIncSeries();
+
+        System.out.println("Series: " + series.getName() + " (" + series.getSeriesPeriodDescription() + ")");
+        System.out.println("Number of bars: " + series.getBarCount());
+        System.out.println("First bar: \n"
+                + "\tVolume: " + series.getBar(0).getVolume() + "\n"
+                + "\tOpen price: " + series.getBar(0).getOpenPrice()+ "\n"
+                + "\tClose price: " + series.getBar(0).getClosePrice());
+    }
+}
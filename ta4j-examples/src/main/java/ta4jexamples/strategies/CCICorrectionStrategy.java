@@ -24,6 +24,7 @@ package ta4jexamples.strategies;
 
 import org.ta4j.core.*;
 import org.ta4j.core.analysis.criteria.TotalProfitCriterion;
+import org.ta4j.core.indicators.IndicatorRegistry;
 import org.ta4j.core.indicators.CCIIndicator;
 import org.ta4j.core.trading.rules.OverIndicatorRule;
 import org.ta4j.core.trading.rules.UnderIndicatorRule;
@@ -45,9 +46,18 @@ public class CCICorrectionStrategy {
         if (series == null) {
             throw new IllegalArgumentException("Series cannot be null");
         }
+        return buildStrategy(new IndicatorRegistry(series));
+    }
+
+    /**
+     * @param registry the indicator registry of a time series (its indicators may be shared with other strategies)
+     * @return a CCI correction strategy
+     */
+    public static Strategy buildStrategy(IndicatorRegistry registry) {
+        TimeSeries series = registry.getTimeSeries();
 
-        CCIIndicator longCci = new CCIIndicator(series, 200);
-        CCIIndicator shortCci = new CCIIndicator(series, 5);
+        CCIIndicator longCci = registry.get(CCIIndicator.class, series, 200);
+        CCIIndicator shortCci = registry.get(CCIIndicator.class, series, 5);
         Decimal plus100 = Decimal.HUNDRED;
         Decimal minus100 = Decimal.valueOf(-100);
         
@@ -24,6 +24,7 @@ package ta4jexamples.strategies;
 
 import org.ta4j.core.*;
 import org.ta4j.core.analysis.criteria.TotalProfitCriterion;
+import org.ta4j.core.indicators.IndicatorRegistry;
 import org.ta4j.core.indicators.helpers.*;
 import org.ta4j.core.trading.rules.OverIndicatorRule;
 import org.ta4j.core.trading.rules.UnderIndicatorRule;
@@ -45,15 +46,24 @@ public class GlobalExtremaStrategy {
         if (series == null) {
             throw new IllegalArgumentException("Series cannot be null");
         }
+        return buildStrategy(new IndicatorRegistry(series));
+    }
+
+    /**
+     * @param registry the indicator registry of a time series (its indicators may be shared with other strategies)
+     * @return a global extrema strategy
+     */
+    public static Strategy buildStrategy(IndicatorRegistry registry) {
+        TimeSeries series = registry.getTimeSeries();
 
-        ClosePriceIndicator closePrices = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrices = registry.get(ClosePriceIndicator.class, series);
 
         // Getting the max price over the past week
-        MaxPriceIndicator maxPrices = new MaxPriceIndicator(series);
-        HighestValueIndicator weekMaxPrice = new HighestValueIndicator(maxPrices, NB_BARS_PER_WEEK);
+        MaxPriceIndicator maxPrices = registry.get(MaxPriceIndicator.class, series);
+        HighestValueIndicator weekMaxPrice = registry.get(HighestValueIndicator.class, maxPrices, NB_BARS_PER_WEEK);
         // Getting the min price over the past week
-        MinPriceIndicator minPrices = new MinPriceIndicator(series);
-        LowestValueIndicator weekMinPrice = new LowestValueIndicator(minPrices, NB_BARS_PER_WEEK);
+        MinPriceIndicator minPrices = registry.get(MinPriceIndicator.class, series);
+        LowestValueIndicator weekMinPrice = registry.get(LowestValueIndicator.class, minPrices, NB_BARS_PER_WEEK);
 
         // Going long if the close price goes below the min price
         MultiplierIndicator downWeek = new MultiplierIndicator(weekMinPrice, Decimal.valueOf("1.004"));
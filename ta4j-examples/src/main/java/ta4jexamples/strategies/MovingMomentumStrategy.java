@@ -24,6 +24,7 @@ package ta4jexamples.strategies;
 
 import org.ta4j.core.*;
 import org.ta4j.core.analysis.criteria.TotalProfitCriterion;
+import org.ta4j.core.indicators.IndicatorRegistry;
 import org.ta4j.core.indicators.EMAIndicator;
 import org.ta4j.core.indicators.MACDIndicator;
 import org.ta4j.core.indicators.StochasticOscillatorKIndicator;
@@ -50,18 +51,27 @@ public class MovingMomentumStrategy {
         if (series == null) {
             throw new IllegalArgumentException("Series cannot be null");
         }
+        return buildStrategy(new IndicatorRegistry(series));
+    }
+
+    /**
+     * @param registry the indicator registry of a time series (its indicators may be shared with other strategies)
+     * @return a moving momentum strategy
+     */
+    public static Strategy buildStrategy(IndicatorRegistry registry) {
+        TimeSeries series = registry.getTimeSeries();
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = registry.get(ClosePriceIndicator.class, series);
         
         // The bias is bullish when the shorter-moving average moves above the longer moving average.
         // The bias is bearish when the shorter-moving average moves below the longer moving average.
-        EMAIndicator shortEma = new EMAIndicator(closePrice, 9);
-        EMAIndicator longEma = new EMAIndicator(closePrice, 26);
+        EMAIndicator shortEma = registry.get(EMAIndicator.class, closePrice, 9);
+        EMAIndicator longEma = registry.get(EMAIndicator.class, closePrice, 26);
 
-        StochasticOscillatorKIndicator stochasticOscillK = new StochasticOscillatorKIndicator(series, 14);
+        StochasticOscillatorKIndicator stochasticOscillK = registry.get(StochasticOscillatorKIndicator.class, series, 14);
 
-        MACDIndicator macd = new MACDIndicator(closePrice, 9, 26);
-        EMAIndicator emaMacd = new EMAIndicator(macd, 18);
+        MACDIndicator macd = registry.get(MACDIndicator.class, closePrice, 9, 26);
+        EMAIndicator emaMacd = registry.get(EMAIndicator.class, macd, 18);
         
         // Entry rule
         Rule entryRule = new OverIndicatorRule(shortEma, longEma) // Trend
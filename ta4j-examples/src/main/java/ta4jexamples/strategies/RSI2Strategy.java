@@ -24,6 +24,7 @@ package ta4jexamples.strategies;
 
 import org.ta4j.core.*;
 import org.ta4j.core.analysis.criteria.TotalProfitCriterion;
+import org.ta4j.core.indicators.IndicatorRegistry;
 import org.ta4j.core.indicators.RSIIndicator;
 import org.ta4j.core.indicators.SMAIndicator;
 import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
@@ -49,14 +50,34 @@ public class RSI2Strategy {
         if (series == null) {
             throw new IllegalArgumentException("Series cannot be null");
         }
+        return buildStrategy(new IndicatorRegistry(series));
+    }
+
+    /**
+     * @param registry the indicator registry of a time series (its indicators may be shared with other strategies)
+     * @return a 2-period RSI strategy
+     */
+    public static Strategy buildStrategy(IndicatorRegistry registry) {
+        return buildStrategy(registry, 5, 200, 2);
+    }
+
+    /**
+     * @param registry the indicator registry of a time series (its indicators may be shared with other strategies)
+     * @param shortSmaTimeFrame the time frame of the short SMA (5 by default)
+     * @param longSmaTimeFrame the time frame of the long SMA (200 by default)
+     * @param rsiTimeFrame the time frame of the RSI (2 by default)
+     * @return a RSI strategy
+     */
+    public static Strategy buildStrategy(IndicatorRegistry registry, int shortSmaTimeFrame, int longSmaTimeFrame, int rsiTimeFrame) {
+        TimeSeries series = registry.getTimeSeries();
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        SMAIndicator shortSma = new SMAIndicator(closePrice, 5);
-        SMAIndicator longSma = new SMAIndicator(closePrice, 200);
+        ClosePriceIndicator closePrice = registry.get(ClosePriceIndicator.class, series);
+        SMAIndicator shortSma = registry.get(SMAIndicator.class, closePrice, shortSmaTimeFrame);
+        SMAIndicator longSma = registry.get(SMAIndicator.class, closePrice, longSmaTimeFrame);
 
         // We use a 2-period RSI indicator to identify buying
         // or selling opportunities within the bigger trend.
-        RSIIndicator rsi = new RSIIndicator(closePrice, 2);
+        RSIIndicator rsi = registry.get(RSIIndicator.class, closePrice, rsiTimeFrame);
         
         // Entry rule
         // The long-term trend is up when a security is above its 200-period SMA.
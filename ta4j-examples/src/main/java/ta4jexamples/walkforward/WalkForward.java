@@ -31,11 +31,11 @@ import ta4jexamples.strategies.MovingMomentumStrategy;
 import ta4jexamples.strategies.RSI2Strategy;
 
 import java.time.Duration;
-import java.time.ZonedDateTime;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 /**
  * Walk-forward optimization example.
@@ -48,137 +48,44 @@ import java.util.Map;
 public class WalkForward {
 
     /**
-     * Builds a list of split indexes from splitDuration.
-     * @param series the time series to get split begin indexes of
-     * @param splitDuration the duration between 2 splits
-     * @return a list of begin indexes after split
+     * @return a map (key: name, value: factory) of trading strategies
      */
-    public static List<Integer> getSplitBeginIndexes(TimeSeries series, Duration splitDuration) {
-        ArrayList<Integer> beginIndexes = new ArrayList<>();
-
-        int beginIndex = series.getBeginIndex();
-        int endIndex = series.getEndIndex();
-
-        // Adding the first begin index
-        beginIndexes.add(beginIndex);
-
-        // Building the first interval before next split
-        ZonedDateTime beginInterval = series.getFirstBar().getEndTime();
-        ZonedDateTime endInterval = beginInterval.plus(splitDuration);
-
-        for (int i = beginIndex; i <= endIndex; i++) {
-            // For each bar...
-            ZonedDateTime barTime = series.getBar(i).getEndTime();
-            if (barTime.isBefore(beginInterval) || !barTime.isBefore(endInterval)) {
-                // Bar out of the interval
-                if (!endInterval.isAfter(barTime)) {
-                    // Bar after the interval
-                    // --> Adding a new begin index
-                    beginIndexes.add(i);
-                }
-
-                // Building the new interval before next split
-                beginInterval = endInterval.isBefore(barTime) ? barTime : endInterval;
-                endInterval = beginInterval.plus(splitDuration);
-            }
-        }
-        return beginIndexes;
-    }
-
-    /**
-     * Returns a new time series which is a view of a subset of the current series.
-     * <p>
-     * The new series has begin and end indexes which correspond to the bounds of the sub-set into the full series.<br>
-     * The bar of the series are shared between the original time series and the returned one (i.e. no copy).
-     * @param series the time series to get a sub-series of
-     * @param beginIndex the begin index (inclusive) of the time series
-     * @param duration the duration of the time series
-     * @return a constrained {@link TimeSeries time series} which is a sub-set of the current series
-     */
-    public static TimeSeries subseries(TimeSeries series, int beginIndex, Duration duration) {
-
-        // Calculating the sub-series interval
-        ZonedDateTime beginInterval = series.getBar(beginIndex).getEndTime();
-        ZonedDateTime endInterval = beginInterval.plus(duration);
-
-        // Checking bars belonging to the sub-series (starting at the provided index)
-        int subseriesNbBars = 0;
-        int endIndex = series.getEndIndex();
-        for (int i = beginIndex; i <= endIndex; i++) {
-            // For each bar...
-            ZonedDateTime barTime = series.getBar(i).getEndTime();
-            if (barTime.isBefore(beginInterval) || !barTime.isBefore(endInterval)) {
-                // Bar out of the interval
-                break;
-            }
-            // Bar in the interval
-            // --> Incrementing the number of bars in the subseries
-            subseriesNbBars++;
-        }
-
-        return series.getSubSeries(beginIndex, beginIndex + subseriesNbBars);
-    }
-
-    /**
-     * Splits the time series into sub-series lasting sliceDuration.<br>
-     * The current time series is splitted every splitDuration.<br>
-     * The last sub-series may last less than sliceDuration.
-     * @param series the time series to split
-     * @param splitDuration the duration between 2 splits
-     * @param sliceDuration the duration of each sub-series
-     * @return a list of sub-series
-     */
-    public static List<TimeSeries> splitSeries(TimeSeries series, Duration splitDuration, Duration sliceDuration) {
-        ArrayList<TimeSeries> subseries = new ArrayList<>();
-        if (splitDuration != null && !splitDuration.isZero()
-                && sliceDuration != null && !sliceDuration.isZero()) {
-
-            List<Integer> beginIndexes = getSplitBeginIndexes(series, splitDuration);
-            for (Integer subseriesBegin : beginIndexes) {
-                subseries.add(subseries(series, subseriesBegin, sliceDuration));
-            }
-        }
-        return subseries;
-    }
-
-    /**
-     * @param series the time series
-     * @return a map (key: strategy, value: name) of trading strategies
-     */
-    public static Map<Strategy, String> buildStrategiesMap(TimeSeries series) {
-        HashMap<Strategy, String> strategies = new HashMap<>();
-        strategies.put(CCICorrectionStrategy.buildStrategy(series), "CCI Correction");
-        strategies.put(GlobalExtremaStrategy.buildStrategy(series), "Global Extrema");
-        strategies.put(MovingMomentumStrategy.buildStrategy(series), "Moving Momentum");
-        strategies.put(RSI2Strategy.buildStrategy(series), "RSI-2");
-        return strategies;
+    public static Map<String, Function<TimeSeries, Strategy>> buildStrategyFactories() {
+        Map<String, Function<TimeSeries, Strategy>> strategyFactories = new LinkedHashMap<>();
+        strategyFactories.put("CCI Correction", CCICorrectionStrategy::buildStrategy);
+        strategyFactories.put("Global Extrema", GlobalExtremaStrategy::buildStrategy);
+        strategyFactories.put("Moving Momentum", MovingMomentumStrategy::buildStrategy);
+        strategyFactories.put("RSI-2", RSI2Strategy::buildStrategy);
+        return strategyFactories;
     }
 
     public static void main(String[] args) {
-        // Splitting the series into slices
+        // Getting the time series
         TimeSeries series = CsvTradesLoader.loadBitstampSeries();
-        List<TimeSeries> subseries = splitSeries(series, Duration.ofHours(6), Duration.ofDays(7));
 
         // Building the map of strategies
-        Map<Strategy, String> strategies = buildStrategiesMap(series);
+        Map<String, Function<TimeSeries, Strategy>> strategyFactories = buildStrategyFactories();
+        List<String> names = new ArrayList<>(strategyFactories.keySet());
 
         // The analysis criterion
         AnalysisCriterion profitCriterion = new TotalProfitCriterion();
 
-        for (TimeSeries slice : subseries) {
-            // For each sub-series...
-            System.out.println("Sub-series: " + slice.getSeriesPeriodDescription());
-            TimeSeriesManager sliceManager = new TimeSeriesManager(slice);
-            for (Map.Entry<Strategy, String> entry : strategies.entrySet()) {
-                Strategy strategy = entry.getKey();
-                String name = entry.getValue();
+        // Choosing the best strategy over the last 7 days, then trading with it for 6 hours (windows evaluated concurrently)
+        WalkForwardEngine engine = new WalkForwardEngine(series);
+        WalkForwardEngine.Report report = engine.run(new ArrayList<>(strategyFactories.values()), profitCriterion,
+                Duration.ofDays(7), Duration.ofHours(6), false);
+
+        for (WalkForwardEngine.WindowResult result : report.getWindowResults()) {
+            // For each window...
+            WalkForwardEngine.Window window = result.getWindow();
+            System.out.println("In-sample: " + series.getBar(window.getInSampleBegin()).getSimpleDateName()
+                    + " - " + series.getBar(window.getInSampleEnd()).getSimpleDateName());
+            for (int i = 0; i < names.size(); i++) {
                 // For each strategy...
-                TradingRecord tradingRecord = sliceManager.run(strategy);
-                double profit = profitCriterion.calculate(slice, tradingRecord);
-                System.out.println("\tProfit for " + name + ": " + profit);
+                System.out.println("\tProfit for " + names.get(i) + ": " + result.getInSampleValue(i));
             }
-            Strategy bestStrategy = profitCriterion.chooseBest(sliceManager, new ArrayList<Strategy>(strategies.keySet()));
-            System.out.println("\t\t--> Best strategy: " + strategies.get(bestStrategy) + "\n");
+            System.out.println("\t\t--> Best strategy: " + names.get(result.getBestStrategyIndex())
+                    + ", out-of-sample profit: " + result.getOutOfSampleValue() + "\n");
         }
     }
 